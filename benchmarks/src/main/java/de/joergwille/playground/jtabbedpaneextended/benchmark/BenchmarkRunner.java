@@ -0,0 +1,27 @@
+package de.joergwille.playground.jtabbedpaneextended.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks headless with the GC profiler attached, so that the
+ * allocation rate per operation ({@code gc.alloc.rate.norm}) is reported next
+ * to throughput and average time.
+ *
+ * Usage: {@code java -jar target/benchmarks.jar [JMH options] [regexp]}
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .jvmArgsAppend("-Djava.awt.headless=true")
+                .addProfiler(GCProfiler.class);
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,50 @@
+package de.joergwille.playground.jtabbedpaneextended.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import javax.swing.extended.JTabbedPaneExtended;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a full layout pass of a {@code SCROLL_TAB_LAYOUT} pane, i.e. the
+ * {@code doLayout} of {@code JTabbedPaneExtended} including the placement of
+ * the tab list button. The pane width alternates so that each pass has to
+ * recompute the tab area.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class LayoutBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    int tabCount;
+
+    private JTabbedPaneExtended tabbedPane;
+    private boolean narrow;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tabbedPane = TabbedPaneFixture.createScrollTabbedPane(tabCount);
+    }
+
+    @Benchmark
+    public JTabbedPaneExtended doLayout() {
+        narrow = !narrow;
+        tabbedPane.setSize(narrow ? TabbedPaneFixture.WIDTH - 100 : TabbedPaneFixture.WIDTH, TabbedPaneFixture.HEIGHT);
+        tabbedPane.doLayout();
+        return tabbedPane;
+    }
+}
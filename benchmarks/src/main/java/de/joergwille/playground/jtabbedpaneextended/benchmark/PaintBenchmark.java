@@ -0,0 +1,95 @@
+package de.joergwille.playground.jtabbedpaneextended.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+import javax.swing.JComponent;
+import javax.swing.JTabbedPane;
+import javax.swing.extended.JTabbedPaneExtended;
+import javax.swing.extended.TabImageCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures painting into an offscreen {@link BufferedImage}.
+ * {@code paintUI} only runs {@code MetalTabbedPaneUIDecorator.paint}, whereas
+ * {@code paintTabbedPane} paints the whole component tree including the tab
+ * area and the tab components. {@code paintTabComponent} paints a single
+ * {@code ClosableTabComponent}. Their {@code gc.alloc.rate.norm} shows the
+ * bytes allocated per repaint. With {@code tabImageCache} the unchanged tabs
+ * are drawn from a {@code TabImageCache}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class PaintBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    int tabCount;
+
+    @Param({"SCROLL_TAB_LAYOUT", "WRAP_TAB_LAYOUT"})
+    String tabLayoutPolicy;
+
+    @Param({"false", "true"})
+    boolean tabImageCache;
+
+    private JTabbedPaneExtended tabbedPane;
+    private JComponent tabComponent;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final int policy = "WRAP_TAB_LAYOUT".equals(tabLayoutPolicy)
+                ? JTabbedPane.WRAP_TAB_LAYOUT : JTabbedPane.SCROLL_TAB_LAYOUT;
+        tabbedPane = TabbedPaneFixture.createTabbedPane(tabCount, policy);
+        TabbedPaneFixture.onEdt(() -> tabbedPane.setSelectedIndex(tabCount / 2));
+        TabbedPaneFixture.drainEventQueue();
+        if (tabImageCache) {
+            tabbedPane.setTabImageCache(new TabImageCache(16 << 20));
+        }
+        tabbedPane.validate();
+        tabComponent = (JComponent) tabbedPane.getTabComponentAt(tabCount / 2);
+        image = new BufferedImage(TabbedPaneFixture.WIDTH, TabbedPaneFixture.HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+        // Swing paints with a clip set, BasicTabbedPaneUI relies on it.
+        graphics.setClip(0, 0, TabbedPaneFixture.WIDTH, TabbedPaneFixture.HEIGHT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintUI() {
+        tabbedPane.getUI().paint(graphics, tabbedPane);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage paintTabComponent() {
+        tabComponent.paint(graphics);
+        return image;
+    }
+
+    @Benchmark
+    public BufferedImage paintTabbedPane() {
+        tabbedPane.paint(graphics);
+        return image;
+    }
+}
@@ -0,0 +1,182 @@
+package de.joergwille.playground.jtabbedpaneextended.benchmark;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import javax.swing.JTabbedPane;
+import javax.swing.extended.JTabbedPaneExtended;
+
+/**
+ * Renders {@link JTabbedPaneExtended} panes repeatedly into an offscreen
+ * image and reports one CSV line per combination of tab count, tab placement
+ * and tab layout policy: frames per second, the 50th and 99th percentile of
+ * the frame time and the bytes allocated per frame, or -1 if the JVM does not
+ * measure allocations. A frame is a {@code paint} of the whole pane, like
+ * {@code PaintBenchmark.paintTabbedPane}.
+ *
+ * Unlike the JMH benchmarks this is a single quick pass without forks, meant
+ * to compare decorator changes on machines without display.
+ *
+ * Usage: {@code java -Djava.awt.headless=true -cp target/benchmarks.jar
+ * de.joergwille.playground.jtabbedpaneextended.benchmark.RenderHarness
+ * [--tabs=10,1000] [--placements=TOP,LEFT] [--policies=SCROLL,WRAP]
+ * [--warmup=200] [--frames=1000] [--output=file.csv]}
+ */
+public class RenderHarness {
+
+    private static final String HEADER = "tabCount,tabPlacement,tabLayoutPolicy,frames,fps,p50Millis,p99Millis,bytesPerFrame";
+
+    private int[] tabCounts = {10, 100, 1000, 10000};
+    private String[] placements = {"TOP", "BOTTOM", "LEFT", "RIGHT"};
+    private String[] policies = {"SCROLL", "WRAP"};
+    private int warmupFrames = 200;
+    private int frames = 1000;
+    private String output;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        System.setProperty("java.awt.headless", "true");
+        final RenderHarness harness = new RenderHarness();
+        harness.parseArguments(args);
+        final PrintStream out = harness.output == null ? System.out : new PrintStream(harness.output);
+        try {
+            harness.run(out);
+        } finally {
+            out.flush();
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+
+    private void parseArguments(final String[] args) {
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'.");
+            }
+            final String name = arg.substring(2, separator);
+            final String value = arg.substring(separator + 1);
+            switch (name) {
+                case "tabs":
+                    tabCounts = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+                    break;
+                case "placements":
+                    placements = value.toUpperCase(Locale.ROOT).split(",");
+                    break;
+                case "policies":
+                    policies = value.toUpperCase(Locale.ROOT).split(",");
+                    break;
+                case "warmup":
+                    warmupFrames = Integer.parseInt(value);
+                    break;
+                case "frames":
+                    frames = Integer.parseInt(value);
+                    break;
+                case "output":
+                    output = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option '" + name + "'.");
+            }
+        }
+        if (frames <= 0) {
+            throw new IllegalArgumentException("Option 'frames' must be positive.");
+        }
+    }
+
+    private void run(final PrintStream out) {
+        out.println(HEADER);
+        for (final int tabCount : tabCounts) {
+            for (final String placement : placements) {
+                for (final String policy : policies) {
+                    out.println(render(tabCount, placement, policy));
+                }
+            }
+        }
+    }
+
+    private String render(final int tabCount, final String placement, final String policy) {
+        final JTabbedPaneExtended tabbedPane = TabbedPaneFixture.createTabbedPane(tabCount, toTabLayoutPolicy(policy));
+        tabbedPane.setTabPlacement(toTabPlacement(placement));
+        TabbedPaneFixture.onEdt(() -> tabbedPane.setSelectedIndex(tabCount / 2));
+        TabbedPaneFixture.drainEventQueue();
+        tabbedPane.validate();
+        final BufferedImage image = new BufferedImage(TabbedPaneFixture.WIDTH, TabbedPaneFixture.HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        final Graphics2D graphics = image.createGraphics();
+        // Swing paints with a clip set, BasicTabbedPaneUI relies on it.
+        graphics.setClip(0, 0, TabbedPaneFixture.WIDTH, TabbedPaneFixture.HEIGHT);
+        try {
+            for (int i = 0; i < warmupFrames; i++) {
+                tabbedPane.paint(graphics);
+            }
+            final long[] frameNanos = new long[frames];
+            final long startBytes = allocatedBytes();
+            final long start = System.nanoTime();
+            for (int i = 0; i < frames; i++) {
+                final long frameStart = System.nanoTime();
+                tabbedPane.paint(graphics);
+                frameNanos[i] = System.nanoTime() - frameStart;
+            }
+            final long totalNanos = System.nanoTime() - start;
+            final long endBytes = allocatedBytes();
+            Arrays.sort(frameNanos);
+            return String.format(Locale.ROOT, "%d,%s,%s,%d,%.1f,%.3f,%.3f,%d", tabCount, placement, policy, frames,
+                    frames * 1e9 / totalNanos, percentile(frameNanos, 0.5) / 1e6, percentile(frameNanos, 0.99) / 1e6,
+                    startBytes < 0 ? -1 : (endBytes - startBytes) / frames);
+        } finally {
+            graphics.dispose();
+        }
+    }
+
+    private static long percentile(final long[] sortedNanos, final double percentile) {
+        final int rank = (int) Math.ceil(percentile * sortedNanos.length);
+        return sortedNanos[Math.max(0, rank - 1)];
+    }
+
+    /**
+     * @return the bytes allocated by the current thread so far, or a negative
+     * value if the JVM does not measure it.
+     */
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+            if (sunThreads.isThreadAllocatedMemorySupported() && sunThreads.isThreadAllocatedMemoryEnabled()) {
+                return sunThreads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static int toTabPlacement(final String placement) {
+        switch (placement) {
+            case "TOP":
+                return JTabbedPane.TOP;
+            case "BOTTOM":
+                return JTabbedPane.BOTTOM;
+            case "LEFT":
+                return JTabbedPane.LEFT;
+            case "RIGHT":
+                return JTabbedPane.RIGHT;
+            default:
+                throw new IllegalArgumentException("Unknown tab placement '" + placement + "'.");
+        }
+    }
+
+    private static int toTabLayoutPolicy(final String policy) {
+        switch (policy) {
+            case "SCROLL":
+            case "SCROLL_TAB_LAYOUT":
+                return JTabbedPane.SCROLL_TAB_LAYOUT;
+            case "WRAP":
+            case "WRAP_TAB_LAYOUT":
+                return JTabbedPane.WRAP_TAB_LAYOUT;
+            default:
+                throw new IllegalArgumentException("Unknown tab layout policy '" + policy + "'.");
+        }
+    }
+}
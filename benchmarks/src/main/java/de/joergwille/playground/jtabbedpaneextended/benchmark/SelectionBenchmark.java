@@ -0,0 +1,67 @@
+package de.joergwille.playground.jtabbedpaneextended.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import javax.swing.extended.JTabbedPaneExtended;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code setSelectedIndex} in {@code SCROLL_TAB_LAYOUT}, together
+ * with the scroll to the selected tab it queues on the EDT. Every invocation
+ * jumps between the first, the middle and the last tab, so the queued scroll
+ * moves the selected tab into the visible area each time.
+ *
+ * The tabbed pane is changed on the EDT only: each invocation selects the tab
+ * on the EDT and then waits until the queued scroll has run. The two hand
+ * offs to the EDT are part of the measured time, {@link #edtRoundTrips()}
+ * measures them alone.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Thread)
+public class SelectionBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    int tabCount;
+
+    private JTabbedPaneExtended tabbedPane;
+    private int[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tabbedPane = TabbedPaneFixture.createScrollTabbedPane(tabCount);
+        targets = new int[]{tabCount - 1, tabCount / 2, 0};
+        next = 0;
+    }
+
+    @Benchmark
+    public int setSelectedIndex() {
+        final int index = targets[next];
+        next = (next + 1) % targets.length;
+        TabbedPaneFixture.onEdt(() -> tabbedPane.setSelectedIndex(index));
+        // The scroll queued by setSelectedIndex runs before the task waited for.
+        TabbedPaneFixture.drainEventQueue();
+        return tabbedPane.getSelectedIndex();
+    }
+
+    @Benchmark
+    public void edtRoundTrips() {
+        TabbedPaneFixture.onEdt(() -> {
+        });
+        TabbedPaneFixture.drainEventQueue();
+    }
+}
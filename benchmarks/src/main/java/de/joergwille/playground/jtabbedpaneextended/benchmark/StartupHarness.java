@@ -0,0 +1,134 @@
+package de.joergwille.playground.jtabbedpaneextended.benchmark;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import javax.swing.Action;
+import javax.swing.JTabbedPane;
+import javax.swing.extended.JTabbedPaneExtended;
+import javax.swing.extended.RemoveTabAction;
+
+/**
+ * Creates many small {@link JTabbedPaneExtended} panes, like a dashboard does
+ * at startup, and reports one CSV line per round: the time to create the
+ * first pane, the mean time per pane and the heap retained per pane. A pane
+ * is constructed, populated with closable tabs, made displayable and
+ * validated on the EDT, like {@code TabbedPaneFixture.createTabbedPane} does,
+ * but the look and feel is installed only once.
+ *
+ * The first round includes class loading and runs interpreted, which is what
+ * the first panes of an application pay. The retained heap is the used heap
+ * after garbage collection while all panes of a round are referenced, minus
+ * the used heap before the round. It is measured after the scrolls to the
+ * selected tabs, which the panes queue on the EDT, have run.
+ *
+ * Usage: {@code java -Djava.awt.headless=true -cp target/benchmarks.jar
+ * de.joergwille.playground.jtabbedpaneextended.benchmark.StartupHarness
+ * [--panes=200] [--tabs=5] [--rounds=5] [--output=file.csv]}
+ */
+public class StartupHarness {
+
+    private static final String HEADER = "round,panes,tabsPerPane,firstPaneMillis,millisPerPane,retainedBytesPerPane";
+
+    private int panes = 200;
+    private int tabs = 5;
+    private int rounds = 5;
+    private String output;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        System.setProperty("java.awt.headless", "true");
+        final StartupHarness harness = new StartupHarness();
+        harness.parseArguments(args);
+        final PrintStream out = harness.output == null ? System.out : new PrintStream(harness.output);
+        try {
+            harness.run(out);
+        } finally {
+            out.flush();
+            if (out != System.out) {
+                out.close();
+            }
+        }
+    }
+
+    private void parseArguments(final String[] args) {
+        for (final String arg : args) {
+            final int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got '" + arg + "'.");
+            }
+            final String name = arg.substring(2, separator);
+            final String value = arg.substring(separator + 1);
+            switch (name) {
+                case "panes":
+                    panes = Integer.parseInt(value);
+                    break;
+                case "tabs":
+                    tabs = Integer.parseInt(value);
+                    break;
+                case "rounds":
+                    rounds = Integer.parseInt(value);
+                    break;
+                case "output":
+                    output = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option '" + name + "'.");
+            }
+        }
+        if (panes <= 0 || rounds <= 0) {
+            throw new IllegalArgumentException("Options 'panes' and 'rounds' must be positive.");
+        }
+    }
+
+    private void run(final PrintStream out) {
+        TabbedPaneFixture.installMetalLookAndFeel();
+        final Action deleteAction = new RemoveTabAction();
+        out.println(HEADER);
+        for (int round = 1; round <= rounds; round++) {
+            final long usedBefore = usedHeapAfterGc();
+            final List<JTabbedPaneExtended> created = new ArrayList<>(panes);
+            // The nanos to create the first pane and all panes.
+            final long[] nanos = new long[2];
+            TabbedPaneFixture.onEdt(() -> {
+                final long start = System.nanoTime();
+                created.add(createTabbedPane(deleteAction));
+                nanos[0] = System.nanoTime() - start;
+                for (int i = 1; i < panes; i++) {
+                    created.add(createTabbedPane(deleteAction));
+                }
+                nanos[1] = System.nanoTime() - start;
+            });
+            TabbedPaneFixture.drainEventQueue();
+            final long retainedBytes = usedHeapAfterGc() - usedBefore;
+            out.println(String.format(Locale.ROOT, "%d,%d,%d,%.3f,%.3f,%d", round, panes, tabs, nanos[0] / 1e6,
+                    nanos[1] / 1e6 / panes, retainedBytes / panes));
+            // Keep the panes reachable until the heap has been measured.
+            created.clear();
+        }
+    }
+
+    private JTabbedPaneExtended createTabbedPane(final Action deleteAction) {
+        final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+        tabbedPane.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+        for (int i = 0; i < tabs; i++) {
+            TabbedPaneFixture.addClosableTab(tabbedPane, deleteAction, i, "Test " + i);
+        }
+        tabbedPane.setSize(TabbedPaneFixture.WIDTH, TabbedPaneFixture.HEIGHT);
+        tabbedPane.addNotify();
+        tabbedPane.validate();
+        return tabbedPane;
+    }
+
+    private static long usedHeapAfterGc() {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        // Collect repeatedly, a single request may leave garbage behind.
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,93 @@
+package de.joergwille.playground.jtabbedpaneextended.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import javax.swing.Action;
+import javax.swing.extended.JTabbedPaneExtended;
+import javax.swing.extended.RemoveTabAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@code insertTab} and {@code removeTabAt} of a closable tab in the
+ * middle of a {@code SCROLL_TAB_LAYOUT} pane, including the layout pass the
+ * change triggers. The pane is restored to its original tab count around each
+ * invocation.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TabStructureBenchmark {
+
+    @State(Scope.Thread)
+    public static class InsertState {
+
+        @Param({"10", "100", "1000", "10000", "50000"})
+        int tabCount;
+
+        JTabbedPaneExtended tabbedPane;
+        Action deleteAction;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            tabbedPane = TabbedPaneFixture.createScrollTabbedPane(tabCount);
+            deleteAction = new RemoveTabAction();
+            index = tabCount / 2;
+        }
+
+        @TearDown(Level.Invocation)
+        public void removeInsertedTab() {
+            tabbedPane.removeTabAt(index);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RemoveState {
+
+        @Param({"10", "100", "1000", "10000", "50000"})
+        int tabCount;
+
+        JTabbedPaneExtended tabbedPane;
+        Action deleteAction;
+        int index;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            tabbedPane = TabbedPaneFixture.createScrollTabbedPane(tabCount);
+            deleteAction = new RemoveTabAction();
+            index = tabCount / 2;
+        }
+
+        @TearDown(Level.Invocation)
+        public void reinsertRemovedTab() {
+            TabbedPaneFixture.addClosableTab(tabbedPane, deleteAction, index, "Test " + index);
+        }
+    }
+
+    @Benchmark
+    public JTabbedPaneExtended insertTab(final InsertState state) {
+        TabbedPaneFixture.addClosableTab(state.tabbedPane, state.deleteAction, state.index, "Inserted");
+        state.tabbedPane.validate();
+        return state.tabbedPane;
+    }
+
+    @Benchmark
+    public JTabbedPaneExtended removeTabAt(final RemoveState state) {
+        state.tabbedPane.removeTabAt(state.index);
+        state.tabbedPane.validate();
+        return state.tabbedPane;
+    }
+}
@@ -0,0 +1,107 @@
+package de.joergwille.playground.jtabbedpaneextended.benchmark;
+
+import java.awt.Component;
+import java.lang.reflect.InvocationTargetException;
+import javax.swing.Action;
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.UnsupportedLookAndFeelException;
+import javax.swing.extended.ClosableTabComponent;
+import javax.swing.extended.JTabbedPaneExtended;
+import javax.swing.extended.RemoveTabAction;
+import javax.swing.plaf.metal.MetalLookAndFeel;
+
+/**
+ * Builds the {@link JTabbedPaneExtended} instances the benchmarks operate on.
+ * The panes are populated like {@code Main.runTest} does, i.e. every tab has a
+ * {@link ClosableTabComponent}.
+ *
+ * The panes are built on the EDT. A selection change queues scrolling the
+ * selected tab into view on the EDT, so the panes are returned only after
+ * the queued scroll has run. From then on nothing is queued on the EDT as
+ * long as the selection is not changed, and the benchmarks that do not
+ * change it operate on the JMH worker thread. Selection changes must be made
+ * on the EDT and followed by {@link #drainEventQueue()}, otherwise the EDT
+ * scrolls the pane while the worker thread changes it.
+ *
+ * The panes are made displayable with {@code addNotify()}, otherwise a
+ * component without peer never becomes valid and the UI would recalculate
+ * the whole layout for every painted tab.
+ */
+final class TabbedPaneFixture {
+
+    static final int WIDTH = 800;
+    static final int HEIGHT = 400;
+
+    private TabbedPaneFixture() {
+    }
+
+    static void installMetalLookAndFeel() {
+        try {
+            UIManager.setLookAndFeel(MetalLookAndFeel.class.getName());
+        } catch (UnsupportedLookAndFeelException | ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            throw new IllegalStateException("Could not set Metal LaF.", e);
+        }
+    }
+
+    static JTabbedPaneExtended createTabbedPane(final int tabCount, final int tabLayoutPolicy) {
+        installMetalLookAndFeel();
+        final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+        onEdt(() -> {
+            tabbedPane.setTabLayoutPolicy(tabLayoutPolicy);
+            final Action deleteAction = new RemoveTabAction();
+            for (int i = 0; i < tabCount; i++) {
+                addClosableTab(tabbedPane, deleteAction, i, "Test " + i);
+            }
+            tabbedPane.setSize(WIDTH, HEIGHT);
+            tabbedPane.addNotify();
+            tabbedPane.validate();
+        });
+        drainEventQueue();
+        return tabbedPane;
+    }
+
+    static JTabbedPaneExtended createScrollTabbedPane(final int tabCount) {
+        return createTabbedPane(tabCount, JTabbedPane.SCROLL_TAB_LAYOUT);
+    }
+
+    static void addClosableTab(final JTabbedPane tabbedPane, final Action deleteAction, final int index, final String title) {
+        tabbedPane.insertTab(title, null, createPanel(), null, index);
+        tabbedPane.setTabComponentAt(index, new ClosableTabComponent(tabbedPane, deleteAction));
+    }
+
+    static Component createPanel() {
+        return new JPanel();
+    }
+
+    /**
+     * Runs the task on the EDT and waits for it.
+     */
+    static void onEdt(final Runnable task) {
+        try {
+            SwingUtilities.invokeAndWait(task);
+        } catch (final InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Task failed on the EDT.", e.getCause());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the EDT.", e);
+        }
+    }
+
+    /**
+     * Waits until the tasks queued on the EDT so far have run, e.g. the scroll
+     * to the selected tab queued by a selection change.
+     */
+    static void drainEventQueue() {
+        onEdt(() -> {
+        });
+    }
+}
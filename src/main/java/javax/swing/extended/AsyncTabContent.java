@@ -0,0 +1,111 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.swing.SwingUtilities;
+
+/**
+ * The content of an asynchronous tab of a {@link JTabbedPaneExtended}, see
+ * {@link JTabbedPaneExtended#insertAsyncTab}. Its data is loaded by a task on
+ * the content executor, the component is created from the data on the event
+ * dispatch thread and then replaces the placeholder of the tab.
+ *
+ * The future of a load is only completed on the event dispatch thread.
+ * Cancelling it interrupts the loading task and abandons its result, a
+ * failure is reported to the tabbed pane.
+ *
+ * @author Jörg Wille
+ */
+final class AsyncTabContent<T> {
+
+    private final JTabbedPaneExtended tabbedPane;
+    private final Component placeholder;
+    private final Supplier<? extends T> loader;
+    private final Function<? super T, ? extends Component> contentFactory;
+    private CompletableFuture<Component> future;
+
+    AsyncTabContent(final JTabbedPaneExtended tabbedPane, final Component placeholder,
+            final Supplier<? extends T> loader, final Function<? super T, ? extends Component> contentFactory) {
+        this.tabbedPane = tabbedPane;
+        this.placeholder = placeholder;
+        this.loader = loader;
+        this.contentFactory = contentFactory;
+    }
+
+    /**
+     * @return the future of the current or last load, or {@code null} if
+     * loading has not been started yet.
+     */
+    CompletableFuture<Component> getFuture() {
+        return this.future;
+    }
+
+    /**
+     * Starts loading, unless a load is in progress or has succeeded. A failed
+     * load is started again.
+     *
+     * @param executor the executor running the loader.
+     */
+    void load(final Executor executor) {
+        if (this.future != null && !this.future.isCompletedExceptionally()) {
+            return;
+        }
+        final CompletableFuture<Component> loading = new CompletableFuture<>();
+        final FutureTask<Void> task = new FutureTask<>(() -> {
+            final T data;
+            try {
+                data = this.loader.get();
+            } catch (final Throwable failure) {
+                SwingUtilities.invokeLater(() -> loading.completeExceptionally(failure));
+                return null;
+            }
+            SwingUtilities.invokeLater(() -> this.createContent(loading, data));
+            return null;
+        });
+        loading.whenComplete((content, failure) -> {
+            if (loading.isCancelled()) {
+                task.cancel(true);
+            } else if (failure != null) {
+                this.tabbedPane.asyncTabContentFailed(this.placeholder, failure);
+            }
+        });
+        this.future = loading;
+        try {
+            executor.execute(task);
+        } catch (final RuntimeException failure) {
+            loading.completeExceptionally(failure);
+        }
+    }
+
+    /**
+     * Cancels a load in progress.
+     */
+    void cancel() {
+        if (this.future != null) {
+            this.future.cancel(true);
+        }
+    }
+
+    private void createContent(final CompletableFuture<Component> loading, final T data) {
+        // A cancelled load is abandoned.
+        if (loading.isDone()) {
+            return;
+        }
+        final Component content;
+        try {
+            content = this.contentFactory.apply(data);
+            if (content == null) {
+                throw new NullPointerException("Content factory of an async tab returned null.");
+            }
+        } catch (final RuntimeException failure) {
+            loading.completeExceptionally(failure);
+            return;
+        }
+        this.tabbedPane.asyncTabContentCreated(this.placeholder, content);
+        loading.complete(content);
+    }
+}
@@ -9,21 +9,19 @@ import java.awt.Color;
 import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
+import java.awt.Font;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.event.MouseListener;
+import java.awt.Stroke;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import javax.swing.AbstractButton;
+import java.util.Objects;
 import javax.swing.Action;
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTabbedPane;
-import javax.swing.UIManager;
 import javax.swing.plaf.basic.BasicButtonUI;
 
 /**
@@ -38,8 +36,10 @@ public class ClosableTabComponent extends JPanel {
     public static final Color DEFAULT_BORDER_COLOR = Color.GRAY;
     public static final Color DEFAULT_CROSS_COLOR = Color.GRAY;
     public static final Color DEFAULT_CROSS_ROLL_OVER_COLOR = Color.RED;
-    public static final int DEFAULT_TEXT_BUTTON_GAP = (int) UIManager.get("TabbedPane.textIconGap");
-    private static final int TAB_BUTTON_SIZE = 15;
+    public static final int DEFAULT_TEXT_BUTTON_GAP = JTabbedPaneExtended.DEFAULT_TEXT_ICON_GAP;
+    public static final int TAB_BUTTON_SIZE = 15;
+    // The stroke to draw the "closing cross", shared to keep painting allocation-free.
+    private static final Stroke CROSS_STROKE = new BasicStroke(1.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_MITER);
     private PropertyChangeListener tabLayoutPolicyListener;
     private final JTabbedPane tabbedPane;
     private final JLabel label;
@@ -54,13 +54,18 @@ public class ClosableTabComponent extends JPanel {
     /**
      * Creates a new instance of {@link AveClosableTabComponent}.
      *
+     * The gap between text and button is the text icon gap of a
+     * {@link JTabbedPaneExtended}, otherwise the default.
+     *
      * @param tabbedPane the {@code JTabbedPane} in which the
      * {@link AveClosableTabComponent} is being used.
      * @param action the {@code Action} to call when the close button is
      * clicked.
      */
     public ClosableTabComponent(final JTabbedPane tabbedPane, final Action action) {
-        this(tabbedPane, action, DEFAULT_BORDER_COLOR, DEFAULT_CROSS_COLOR, DEFAULT_CROSS_ROLL_OVER_COLOR, DEFAULT_TEXT_BUTTON_GAP);
+        this(tabbedPane, action, DEFAULT_BORDER_COLOR, DEFAULT_CROSS_COLOR, DEFAULT_CROSS_ROLL_OVER_COLOR,
+                tabbedPane instanceof JTabbedPaneExtended
+                        ? ((JTabbedPaneExtended) tabbedPane).getTextIconGap() : DEFAULT_TEXT_BUTTON_GAP);
     }
 
     /**
@@ -91,16 +96,7 @@ public class ClosableTabComponent extends JPanel {
         this.textButtonGap = textButtonGap;
 
         // Make JLabel read titles from JTabbedPane.
-        label = new JLabel() {
-            @Override
-            public String getText() {
-                int i = tabbedPane.indexOfTabComponent(ClosableTabComponent.this);
-                if (i != -1) {
-                    return tabbedPane.getTitleAt(i);
-                }
-                return null;
-            }
-        };
+        label = new TitleLabel();
 
         // Unset default FlowLayout' gaps.
         labelPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 0, 0));
@@ -115,6 +111,10 @@ public class ClosableTabComponent extends JPanel {
         buttonPanel.add(button);
         super.add(buttonPanel, BorderLayout.LINE_END);
 
+        tabLayoutPolicyChanged(tabbedPane.getTabLayoutPolicy());
+        if (tabbedPane instanceof JTabbedPaneExtended) {
+            ((JTabbedPaneExtended) tabbedPane).addTabLayoutPolicyListener(this);
+        }
         installListeners();
     }
 
@@ -130,47 +130,35 @@ public class ClosableTabComponent extends JPanel {
         this.uninstallListeners();
     }
 
+    // A JTabbedPaneExtended notifies its tab components by a single dispatcher,
+    // with which it registers them while they are tab components. Other tabbed
+    // panes get one listener per component, registered while it is displayable.
     private void installListeners() {
-        if ((tabLayoutPolicyListener = this::tabLayoutPolicyChange) != null) {
-            tabbedPane.addPropertyChangeListener("tabLayoutPolicy", this::tabLayoutPolicyChange);
+        if (!(tabbedPane instanceof JTabbedPaneExtended) && tabLayoutPolicyListener == null) {
+            tabLayoutPolicyListener = this::tabLayoutPolicyChange;
+            tabbedPane.addPropertyChangeListener("tabLayoutPolicy", tabLayoutPolicyListener);
         }
     }
 
     private void uninstallListeners() {
         if (tabLayoutPolicyListener != null) {
-            tabbedPane.removePropertyChangeListener(tabLayoutPolicyListener);
+            tabbedPane.removePropertyChangeListener("tabLayoutPolicy", tabLayoutPolicyListener);
             tabLayoutPolicyListener = null;
         }
     }
 
-    private final static MouseListener BUTTON_MOUSE_LISTENER = new MouseAdapter() {
-        @Override
-        public void mouseEntered(MouseEvent e) {
-            Component component = e.getComponent();
-            if (component instanceof AbstractButton) {
-                AbstractButton button = (AbstractButton) component;
-                button.setBorderPainted(true);
-            }
-        }
-
-        @Override
-        public void mouseExited(MouseEvent e) {
-            Component component = e.getComponent();
-            if (component instanceof AbstractButton) {
-                AbstractButton button = (AbstractButton) component;
-                button.setBorderPainted(false);
-            }
-        }
-    };
-
     private void tabLayoutPolicyChange(PropertyChangeEvent evt) {
         if ("tabLayoutPolicy".equals(evt.getPropertyName())) {
-            if ((int) evt.getNewValue() == JTabbedPane.SCROLL_TAB_LAYOUT) {
-                // Add a gap between the label and the button.
-                labelPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, this.textButtonGap));
-            } else {
-                labelPanel.setBorder(null);
-            }
+            tabLayoutPolicyChanged((int) evt.getNewValue());
+        }
+    }
+
+    void tabLayoutPolicyChanged(final int tabLayoutPolicy) {
+        if (tabLayoutPolicy == JTabbedPane.SCROLL_TAB_LAYOUT) {
+            // Add a gap between the label and the button.
+            labelPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 0, this.textButtonGap));
+        } else {
+            labelPanel.setBorder(null);
         }
     }
 
@@ -184,6 +172,142 @@ public class ClosableTabComponent extends JPanel {
         return this.tabbedPane;
     }
 
+    /**
+     * Invalidates the title label, whose text is read from the tabbed pane and
+     * therefore does not notice title changes by itself.
+     */
+    void titleChanged() {
+        label.invalidate();
+    }
+
+    /**
+     * Returns the preferred size this component would have in a tab with the
+     * given title. Used to reserve the space of a virtualized tab component,
+     * see {@link JTabbedPaneExtended#setTabComponentsVirtualized(boolean)}.
+     */
+    Dimension getPreferredSize(final String title) {
+        ((TitleLabel) label).measuringTitle = title;
+        label.invalidate();
+        try {
+            return getPreferredSize();
+        } finally {
+            ((TitleLabel) label).measuringTitle = null;
+            label.invalidate();
+        }
+    }
+
+    Action getCloseAction() {
+        return ((TabButton) button).action;
+    }
+
+    /**
+     * Rebinds a pooled component, while it is not attached to a tab, to the
+     * close action of the tab it is going to be attached to.
+     */
+    void setCloseAction(final Action action) {
+        ((TabButton) button).setCloseAction(action);
+    }
+
+    /**
+     * Paints a close button looking like the one of this component: the
+     * "closing cross" and, on rollover, the border. Used by look and feels
+     * painting the close buttons of tabs without components, see
+     * {@link JTabbedPaneExtended#setCloseButtonsPainted(boolean)}.
+     *
+     * @param g the graphics to paint on, its state is restored.
+     * @param x the x coordinate of the button.
+     * @param y the y coordinate of the button.
+     * @param width the width of the button.
+     * @param height the height of the button.
+     * @param rollover {@code true} if the mouse is over the button.
+     * @param pressed {@code true} if the button is pressed.
+     */
+    public static void paintCloseButton(final Graphics2D g, final int x, final int y, final int width, final int height,
+            final boolean rollover, final boolean pressed) {
+        final Color oldColor = g.getColor();
+        if (rollover) {
+            g.setColor(DEFAULT_BORDER_COLOR);
+            g.drawRect(x, y, width - 1, height - 1);
+        }
+        g.translate(x, y);
+        paintCross(g, width, height, rollover ? DEFAULT_CROSS_ROLL_OVER_COLOR : DEFAULT_CROSS_COLOR, pressed);
+        g.translate(-x, -y);
+        g.setColor(oldColor);
+    }
+
+    // Draws on the given graphics and restores its state afterwards instead
+    // of allocating a copy with g.create().
+    private static void paintCross(final Graphics2D g2, final int width, final int height, final Color color,
+            final boolean pressed) {
+        final Stroke oldStroke = g2.getStroke();
+        final Color oldColor = g2.getColor();
+        // Shift the image for pressed buttons.
+        if (pressed) {
+            g2.translate(0.5, 0.5);
+        }
+        g2.setStroke(CROSS_STROKE);
+        g2.setColor(color);
+        int gap = 4; // The gap to all edges.
+        g2.drawLine(gap, gap, width - gap - 1, height - gap - 1);
+        g2.drawLine(width - gap - 1, gap, gap, height - gap - 1);
+        if (pressed) {
+            g2.translate(-0.5, -0.5);
+        }
+        g2.setColor(oldColor);
+        g2.setStroke(oldStroke);
+    }
+
+    /**
+     * A label reading its text from the tabbed pane. The preferred size is
+     * measured once for each text and font, not on every layout of the
+     * tabbed pane.
+     */
+    @SuppressWarnings("serial")
+    private final class TitleLabel extends JLabel {
+
+        private String measuredText;
+        private Font measuredFont;
+        private Dimension measuredSize;
+        // Returned instead of a copy of the measured size on each layout.
+        private final Dimension preferredSize = new Dimension();
+        private String measuringTitle;
+
+        @Override
+        public String getText() {
+            if (measuringTitle != null) {
+                return measuringTitle;
+            }
+            int i = tabbedPane.indexOfTabComponent(ClosableTabComponent.this);
+            if (i != -1) {
+                return tabbedPane.getTitleAt(i);
+            }
+            return null;
+        }
+
+        @Override
+        public Dimension getPreferredSize() {
+            if (isPreferredSizeSet()) {
+                return super.getPreferredSize();
+            }
+            final String text = getText();
+            final Font font = getFont();
+            if (measuredSize == null || !Objects.equals(text, measuredText) || !Objects.equals(font, measuredFont)) {
+                measuredSize = super.getPreferredSize();
+                measuredText = text;
+                measuredFont = font;
+            }
+            // A caller changing the returned size does not change the measured one.
+            preferredSize.setSize(measuredSize);
+            return preferredSize;
+        }
+
+        @Override
+        public void updateUI() {
+            measuredSize = null;
+            super.updateUI();
+        }
+    }
+
     /**
      * The TabButton class should not be instantiated externally, but since the
      * button's action is accessable externaly, the class is made "puplic" to
@@ -192,7 +316,7 @@ public class ClosableTabComponent extends JPanel {
     @SuppressWarnings("serial")
     public final class TabButton extends JButton {
 
-        private final Action action;
+        private Action action;
         private final ClosableTabComponent tabComponent;
 
         public TabButton(final ClosableTabComponent tabComponent, final Action action) {
@@ -213,14 +337,11 @@ public class ClosableTabComponent extends JPanel {
             super.setFocusable(false);
             // Make a simple border
             super.setBorder(BorderFactory.createLineBorder(borderColor));
-            super.setBorderPainted(false);
             // Making nice rollover effect
             super.setRolloverEnabled(true);
         }
 
         private void installListeners() {
-            // Use the same listener for all buttons.
-            this.addMouseListener(BUTTON_MOUSE_LISTENER);
             super.setAction(action);
             // Ovewrite Mnemonic after setting the action.
             super.setMnemonic(0);
@@ -228,10 +349,19 @@ public class ClosableTabComponent extends JPanel {
         }
 
         private void removeListener() {
-            this.removeMouseListener(BUTTON_MOUSE_LISTENER);
             super.setAction(null);
         }
 
+        private void setCloseAction(final Action action) {
+            if (action == null) {
+                throw new NullPointerException("Argument \'Action\' must not be null.");
+            }
+            this.action = action;
+            if (isDisplayable()) {
+                this.installListeners();
+            }
+        }
+
         /**
          * Notifies this component that it no longer has a parent component.
          * This method is called by the toolkit internally and should not be
@@ -259,25 +389,26 @@ public class ClosableTabComponent extends JPanel {
         public void updateUI() {
         }
 
+        // Paint the border only on rollover. Unlike toggling setBorderPainted,
+        // a rollover change then only repaints the button and does not
+        // revalidate the tabbed pane.
+        @Override
+        protected void paintBorder(Graphics g) {
+            if (getModel().isRollover()) {
+                super.paintBorder(g);
+            }
+        }
+
         // Paint the "closing cross"
         @Override
         protected void paintComponent(Graphics g) {
-            super.paintComponent(g);
-            Graphics2D g2 = (Graphics2D) g.create();
-            // Shift the image for pressed buttons.
-            if (getModel().isPressed()) {
-                g2.translate(0.5f, 0.5f);
-            }
-            // Define the stroke to draw the cross
-            g2.setStroke(new BasicStroke(1.5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_MITER));
-            g2.setColor(crossColor);
-            if (getModel().isRollover()) {
-                g2.setColor(crossRolloverColor);
+            // Without an icon the UI has nothing to paint, as the text is empty
+            // and the content area is not filled.
+            if (getIcon() != null) {
+                super.paintComponent(g);
             }
-            int gap = 4; // The gap to all edges.
-            g2.drawLine(gap, gap, getWidth() - gap - 1, getHeight() - gap - 1);
-            g2.drawLine(getWidth() - gap - 1, gap, gap, getHeight() - gap - 1);
-            g2.dispose();
+            paintCross((Graphics2D) g, getWidth(), getHeight(),
+                    getModel().isRollover() ? crossRolloverColor : crossColor, getModel().isPressed());
         }
 
         /**
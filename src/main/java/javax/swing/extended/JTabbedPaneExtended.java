@@ -1,45 +1,145 @@
 package javax.swing.extended;
 
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Dimension;
+import java.awt.GridBagLayout;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.lang.management.ManagementFactory;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.swing.Action;
+import javax.swing.Icon;
+import javax.swing.JButton;
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.plaf.metal.extended.MetalTabbedPaneUIDecorator;
 import javax.swing.JTabbedPane;
-import javax.swing.UIManager;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
 import javax.swing.plaf.InsetsUIResource;
 import javax.swing.plaf.TabbedPaneUI;
+import javax.swing.plaf.UIResource;
+import javax.swing.plaf.basic.BasicTabbedPaneUI;
+import javax.swing.plaf.metal.MetalTabbedPaneUI;
 
 @SuppressWarnings("serial")
 public class JTabbedPaneExtended extends JTabbedPane {
 
+    /**
+     * The default gap between the label and the icon or close button of a
+     * tab, see {@link #getTextIconGap()}.
+     */
+    public static final int DEFAULT_TEXT_ICON_GAP = 4;
+    // Narrows the right gap added around the tab component of the L&F;
+    // MetalLookAndFeel default insets are: (0, 9, 1, 9).
+    private static final Insets DEFAULT_TAB_INSETS = new InsetsUIResource(0, 9, 1, 1);
+    // Makes the names of the metrics MXBeans of equally named tabbed panes unique.
+    private static final AtomicInteger METRICS_IDS = new AtomicInteger();
+    private static final String TAB_CONTAINER_CLASS_NAME = "javax.swing.plaf.basic.BasicTabbedPaneUI$TabContainer";
+
     private MetalTabbedPaneUIDecorator metalTabbedPaneUIDecorator;
     private PropertyChangeListener tabLayoutPolicyListener;
-    private volatile boolean skipInvalidate = false;
+    // Tab components notified of tab layout policy changes, held weakly, so discarded ones need not unregister.
+    private final Set<ClosableTabComponent> tabLayoutPolicyListeners = Collections.newSetFromMap(new WeakHashMap<>());
+    // Identity-keyed index of tab components, see indexOfTabComponent.
+    private Map<Component, Integer> tabComponentIndices;
+    private boolean tabComponentIndicesValid = false;
+    private int structuralChangeDepth = 0;
+    // Nesting depth of beginUpdate()/endUpdate() and the work deferred until the batch ends.
+    private int updateDepth = 0;
+    private boolean stateChangePending = false;
+    private boolean tabComponentsChangePending = false;
+    // Whether the tab bounds have been calculated since the last change of the batch update.
+    private boolean batchTabBoundsValid = false;
+    private final TabListModel tabListModel = new TabListModel(this);
+    private int removedIndexDuringInsert = -1;
+    // Leading tab index to be set on the next layout, -1 if none.
+    private int pendingLeadingTabIndex = -1;
+    // Whether the selected tab is to be scrolled into view, and whether this
+    // is queued on the event dispatch thread once for a burst of selection changes.
+    private boolean selectedTabScrollPending = false;
+    private boolean selectedTabScrollQueued = false;
+    // Content suppliers of lazy tabs, keyed by the placeholder shown until first selection.
+    private Map<Component, Supplier<? extends Component>> lazyContents;
+    private TabContentCache contentCache;
+    // Contents of async tabs, keyed by the placeholder shown until loaded.
+    private Map<Component, AsyncTabContent<?>> asyncContents;
+    private Executor contentExecutor;
+    private TabImageCache tabImageCache;
+    // Null unless metrics are enabled, so disabled recording costs a field read.
+    private TabbedPaneMetrics metrics;
+    private ObjectName metricsName;
+    // Close actions by tab position while tab components are virtualized or close buttons painted, otherwise null.
+    private List<Action> closeActions;
+    private boolean tabComponentsVirtualized = false;
+    private boolean closeButtonsPainted = false;
+    private boolean wheelScrollingEnabled = true;
+    private boolean snapToTabBoundary = false;
+    private final Set<ClosableTabComponent> realizedTabComponents = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Deque<ClosableTabComponent> tabComponentPool = new ArrayDeque<>();
+    private ClosableTabComponent measuringTabComponent;
+    // Null for the defaults. Not initialized, as JTabbedPane installs the UI
+    // before the fields of this class are initialized.
+    private Insets tabInsets;
+    private Integer textIconGap;
 
+    /**
+     * Creates an empty tabbed pane. Its tab insets and text icon gap are
+     * defaults of this instance, which the {@code MetalTabbedPaneUIDecorator}
+     * installs instead of the {@code UIManager} defaults, so the shared
+     * {@code UIManager} defaults are left alone.
+     */
     public JTabbedPaneExtended() {
-        // Narrow the right gap added around tab component of L&F;
-        // MetalLookAndFeel default insets are: (0, 9, 1, 9).
-        UIManager.put("TabbedPane.tabInsets", new InsetsUIResource(0, 9, 1, 1));
-
-        // Increase the gap between label and icon or button in SCROLL_TAB_LAYOUT
-        UIManager.put("TabbedPane.textIconGap", 4);
+        this.installListeners();
     }
 
+    // The listener is registered once and only references this tabbed pane,
+    // so it neither builds up nor needs to be removed.
     private void installListeners() {
-        if ((tabLayoutPolicyListener = this::tabLayoutPolicyChange) != null) {
-            addPropertyChangeListener("tabLayoutPolicy", this::tabLayoutPolicyChange);
-        }
-    }
-
-    private void uninstallListeners() {
-        if (tabLayoutPolicyListener != null) {
-            removePropertyChangeListener(tabLayoutPolicyListener);
-            tabLayoutPolicyListener = null;
+        if (this.tabLayoutPolicyListener == null) {
+            this.tabLayoutPolicyListener = this::tabLayoutPolicyChange;
+            this.addPropertyChangeListener("tabLayoutPolicy", this.tabLayoutPolicyListener);
         }
     }
 
+    /**
+     * Dispatches a tab layout policy change to the registered tab components,
+     * so a change costs a single property change listener and a call per live
+     * tab component.
+     */
     private void tabLayoutPolicyChange(PropertyChangeEvent evt) {
         if ("tabLayoutPolicy".equals(evt.getPropertyName())) {
-            if ((int) evt.getNewValue() == JTabbedPane.SCROLL_TAB_LAYOUT) {
+            final int tabLayoutPolicy = (int) evt.getNewValue();
+            // Copied, as a tab component may register or unregister when notified.
+            for (final ClosableTabComponent tabComponent
+                    : this.tabLayoutPolicyListeners.toArray(new ClosableTabComponent[0])) {
+                tabComponent.tabLayoutPolicyChanged(tabLayoutPolicy);
+            }
+            if (tabLayoutPolicy == JTabbedPane.SCROLL_TAB_LAYOUT) {
                 // Ensure that selected index is within visible scroll area.
                 final int selectedIndex = this.getSelectedIndex();
                 if (selectedIndex >= 0) {
@@ -49,33 +149,127 @@ public class JTabbedPaneExtended extends JTabbedPane {
         }
     }
 
-    @Override
-    public void addNotify() {
-        this.installListeners();
-        super.addNotify();
+    /**
+     * Registers a tab component to be notified of tab layout policy changes.
+     * Registering it again has no effect. The component is held weakly.
+     */
+    void addTabLayoutPolicyListener(final ClosableTabComponent tabComponent) {
+        this.tabLayoutPolicyListeners.add(tabComponent);
     }
 
-    @Override
-    public void removeNotify() {
-        super.removeNotify();
-        this.uninstallListeners();
+    /**
+     * Unregisters a tab component, which is done when it is removed from its
+     * tab or released for reuse.
+     */
+    void removeTabLayoutPolicyListener(final ClosableTabComponent tabComponent) {
+        this.tabLayoutPolicyListeners.remove(tabComponent);
     }
 
+    /**
+     * @return the number of tab components registered to be notified of tab
+     * layout policy changes.
+     */
+    int getTabLayoutPolicyListenerCount() {
+        return this.tabLayoutPolicyListeners.size();
+    }
+
+    /**
+     * Replaces the {@code MetalTabbedPaneUI} by the
+     * {@code MetalTabbedPaneUIDecorator} of this tabbed pane, which is
+     * created once and installed again on later UI updates.
+     *
+     * @param ui the UI delegate.
+     */
     @Override
     public void setUI(TabbedPaneUI ui) {
-        if ("javax.swing.plaf.metal.MetalTabbedPaneUI".equals(ui.getClass().getName())) {
+        if (ui != null && ui.getClass() == MetalTabbedPaneUI.class) {
             if (this.metalTabbedPaneUIDecorator == null) {
                 this.metalTabbedPaneUIDecorator = new MetalTabbedPaneUIDecorator();
-                ui = this.metalTabbedPaneUIDecorator;
             }
+            ui = this.metalTabbedPaneUIDecorator;
         }
         super.setUI(ui);
     }
 
+    /**
+     * Returns the insets around the label of each tab, which the
+     * {@code MetalTabbedPaneUIDecorator} uses instead of
+     * {@code TabbedPane.tabInsets} of the {@code UIManager}.
+     *
+     * @return a copy of the tab insets.
+     */
+    public Insets getTabInsets() {
+        return (Insets) (this.tabInsets != null ? this.tabInsets : DEFAULT_TAB_INSETS).clone();
+    }
+
+    /**
+     * Sets the insets around the label of each tab.
+     *
+     * @param tabInsets the tab insets.
+     */
+    public void setTabInsets(final Insets tabInsets) {
+        if (tabInsets == null) {
+            throw new NullPointerException("Argument \'TabInsets\' must not be null.");
+        }
+        final Insets oldTabInsets = this.getTabInsets();
+        if (!oldTabInsets.equals(tabInsets)) {
+            this.tabInsets = new InsetsUIResource(tabInsets.top, tabInsets.left, tabInsets.bottom, tabInsets.right);
+            this.tabDefaultsChanged();
+            this.firePropertyChange("tabInsets", oldTabInsets, this.getTabInsets());
+        }
+    }
+
+    /**
+     * Returns the gap between the label and the icon or close button of each
+     * tab, which the {@code MetalTabbedPaneUIDecorator} uses instead of
+     * {@code TabbedPane.textIconGap} of the {@code UIManager}.
+     *
+     * @return the text icon gap.
+     */
+    public int getTextIconGap() {
+        return this.textIconGap != null ? this.textIconGap : DEFAULT_TEXT_ICON_GAP;
+    }
+
+    /**
+     * Sets the gap between the label and the icon or close button of each
+     * tab. Affects the close buttons of tab components created afterwards.
+     *
+     * @param textIconGap the text icon gap.
+     */
+    public void setTextIconGap(final int textIconGap) {
+        final int oldTextIconGap = this.getTextIconGap();
+        if (oldTextIconGap != textIconGap) {
+            this.textIconGap = textIconGap;
+            this.tabDefaultsChanged();
+            this.firePropertyChange("textIconGap", oldTextIconGap, textIconGap);
+        }
+    }
+
+    /**
+     * Lets the {@code MetalTabbedPaneUIDecorator} install the changed tab
+     * defaults, which keeps its components, scroll position and rollover.
+     * During a batch update the layout is deferred until it ends.
+     */
+    private void tabDefaultsChanged() {
+        final MetalTabbedPaneUIDecorator decorator = this.getMetalTabbedPaneUIDecorator();
+        if (decorator != null) {
+            decorator.tabDefaultsChanged();
+            this.revalidate();
+            this.repaint();
+        }
+    }
+
     /**
      * Overrides setSelectedIndex in particular for the usage with scroll tab
      * layout to ensure that the selected index is scrolled into the visible
-     * scroll range.
+     * scroll range. The change event is fired and the selected component
+     * shown right away, whereas scrolling is queued once on the event
+     * dispatch thread with {@code invokeLater}. The queued scroll runs after
+     * the events already queued, so all selection changes made until then,
+     * e.g. by the queued repeats of a held key, scroll once to the latest
+     * selected tab. Selection changes are coalesced per drain of the event
+     * queue, not per display frame: a change made after the queued scroll has
+     * run queues another scroll.
      *
      * @param index Index to be selected.
      */
@@ -85,6 +279,8 @@ public class JTabbedPaneExtended extends JTabbedPane {
             return;
         }
 
+        final TabbedPaneMetrics tabbedPaneMetrics = this.metrics;
+        final long start = tabbedPaneMetrics != null ? System.nanoTime() : 0;
         try {
             super.setSelectedIndex(index);
         } catch (final ArrayIndexOutOfBoundsException exception) {
@@ -92,41 +288,1488 @@ public class JTabbedPaneExtended extends JTabbedPane {
         }
 
         // For JTabbedPane.SCROLL_TAB_LAYOUT, ensure that selected index is visible.
-        if (this.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT) {
-            // Use non-native method scrollTabToVisible from AveBasicTabbedPaneUI.
-            ((MetalTabbedPaneUIDecorator) this.getUI()).scrollTabToVisible(index);
-
-            // Redo Layout to adapt to changes due to scrolling.
-            this.doLayout();
+        // During a batch update this is done once by endUpdate().
+        if (this.updateDepth == 0 && this.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT) {
+            this.scheduleSelectedTabScroll();
+        }
+        if (tabbedPaneMetrics != null) {
+            tabbedPaneMetrics.record(TabbedPaneMetrics.Operation.SET_SELECTED_INDEX, start);
         }
     }
     
+    private void scheduleSelectedTabScroll() {
+        this.selectedTabScrollPending = true;
+        this.queueSelectedTabScroll();
+    }
+
+    private void queueSelectedTabScroll() {
+        // One scroll is queued until it runs, it scrolls to the tab selected by then.
+        if (!this.selectedTabScrollQueued) {
+            this.selectedTabScrollQueued = true;
+            SwingUtilities.invokeLater(() -> {
+                this.selectedTabScrollQueued = false;
+                // A batch update scrolls when it ends.
+                if (this.updateDepth == 0) {
+                    this.scrollSelectedTabToVisible();
+                }
+            });
+        }
+    }
+
     /**
-     * There are lots of additional calls to invallidate because of the change of layouts in {@code MetalTabbedPaneUIDecorator}'s runWithOriginalLayoutManager method.
-     * To avoid uncecessary validation of TabbedPane's children these calls are skiped.
+     * Scrolls the selected tab into view if this is pending. Scrolling needs
+     * the laid out tabs, it is kept pending until the tabbed pane has a size.
      */
+    private void scrollSelectedTabToVisible() {
+        final MetalTabbedPaneUIDecorator decorator = this.getMetalTabbedPaneUIDecorator();
+        if (!this.selectedTabScrollPending || decorator == null || this.getWidth() == 0 || this.getHeight() == 0) {
+            return;
+        }
+        this.selectedTabScrollPending = false;
+        final int selectedIndex = this.getSelectedIndex();
+        if (selectedIndex >= 0 && this.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT) {
+            if (!this.isValid()) {
+                this.validate();
+            }
+            decorator.scrollTabToVisible(selectedIndex);
+            decorator.layoutHiddenTabsNavigation();
+        }
+    }
+
     @Override
-    public void invalidate() {
-        if (!this.skipInvalidate) {
-            super.invalidate();
+    public void insertTab(final String title, final Icon icon, final Component component, final String tip, final int index) {
+        // Appending a tab does not shift the indices of existing tab components,
+        // unless JTabbedPane had to move an already added component.
+        final int tabCount = this.getTabCount();
+        this.removedIndexDuringInsert = -1;
+        this.structuralChangeDepth++;
+        try {
+            super.insertTab(title, icon, component, tip, index);
+        } finally {
+            this.structuralChangeDepth--;
+        }
+        if (index != tabCount || this.getTabCount() != tabCount + 1) {
+            this.tabComponentIndicesValid = false;
+        }
+        // JTabbedPane removes the tab of an already added component first.
+        final int newIndex = this.removedIndexDuringInsert != -1 && index > this.removedIndexDuringInsert ? index - 1 : index;
+        this.tabListModel.tabInserted(newIndex);
+        if (this.closeActions != null) {
+            this.closeActions.add(newIndex, null);
         }
+        final MetalTabbedPaneUIDecorator decorator = this.getMetalTabbedPaneUIDecorator();
+        if (decorator != null) {
+            decorator.tabInserted(newIndex);
+        }
+    }
+
+    /**
+     * Adds a tab whose content is created by the given supplier when the tab
+     * is selected for the first time. Until then a lightweight placeholder is
+     * added as content of the tab.
+     *
+     * @param title the title to be displayed in this tab
+     * @param contentSupplier creates the content of the tab on first selection
+     */
+    public void addLazyTab(final String title, final Supplier<? extends Component> contentSupplier) {
+        this.insertLazyTab(title, null, new LazyTabPlaceholder(), contentSupplier, null, this.getTabCount());
     }
 
-    public void setSkipNextInvalidate(boolean skipNextInvalidate) {
-        if (this.skipInvalidate != skipNextInvalidate) {
-            this.skipInvalidate = skipNextInvalidate;
+    /**
+     * Inserts a tab whose content is created by the given supplier when the
+     * tab is selected for the first time. Until then the given placeholder is
+     * the content of the tab, it is replaced by the created component. A
+     * supplier returning {@code null} makes the selection of the tab throw a
+     * {@code NullPointerException}.
+     *
+     * @param title the title to be displayed in this tab
+     * @param icon the icon to be displayed in this tab
+     * @param placeholder the component shown until the content is created
+     * @param contentSupplier creates the content of the tab on first selection
+     * @param tip the tooltip to be displayed for this tab
+     * @param index the position to insert this new tab
+     */
+    public void insertLazyTab(final String title, final Icon icon, final Component placeholder,
+            final Supplier<? extends Component> contentSupplier, final String tip, final int index) {
+        if (placeholder == null) {
+            throw new NullPointerException("Argument \'Placeholder\' must not be null.");
+        }
+        if (contentSupplier == null) {
+            throw new NullPointerException("Argument \'ContentSupplier\' must not be null.");
         }
+        if (this.lazyContents == null) {
+            this.lazyContents = new IdentityHashMap<>();
+        }
+        // Register first, inserting the first tab selects and thus creates it.
+        this.lazyContents.put(placeholder, contentSupplier);
+        this.insertTab(title, icon, placeholder, tip, index);
     }
 
     /**
-     * Toggles the tab layout policy between {@code JTabbedPane.WRAP_TAB_LAYOUT}
-     * and {@code JTabbedPane.SCROLL_TAB_LAYOUT}.
+     * Adds a tab whose content is loaded in the background when the tab is
+     * selected for the first time, see
+     * {@link #insertAsyncTab(String, Icon, Component, Supplier, Function, String, int)}.
+     * Until then an indeterminate progress bar is shown, which is replaced by
+     * the failure and a button to retry if the load fails.
+     *
+     * @param <T> the type of the loaded data
+     * @param title the title to be displayed in this tab
+     * @param loader loads the data of the content on the content executor
+     * @param contentFactory creates the content from the loaded data on the
+     * event dispatch thread
      */
-    public void toggleTabLayoutPolicy() {
-        if (this.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT) {
-            this.setTabLayoutPolicy(JTabbedPane.WRAP_TAB_LAYOUT);
+    public <T> void addAsyncTab(final String title, final Supplier<? extends T> loader,
+            final Function<? super T, ? extends Component> contentFactory) {
+        this.insertAsyncTab(title, null, createAsyncTabPlaceholder(), loader, contentFactory, null, this.getTabCount());
+    }
+
+    /**
+     * Inserts a tab whose content is loaded in the background when the tab
+     * is selected for the first time, so the selection does not block the
+     * event dispatch thread. The loader runs on the content executor, see
+     * {@link #setContentExecutor(Executor)}, then the content is created
+     * from the loaded data on the event dispatch thread and replaces the
+     * placeholder. If the tab is removed or its placeholder replaced before,
+     * the load is cancelled and its result abandoned. A failed load keeps
+     * the placeholder and calls
+     * {@link #asyncTabContentFailed(int, Component, Throwable)}, it is
+     * started again by {@link #retryTabContent(int)} or the next selection.
+     *
+     * The contents of async tabs are not released by a
+     * {@link TabContentCache}.
+     *
+     * @param <T> the type of the loaded data
+     * @param title the title to be displayed in this tab
+     * @param icon the icon to be displayed in this tab
+     * @param placeholder the component shown until the content is loaded
+     * @param loader loads the data of the content on the content executor
+     * @param contentFactory creates the content from the loaded data on the
+     * event dispatch thread
+     * @param tip the tooltip to be displayed for this tab
+     * @param index the position to insert this new tab
+     */
+    public <T> void insertAsyncTab(final String title, final Icon icon, final Component placeholder,
+            final Supplier<? extends T> loader, final Function<? super T, ? extends Component> contentFactory,
+            final String tip, final int index) {
+        if (placeholder == null) {
+            throw new NullPointerException("Argument \'Placeholder\' must not be null.");
+        }
+        if (loader == null) {
+            throw new NullPointerException("Argument \'Loader\' must not be null.");
+        }
+        if (contentFactory == null) {
+            throw new NullPointerException("Argument \'ContentFactory\' must not be null.");
+        }
+        if (this.asyncContents == null) {
+            this.asyncContents = new IdentityHashMap<>();
+        }
+        // Register first, inserting the first tab selects and thus loads it.
+        this.asyncContents.put(placeholder, new AsyncTabContent<>(this, placeholder, loader, contentFactory));
+        this.insertTab(title, icon, placeholder, tip, index);
+    }
+
+    /**
+     * Returns the future of the content of an async tab. It is completed on
+     * the event dispatch thread, after the content has replaced the
+     * placeholder.
+     *
+     * @param index the index of the tab
+     * @return the future of the current or last load, or {@code null} if the
+     * tab is not an async tab showing its placeholder, or has not been
+     * selected yet.
+     */
+    public CompletableFuture<Component> getTabContentFuture(final int index) {
+        final AsyncTabContent<?> asyncContent = this.asyncContents != null
+                ? this.asyncContents.get(this.getComponentAt(index)) : null;
+        return asyncContent != null ? asyncContent.getFuture() : null;
+    }
+
+    /**
+     * Starts loading the content of an async tab again after its last load
+     * has failed.
+     *
+     * @param index the index of the tab
+     * @return {@code true} if loading has been started again, {@code false}
+     * if the tab is not an async tab showing its placeholder, or its last
+     * load has not failed.
+     */
+    public boolean retryTabContent(final int index) {
+        final Component placeholder = this.getComponentAt(index);
+        final AsyncTabContent<?> asyncContent = this.asyncContents != null ? this.asyncContents.get(placeholder) : null;
+        if (asyncContent == null || asyncContent.getFuture() == null || !asyncContent.getFuture().isCompletedExceptionally()) {
+            return false;
+        }
+        this.loadTabContent(placeholder, asyncContent);
+        return true;
+    }
+
+    private void loadTabContent(final Component placeholder, final AsyncTabContent<?> asyncContent) {
+        final CompletableFuture<Component> future = asyncContent.getFuture();
+        if (future != null && future.isCompletedExceptionally() && placeholder instanceof AsyncTabPlaceholder) {
+            ((AsyncTabPlaceholder) placeholder).showProgress();
+        }
+        asyncContent.load(this.getContentExecutor());
+    }
+
+    /**
+     * Called on the event dispatch thread when loading the content of an
+     * async tab has failed. The default placeholder of
+     * {@link #addAsyncTab(String, Supplier, Function)} shows the failure and
+     * a button to retry, other placeholders are left unchanged. Override to
+     * report the failure, e.g. in a custom placeholder.
+     *
+     * @param index the index of the tab
+     * @param placeholder the placeholder still shown by the tab
+     * @param failure the exception thrown by the loader, the content factory
+     * or the content executor
+     */
+    protected void asyncTabContentFailed(final int index, final Component placeholder, final Throwable failure) {
+        if (placeholder instanceof AsyncTabPlaceholder) {
+            ((AsyncTabPlaceholder) placeholder).showFailure(failure, () -> {
+                final int placeholderIndex = this.indexOfComponent(placeholder);
+                if (placeholderIndex >= 0) {
+                    this.retryTabContent(placeholderIndex);
+                }
+            });
+        }
+    }
+
+    /**
+     * Sets the executor loading the contents of async tabs.
+     *
+     * @param contentExecutor the executor, or {@code null} for the default,
+     * which runs each load on a virtual thread if the JDK supports them, or
+     * else on a pooled daemon thread.
+     */
+    public void setContentExecutor(final Executor contentExecutor) {
+        this.contentExecutor = contentExecutor;
+    }
+
+    /**
+     * @return the executor loading the contents of async tabs.
+     */
+    public Executor getContentExecutor() {
+        return this.contentExecutor != null ? this.contentExecutor : DefaultContentExecutor.INSTANCE;
+    }
+
+    /**
+     * Returns whether the content of the tab at the given index has been
+     * created, which is always the case for tabs not added as lazy or async
+     * tabs.
+     *
+     * @param index the index of the tab
+     * @return {@code false} if the tab still shows its placeholder.
+     */
+    public boolean isTabContentCreated(final int index) {
+        final Component component = this.getComponentAt(index);
+        return (this.lazyContents == null || !this.lazyContents.containsKey(component))
+                && (this.asyncContents == null || !this.asyncContents.containsKey(component));
+    }
+
+    /**
+     * Sets a cache bounding the number or size of the created contents of
+     * lazy tabs. Contents created before the cache has been set are not
+     * released by the cache.
+     *
+     * @param contentCache the cache, or {@code null} to keep all created
+     * contents.
+     */
+    public void setContentCache(final TabContentCache contentCache) {
+        if (contentCache != null) {
+            contentCache.install(this);
+        }
+        if (this.contentCache != null && this.contentCache != contentCache) {
+            this.contentCache.uninstall();
+        }
+        this.contentCache = contentCache;
+    }
+
+    /**
+     * @return the cache of the created contents of lazy tabs, or {@code null}.
+     */
+    public TabContentCache getContentCache() {
+        return this.contentCache;
+    }
+
+    /**
+     * Sets a cache of rendered tab images, used by the
+     * {@code MetalTabbedPaneUIDecorator} to draw unchanged tabs by copying
+     * their image.
+     *
+     * @param tabImageCache the cache, or {@code null} to paint all tabs.
+     */
+    public void setTabImageCache(final TabImageCache tabImageCache) {
+        this.tabImageCache = tabImageCache;
+        this.repaint();
+    }
+
+    /**
+     * @return the cache of rendered tab images, or {@code null}.
+     */
+    public TabImageCache getTabImageCache() {
+        return this.tabImageCache;
+    }
+
+    /**
+     * Replaces the placeholder of the selected tab by the content created by
+     * its supplier, or starts loading the content of an async tab.
+     */
+    private void createSelectedTabContent() {
+        if (this.lazyContents == null && this.asyncContents == null) {
+            return;
+        }
+        final int selectedIndex = this.getSelectedIndex();
+        if (selectedIndex < 0) {
+            return;
+        }
+        final Component selectedComponent = this.getComponentAt(selectedIndex);
+        if (this.asyncContents != null) {
+            final AsyncTabContent<?> asyncContent = this.asyncContents.get(selectedComponent);
+            if (asyncContent != null) {
+                this.loadTabContent(selectedComponent, asyncContent);
+                return;
+            }
+        }
+        if (this.lazyContents == null) {
+            return;
+        }
+        final Supplier<? extends Component> contentSupplier = this.lazyContents.remove(selectedComponent);
+        if (contentSupplier == null) {
+            // The content has been created already, or the tab is no lazy tab.
+            if (this.contentCache != null) {
+                this.contentCache.contentSelected(selectedComponent);
+            }
+            return;
+        }
+        final Component placeholder = selectedComponent;
+        final Component content = this.contentCache != null
+                ? this.contentCache.obtainContent(selectedIndex, placeholder, contentSupplier)
+                : contentSupplier.get();
+        if (content == null) {
+            throw new NullPointerException("Content supplier of tab " + selectedIndex + " returned null.");
+        }
+        super.setComponentAt(selectedIndex, content);
+        if (this.contentCache != null) {
+            this.contentCache.contentCreated(placeholder, contentSupplier, content);
+        }
+    }
+
+    /**
+     * Shows the placeholder of a lazy tab again, called by the
+     * {@link TabContentCache} when it releases the content of the tab.
+     */
+    void releaseTabContent(final int index, final Component placeholder, final Supplier<? extends Component> contentSupplier) {
+        this.lazyContents.put(placeholder, contentSupplier);
+        super.setComponentAt(index, placeholder);
+    }
+
+    /**
+     * Replaces the placeholder of an async tab by its loaded content, called
+     * by the {@link AsyncTabContent} on the event dispatch thread.
+     */
+    void asyncTabContentCreated(final Component placeholder, final Component content) {
+        this.asyncContents.remove(placeholder);
+        final int index = this.indexOfComponent(placeholder);
+        if (index >= 0) {
+            super.setComponentAt(index, content);
+        }
+    }
+
+    /**
+     * Reports a failed load of an async tab, called by the
+     * {@link AsyncTabContent} on the event dispatch thread.
+     */
+    void asyncTabContentFailed(final Component placeholder, final Throwable failure) {
+        final int index = this.indexOfComponent(placeholder);
+        if (index >= 0) {
+            this.asyncTabContentFailed(index, placeholder, failure);
+        }
+    }
+
+    @Override
+    public void setComponentAt(final int index, final Component component) {
+        // A placeholder replaced by the application is not created anymore.
+        final Component oldComponent = this.getComponentAt(index);
+        if (oldComponent != component) {
+            this.forgetLazyContent(oldComponent);
+        }
+        super.setComponentAt(index, component);
+    }
+
+    private void forgetLazyContent(final Component component) {
+        if (this.lazyContents != null) {
+            this.lazyContents.remove(component);
+        }
+        if (this.asyncContents != null) {
+            final AsyncTabContent<?> asyncContent = this.asyncContents.remove(component);
+            if (asyncContent != null) {
+                asyncContent.cancel();
+            }
+        }
+        if (this.contentCache != null) {
+            this.contentCache.componentRemoved(component);
+        }
+    }
+
+    @Override
+    public void removeTabAt(final int index) {
+        // Removing the last tab does not shift the indices of other tab components.
+        final boolean last = index == this.getTabCount() - 1;
+        final String title = this.getTitleAt(index);
+        this.forgetLazyContent(this.getComponentAt(index));
+        this.structuralChangeDepth++;
+        try {
+            super.removeTabAt(index);
+        } finally {
+            this.structuralChangeDepth--;
+        }
+        if (!last) {
+            this.tabComponentIndicesValid = false;
+        }
+        this.removedIndexDuringInsert = index;
+        this.tabListModel.tabRemoved(index, title);
+        if (this.closeActions != null) {
+            this.closeActions.remove(index);
+        }
+        final MetalTabbedPaneUIDecorator decorator = this.getMetalTabbedPaneUIDecorator();
+        if (decorator != null) {
+            decorator.tabRemoved(index);
+        }
+    }
+
+    @Override
+    public void setTitleAt(final int index, final String title) {
+        final String oldTitle = this.getTitleAt(index);
+        final Component tabComponent = this.getTabComponentAt(index);
+        if (oldTitle != title && tabComponent instanceof ClosableTabComponent) {
+            ((ClosableTabComponent) tabComponent).titleChanged();
+        }
+        super.setTitleAt(index, title);
+        if (oldTitle != title) {
+            this.tabListModel.tabTitleChanged(index, oldTitle);
+            this.tabChanged(index);
+        }
+    }
+
+    @Override
+    public void setIconAt(final int index, final Icon icon) {
+        super.setIconAt(index, icon);
+        this.tabChanged(index);
+    }
+
+    @Override
+    public void setDisabledIconAt(final int index, final Icon disabledIcon) {
+        super.setDisabledIconAt(index, disabledIcon);
+        this.tabChanged(index);
+    }
+
+    @Override
+    public void setEnabledAt(final int index, final boolean enabled) {
+        super.setEnabledAt(index, enabled);
+        this.tabChanged(index);
+    }
+
+    /**
+     * Lets the {@code MetalTabbedPaneUIDecorator} measure a changed tab again.
+     */
+    private void tabChanged(final int index) {
+        final MetalTabbedPaneUIDecorator decorator = this.getMetalTabbedPaneUIDecorator();
+        if (decorator != null) {
+            decorator.tabChanged(index);
+        }
+    }
+
+    private MetalTabbedPaneUIDecorator getMetalTabbedPaneUIDecorator() {
+        return this.getUI() instanceof MetalTabbedPaneUIDecorator ? (MetalTabbedPaneUIDecorator) this.getUI() : null;
+    }
+
+    /**
+     * Returns a live {@code ListModel} of the tab titles, which is updated
+     * incrementally when tabs are inserted, removed or retitled.
+     *
+     * @return the model of the tab titles.
+     */
+    public TabListModel getTabListModel() {
+        return this.tabListModel;
+    }
+
+    @Override
+    public void removeAll() {
+        this.beginUpdate();
+        try {
+            super.removeAll();
+        } finally {
+            this.endUpdate();
+        }
+        if (this.tabComponentIndices == null) {
+            this.tabComponentIndices = new IdentityHashMap<>();
         } else {
-            this.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+            this.tabComponentIndices.clear();
+        }
+        this.tabComponentIndicesValid = true;
+        this.tabComponentPool.addAll(this.realizedTabComponents);
+        this.realizedTabComponents.clear();
+    }
+
+    @Override
+    public void setTabComponentAt(final int index, final Component component) {
+        final Component oldComponent = this.getTabComponentAt(index);
+        super.setTabComponentAt(index, component);
+        if (oldComponent != component) {
+            this.tabChanged(index);
+            // removeTabAt() and the release of virtualized tab components end up here.
+            if (oldComponent instanceof ClosableTabComponent) {
+                this.removeTabLayoutPolicyListener((ClosableTabComponent) oldComponent);
+            }
+            if (component instanceof ClosableTabComponent
+                    && ((ClosableTabComponent) component).getTabbedPane() == this
+                    && this.tabLayoutPolicyListeners.add((ClosableTabComponent) component)) {
+                // A reused tab component has missed the changes while it was released.
+                ((ClosableTabComponent) component).tabLayoutPolicyChanged(this.getTabLayoutPolicy());
+            }
+        }
+        if (this.tabComponentIndicesValid) {
+            if (oldComponent != null && oldComponent != component) {
+                this.tabComponentIndices.remove(oldComponent);
+            }
+            if (component != null) {
+                this.tabComponentIndices.put(component, index);
+            }
+        }
+    }
+
+    /**
+     * Returns the index of the tab for the specified tab component in constant
+     * time. The lookup is called for every tab on each paint by
+     * {@code ClosableTabComponent}, therefore an identity-keyed index is kept
+     * and rebuilt lazily after tabs have been inserted or removed in the middle.
+     *
+     * @param tabComponent the tab component for the tab
+     * @return the tab which matches this tab component, or -1 if there is no
+     * tab for this tab component
+     */
+    @Override
+    public int indexOfTabComponent(final Component tabComponent) {
+        // The index is not consistent while JTabbedPane changes its pages.
+        if (tabComponent == null || this.structuralChangeDepth > 0) {
+            return super.indexOfTabComponent(tabComponent);
+        }
+        if (!this.tabComponentIndicesValid) {
+            this.rebuildTabComponentIndices();
+        }
+        final Integer index = this.tabComponentIndices.get(tabComponent);
+        return index != null ? index : -1;
+    }
+
+    private void rebuildTabComponentIndices() {
+        if (this.tabComponentIndices == null) {
+            this.tabComponentIndices = new IdentityHashMap<>();
+        } else {
+            this.tabComponentIndices.clear();
+        }
+        for (int i = 0; i < this.getTabCount(); i++) {
+            final Component c = this.getTabComponentAt(i);
+            if (c != null) {
+                this.tabComponentIndices.put(c, i);
+            }
+        }
+        this.tabComponentIndicesValid = true;
+    }
+
+    /**
+     * Starts a batch update. Until the matching {@link #endUpdate()} the tabbed
+     * pane neither invalidates, lays out nor repaints itself and change events
+     * are not fired. Batch updates may be nested.
+     */
+    public void beginUpdate() {
+        this.updateDepth++;
+    }
+
+    /**
+     * Ends a batch update started by {@link #beginUpdate()}. When the outermost
+     * batch ends, a pending change event is fired and the tabbed pane is laid
+     * out and repainted once.
+     *
+     * @throws IllegalStateException if there is no batch update in progress.
+     */
+    public void endUpdate() {
+        if (this.updateDepth == 0) {
+            throw new IllegalStateException("endUpdate() called without matching beginUpdate().");
+        }
+        if (--this.updateDepth > 0) {
+            return;
+        }
+        this.batchTabBoundsValid = false;
+        super.invalidate();
+        if (this.tabComponentsChangePending) {
+            // The UI was not told about the changed tab components.
+            this.tabComponentsChangePending = false;
+            this.syncTabComponents();
+        }
+        if (this.stateChangePending) {
+            this.stateChangePending = false;
+            this.fireStateChanged();
+        }
+        this.revalidate();
+        this.repaint();
+
+        // Scroll the selected tab into view, as setSelectedIndex skipped it.
+        if (this.getSelectedIndex() >= 0 && this.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT) {
+            this.selectedTabScrollPending = true;
+            this.scrollSelectedTabToVisible();
+        }
+    }
+
+    /**
+     * Brings the tab container of the UI in line with the tab components once
+     * after a batch update, instead of notifying the UI about each of them.
+     * Unused tab components are removed and new ones added, so the UI keeps
+     * its viewport, buttons, scroll position, rollover and focus.
+     */
+    private void syncTabComponents() {
+        final int tabCount = this.getTabCount();
+        final Container tabContainer = this.findTabContainer();
+        if (tabContainer == null) {
+            // The UI creates its tab container with all tab components on the first notification.
+            for (int i = 0; i < tabCount; i++) {
+                if (this.getTabComponentAt(i) != null) {
+                    this.firePropertyChange("indexForTabComponent", -1, i);
+                    return;
+                }
+            }
+            return;
+        }
+        for (final Component component : tabContainer.getComponents()) {
+            if (!(component instanceof UIResource) && this.indexOfTabComponent(component) < 0) {
+                tabContainer.remove(component);
+            }
+        }
+        for (int i = 0; i < tabCount; i++) {
+            final Component tabComponent = this.getTabComponentAt(i);
+            // Adding a contained tab component again would detach it from its tab.
+            if (tabComponent != null && tabComponent.getParent() != tabContainer) {
+                tabContainer.add(tabComponent);
+            }
+        }
+    }
+
+    /**
+     * Returns the tab container of the {@code BasicTabbedPaneUI}, a child of
+     * the tabbed pane in wrap tab layout or of the view of the tab viewport in
+     * scroll tab layout.
+     *
+     * @return the tab container, or {@code null} if the UI has none.
+     */
+    private Container findTabContainer() {
+        for (final Component component : this.getComponents()) {
+            if (isTabContainer(component)) {
+                return (Container) component;
+            }
+            if (component instanceof JViewport && component instanceof UIResource
+                    && ((JViewport) component).getView() instanceof Container) {
+                for (final Component child : ((Container) ((JViewport) component).getView()).getComponents()) {
+                    if (isTabContainer(child)) {
+                        return (Container) child;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTabContainer(final Component component) {
+        return component instanceof UIResource && component.getClass().getName().equals(TAB_CONTAINER_CLASS_NAME);
+    }
+
+    /**
+     * Returns the index of the tab at the leading edge of the tab area in
+     * {@code SCROLL_TAB_LAYOUT}.
+     *
+     * @return the leading tab index, 0 for other tab layout policies or
+     * look and feels.
+     */
+    public int getLeadingTabIndex() {
+        final MetalTabbedPaneUIDecorator decorator = this.getMetalTabbedPaneUIDecorator();
+        return decorator != null ? decorator.getLeadingTabIndex() : 0;
+    }
+
+    /**
+     * Scrolls the tab area in {@code SCROLL_TAB_LAYOUT}, so that the tab at
+     * the given index is at its leading edge. Before the tabbed pane has been
+     * laid out, or during a batch update, the tab area is scrolled on the
+     * next layout. Has no effect for other tab layout policies, a pending
+     * leading tab is dropped when the policy changes.
+     *
+     * @param leadingTabIndex the index of the tab
+     */
+    public void setLeadingTabIndex(final int leadingTabIndex) {
+        this.checkTabIndex(leadingTabIndex);
+        if (this.getTabLayoutPolicy() != JTabbedPane.SCROLL_TAB_LAYOUT) {
+            this.pendingLeadingTabIndex = -1;
+            return;
+        }
+        this.pendingLeadingTabIndex = leadingTabIndex;
+        // The leading tab asked for last is not scrolled away to the selected tab.
+        this.selectedTabScrollPending = false;
+        if (this.updateDepth == 0 && this.getWidth() > 0 && this.getHeight() > 0) {
+            this.doLayout();
+        }
+    }
+
+    /**
+     * Returns whether a batch update started by {@link #beginUpdate()} is in
+     * progress.
+     *
+     * @return {@code true} while a batch update is in progress.
+     */
+    public boolean isUpdating() {
+        return this.updateDepth > 0;
+    }
+
+    /**
+     * Appends all given tabs in one batch update, so that the tabbed pane is
+     * laid out and repainted only once. The tabs are iterated once, so they
+     * may be produced while iterating.
+     *
+     * @param tabs the tabs to be appended.
+     */
+    public void addTabs(final Iterable<? extends TabSpec> tabs) {
+        this.beginUpdate();
+        try {
+            for (final TabSpec tab : tabs) {
+                final int index = this.getTabCount();
+                if (tab.getContentSupplier() != null) {
+                    this.insertLazyTab(tab.getTitle(), tab.getIcon(), new LazyTabPlaceholder(),
+                            tab.getContentSupplier(), tab.getTip(), index);
+                } else {
+                    this.insertTab(tab.getTitle(), tab.getIcon(), tab.getComponent(), tab.getTip(), index);
+                }
+                if (tab.getCloseAction() != null) {
+                    this.setCloseActionAt(index, tab.getCloseAction());
+                }
+                if (tab.getForeground() != null) {
+                    this.setForegroundAt(index, tab.getForeground());
+                }
+                if (tab.getBackground() != null) {
+                    this.setBackgroundAt(index, tab.getBackground());
+                }
+            }
+        } finally {
+            this.endUpdate();
+        }
+    }
+
+    /**
+     * Removes all tabs the predicate matches in one batch update, so the
+     * selection is updated once and the tabbed pane is laid out and repainted
+     * once. The predicate is tested for all tabs before the first one is
+     * removed. If the selected tab is removed, the nearest remaining tab
+     * before it is selected, or else the nearest one after it.
+     *
+     * @param predicate tests the index of a tab, {@code true} to remove it.
+     * @return the number of removed tabs.
+     */
+    public int removeTabs(final IntPredicate predicate) {
+        if (predicate == null) {
+            throw new NullPointerException("Argument \'Predicate\' must not be null.");
+        }
+        final int tabCount = this.getTabCount();
+        final BitSet removedTabs = new BitSet(tabCount);
+        for (int i = 0; i < tabCount; i++) {
+            if (predicate.test(i)) {
+                removedTabs.set(i);
+            }
+        }
+        return this.removeTabs(removedTabs, tabCount);
+    }
+
+    /**
+     * Removes all tabs but the given one in one batch update, see
+     * {@link #removeTabs(IntPredicate)}. All tabs are removed by
+     * {@link #removeAll()}.
+     *
+     * @param index the index of the tab to be kept.
+     * @return the number of removed tabs.
+     */
+    public int removeOtherTabs(final int index) {
+        this.checkTabIndex(index);
+        final int tabCount = this.getTabCount();
+        final BitSet removedTabs = new BitSet(tabCount);
+        removedTabs.set(0, tabCount);
+        removedTabs.clear(index);
+        return this.removeTabs(removedTabs, tabCount);
+    }
+
+    /**
+     * Removes all tabs after the given one in one batch update, see
+     * {@link #removeTabs(IntPredicate)}.
+     *
+     * @param index the index of the last tab to be kept.
+     * @return the number of removed tabs.
+     */
+    public int removeTabsToTheRight(final int index) {
+        this.checkTabIndex(index);
+        final int tabCount = this.getTabCount();
+        final BitSet removedTabs = new BitSet(tabCount);
+        removedTabs.set(index + 1, tabCount);
+        return this.removeTabs(removedTabs, tabCount);
+    }
+
+    /**
+     * Removes all tabs before the given one in one batch update, see
+     * {@link #removeTabs(IntPredicate)}.
+     *
+     * @param index the index of the first tab to be kept.
+     * @return the number of removed tabs.
+     */
+    public int removeTabsToTheLeft(final int index) {
+        this.checkTabIndex(index);
+        final int tabCount = this.getTabCount();
+        final BitSet removedTabs = new BitSet(tabCount);
+        removedTabs.set(0, index);
+        return this.removeTabs(removedTabs, tabCount);
+    }
+
+    private int removeTabs(final BitSet removedTabs, final int tabCount) {
+        final int removedCount = removedTabs.cardinality();
+        if (removedCount == 0) {
+            return 0;
+        }
+        // The tab to be selected afterwards, by its index after the removal.
+        final int selectedIndex = this.getSelectedIndex();
+        int keptIndex = selectedIndex;
+        if (keptIndex >= 0 && removedTabs.get(keptIndex)) {
+            keptIndex = removedTabs.previousClearBit(selectedIndex);
+            if (keptIndex < 0) {
+                keptIndex = removedTabs.nextClearBit(selectedIndex);
+            }
+        }
+        final int newSelectedIndex = keptIndex >= 0 && keptIndex < tabCount
+                ? keptIndex - removedTabs.get(0, keptIndex).cardinality() : -1;
+
+        this.beginUpdate();
+        try {
+            // From the highest index down, so the indices to be removed do not shift.
+            for (int i = removedTabs.previousSetBit(tabCount - 1); i >= 0; i = removedTabs.previousSetBit(i - 1)) {
+                this.removeTabAt(i);
+            }
+            if (newSelectedIndex >= 0) {
+                this.setSelectedIndex(newSelectedIndex);
+            }
+        } finally {
+            this.endUpdate();
+        }
+        return removedCount;
+    }
+
+    private void checkTabIndex(final int index) {
+        if (index < 0 || index >= this.getTabCount()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Tab count: " + this.getTabCount());
+        }
+    }
+
+    @Override
+    protected void fireStateChanged() {
+        if (this.updateDepth > 0) {
+            // The selected tab is laid out differently, e.g. its run in wrap tab layout.
+            this.batchTabBoundsValid = false;
+            this.stateChangePending = true;
+            return;
+        }
+        // Lazy tabs are created right before they become visible.
+        this.createSelectedTabContent();
+        super.fireStateChanged();
+        // The MetalTabbedPaneUIDecorator leaves scrolling the selected tab into view to the tabbed pane.
+        if (this.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT) {
+            this.scheduleSelectedTabScroll();
+        }
+    }
+
+    /**
+     * During a batch update the UI is not notified about each changed tab
+     * component, because it rescans all tab components on every notification.
+     */
+    @Override
+    public void firePropertyChange(final String propertyName, final int oldValue, final int newValue) {
+        if (this.updateDepth > 0 && "indexForTabComponent".equals(propertyName)) {
+            this.tabComponentsChangePending = true;
+            return;
+        }
+        super.firePropertyChange(propertyName, oldValue, newValue);
+    }
+
+    /**
+     * Lays out the tabbed pane and lets the {@code MetalTabbedPaneUIDecorator}
+     * place its tab list button next to the scroll buttons.
+     */
+    @Override
+    public void doLayout() {
+        if (this.updateDepth == 0) {
+            final TabbedPaneMetrics tabbedPaneMetrics = this.metrics;
+            final long start = tabbedPaneMetrics != null ? System.nanoTime() : 0;
+            super.doLayout();
+            if (this.getTabLayoutPolicy() != JTabbedPane.SCROLL_TAB_LAYOUT) {
+                this.pendingLeadingTabIndex = -1;
+            }
+            if (this.getUI() instanceof MetalTabbedPaneUIDecorator) {
+                ((MetalTabbedPaneUIDecorator) this.getUI()).layoutHiddenTabsNavigation();
+                if (this.pendingLeadingTabIndex >= 0 && this.pendingLeadingTabIndex < this.getTabCount()
+                        && ((MetalTabbedPaneUIDecorator) this.getUI()).setLeadingTabIndex(this.pendingLeadingTabIndex)) {
+                    this.pendingLeadingTabIndex = -1;
+                    ((MetalTabbedPaneUIDecorator) this.getUI()).layoutHiddenTabsNavigation();
+                }
+                // A scroll kept pending until the tabbed pane had a size.
+                if (this.selectedTabScrollPending && this.getWidth() > 0 && this.getHeight() > 0) {
+                    this.queueSelectedTabScroll();
+                }
+                if (((MetalTabbedPaneUIDecorator) this.getUI()).realizeVisibleTabComponents()) {
+                    // Place the realized tab components right away instead of on the next validation.
+                    super.doLayout();
+                    ((MetalTabbedPaneUIDecorator) this.getUI()).layoutHiddenTabsNavigation();
+                }
+            }
+            if (tabbedPaneMetrics != null) {
+                tabbedPaneMetrics.record(TabbedPaneMetrics.Operation.LAYOUT, start);
+            }
+        }
+    }
+
+    /**
+     * Returns the tab bounds. During a batch update the tabs are not laid out
+     * before it ends, so their bounds are calculated first, once per change,
+     * without laying out the components of the tabbed pane.
+     */
+    @Override
+    public Rectangle getBoundsAt(final int index) {
+        if (this.updateDepth > 0 && !this.batchTabBoundsValid) {
+            this.checkTabIndex(index);
+            if (this.getLayout() instanceof BasicTabbedPaneUI.TabbedPaneLayout) {
+                ((BasicTabbedPaneUI.TabbedPaneLayout) this.getLayout()).calculateLayoutInfo();
+                this.batchTabBoundsValid = true;
+            }
+        }
+        return super.getBoundsAt(index);
+    }
+
+    @Override
+    public void revalidate() {
+        if (this.updateDepth > 0) {
+            this.batchTabBoundsValid = false;
+            return;
+        }
+        // The MetalTabbedPaneUIDecorator has laid out the tabbed pane for a selection change already.
+        final MetalTabbedPaneUIDecorator decorator = this.getMetalTabbedPaneUIDecorator();
+        if (decorator == null || !decorator.isRevalidateSuppressed()) {
+            super.revalidate();
+        }
+    }
+
+    @Override
+    public void repaint(final long tm, final int x, final int y, final int width, final int height) {
+        if (this.updateDepth > 0) {
+            return;
+        }
+        // The MetalTabbedPaneUIDecorator repaints the damaged regions of a selection change only.
+        if (x <= 0 && y <= 0 && width >= this.getWidth() && height >= this.getHeight()) {
+            final MetalTabbedPaneUIDecorator decorator = this.getMetalTabbedPaneUIDecorator();
+            if (decorator != null && decorator.isFullRepaintSuppressed()) {
+                return;
+            }
+        }
+        super.repaint(tm, x, y, width, height);
+    }
+
+    /**
+     * During a batch update all calls to invalidate are skipped, the tabbed
+     * pane is invalidated once by {@link #endUpdate()}.
+     */
+    @Override
+    public void invalidate() {
+        if (this.updateDepth == 0) {
+            super.invalidate();
+            return;
+        }
+        this.batchTabBoundsValid = false;
+        if (this.metrics != null) {
+            this.metrics.invalidationSuppressed();
+        }
+    }
+
+    /**
+     * Enables or disables the recording of {@link TabbedPaneMetrics}. When
+     * enabled, the metrics are registered as MXBean at the platform MBean
+     * server with the name
+     * {@code javax.swing.extended:type=JTabbedPaneExtended,name=<name>,id=<id>},
+     * where name is the component name or the identity hash code of the
+     * tabbed pane and id is unique among the registered tabbed panes. The
+     * MXBean is only registered while the tabbed pane is displayable, the
+     * metrics are kept while it is not.
+     *
+     * @param enabled {@code true} to record and register the metrics.
+     * @throws IllegalStateException if the MXBean cannot be registered or
+     * unregistered.
+     */
+    public void setMetricsEnabled(final boolean enabled) {
+        if (enabled == (this.metrics != null)) {
+            return;
+        }
+        if (enabled) {
+            this.metrics = new TabbedPaneMetrics();
+            if (this.isDisplayable()) {
+                this.registerMetrics();
+            }
+        } else {
+            this.metrics = null;
+            this.unregisterMetrics();
+        }
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        if (this.metrics != null) {
+            this.registerMetrics();
+        }
+    }
+
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        // A registered MXBean would keep the removed tabbed pane reachable.
+        this.unregisterMetrics();
+    }
+
+    private void registerMetrics() {
+        if (this.metricsName != null) {
+            return;
+        }
+        final String name = this.getName() != null ? this.getName()
+                : Integer.toHexString(System.identityHashCode(this));
+        try {
+            final ObjectName objectName = new ObjectName("javax.swing.extended:type=JTabbedPaneExtended,name="
+                    + ObjectName.quote(name) + ",id=" + METRICS_IDS.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this.metrics, objectName);
+            this.metricsName = objectName;
+        } catch (final JMException exception) {
+            throw new IllegalStateException("Could not register the metrics of the tabbed pane.", exception);
+        }
+    }
+
+    private void unregisterMetrics() {
+        if (this.metricsName == null) {
+            return;
+        }
+        final ObjectName objectName = this.metricsName;
+        this.metricsName = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (final JMException exception) {
+            throw new IllegalStateException("Could not unregister the metrics of the tabbed pane.", exception);
+        }
+    }
+
+    /**
+     * @return the name of the registered metrics MXBean, or {@code null} if
+     * the metrics are not enabled or the tabbed pane is not displayable.
+     */
+    public ObjectName getMetricsName() {
+        return this.metricsName;
+    }
+
+    /**
+     * @return the metrics of the tabbed pane, or {@code null} if they are not
+     * enabled.
+     */
+    public TabbedPaneMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Makes a tab closable by a {@link ClosableTabComponent} calling the given
+     * action. While tab components are virtualized, the component is only
+     * realized when the tab is scrolled into view. While close buttons are
+     * painted, the tab gets no component at all.
+     *
+     * @param index the index of the tab.
+     * @param closeAction the {@code Action} to call when the close button is
+     * clicked, or {@code null} to remove the close button.
+     */
+    public void setCloseActionAt(final int index, final Action closeAction) {
+        if (this.closeActions == null) {
+            this.setTabComponentAt(index, closeAction != null ? new ClosableTabComponent(this, closeAction) : null);
+            return;
+        }
+        final Component tabComponent = this.getTabComponentAt(index);
+        if (tabComponent != null && this.realizedTabComponents.remove(tabComponent)) {
+            this.setTabComponentAt(index, null);
+            this.tabComponentPool.push((ClosableTabComponent) tabComponent);
+        }
+        this.closeActions.set(index, closeAction);
+        this.tabChanged(index);
+        this.revalidate();
+    }
+
+    /**
+     * Sets whether the {@link ClosableTabComponent}s are virtualized. In scroll
+     * tab layout a virtualized tab component is only realized, while its tab
+     * is inside the viewport or near to it. Components of tabs scrolled out of
+     * view are detached and reused for the tabs scrolled into view, so the
+     * number of components is bounded by the viewport size instead of the tab
+     * count. In wrap tab layout all tab components are realized.
+     *
+     * Enabling the virtualization turns the existing closable tab components
+     * of this tabbed pane into close actions. A tab component set by
+     * {@link #setTabComponentAt(int, Component)} is never detached, and
+     * {@link #getTabComponentAt(int)} returns {@code null} for tabs whose tab
+     * component is not realized.
+     *
+     * @param virtualized {@code true} to virtualize the tab components.
+     */
+    public void setTabComponentsVirtualized(final boolean virtualized) {
+        if (virtualized != this.tabComponentsVirtualized) {
+            this.tabComponentsVirtualized = virtualized;
+            this.updateCloseActions();
+        }
+    }
+
+    /**
+     * Sets whether the close buttons of closable tabs are painted by the
+     * {@code MetalTabbedPaneUIDecorator} instead of being components. A
+     * painted close button looks like the one of a
+     * {@link ClosableTabComponent}, but a tab takes no component, listener or
+     * layout manager, only its close action is kept. A click on the button
+     * calls the close action with a {@link TabCloseEvent}, which
+     * {@link RemoveTabAction} understands.
+     *
+     * Enabling painted close buttons turns the existing closable tab
+     * components of this tabbed pane into close actions, see
+     * {@link #setCloseActionAt(int, Action)}. It takes precedence over the
+     * virtualization of tab components.
+     *
+     * @param painted {@code true} to paint the close buttons.
+     */
+    public void setCloseButtonsPainted(final boolean painted) {
+        if (painted != this.closeButtonsPainted) {
+            this.closeButtonsPainted = painted;
+            this.updateCloseActions();
+        }
+    }
+
+    /**
+     * @return {@code true} if the close buttons are painted.
+     */
+    public boolean isCloseButtonsPainted() {
+        return this.closeButtonsPainted;
+    }
+
+    /**
+     * Enables or disables scrolling the tabs of {@code SCROLL_TAB_LAYOUT}
+     * pixel by pixel with the mouse wheel or trackpad, which is enabled by
+     * default. The wheel events of a display frame are applied at once, see
+     * {@code MetalTabbedPaneUIDecorator#scrollTabsBy(int)}.
+     *
+     * @param enabled {@code true} to scroll the tabs with the mouse wheel.
+     */
+    public void setWheelScrollingEnabled(final boolean enabled) {
+        this.wheelScrollingEnabled = enabled;
+    }
+
+    /**
+     * @return {@code true} if the tabs are scrolled with the mouse wheel.
+     */
+    public boolean isWheelScrollingEnabled() {
+        return this.wheelScrollingEnabled;
+    }
+
+    /**
+     * Sets whether the tabs snap to the nearest tab boundary once wheel
+     * scrolling stops, so that the leading tab is shown completely. Disabled
+     * by default.
+     *
+     * @param snap {@code true} to snap to the nearest tab boundary.
+     */
+    public void setSnapToTabBoundary(final boolean snap) {
+        this.snapToTabBoundary = snap;
+    }
+
+    /**
+     * @return {@code true} if the tabs snap to the nearest tab boundary once
+     * wheel scrolling stops.
+     */
+    public boolean isSnapToTabBoundary() {
+        return this.snapToTabBoundary;
+    }
+
+    /**
+     * Returns whether the tab has a close button painted by the
+     * {@code MetalTabbedPaneUIDecorator}.
+     *
+     * @param index the index of the tab.
+     * @return {@code true} if the close button of the tab is painted.
+     */
+    public boolean isCloseButtonPaintedAt(final int index) {
+        return this.closeButtonsPainted && index < this.closeActions.size()
+                && this.closeActions.get(index) != null && this.getTabComponentAt(index) == null;
+    }
+
+    /**
+     * Returns the close action of a tab, while tab components are virtualized
+     * or close buttons are painted.
+     *
+     * @param index the index of the tab.
+     * @return the close action, or {@code null} if the tab is not closable or
+     * its close action is kept by a {@link ClosableTabComponent}.
+     */
+    public Action getCloseActionAt(final int index) {
+        return this.closeActions != null ? this.closeActions.get(index) : null;
+    }
+
+    private void updateCloseActions() {
+        final int tabCount = this.getTabCount();
+        // Avoids that the UI rescans all tab components for every changed one.
+        this.beginUpdate();
+        try {
+            final boolean keepCloseActions = this.tabComponentsVirtualized || this.closeButtonsPainted;
+            if (keepCloseActions != (this.closeActions != null)) {
+                this.setTabComponentsVirtualizedImpl(keepCloseActions, tabCount);
+            }
+            if (this.closeButtonsPainted) {
+                // Release all realized tab components.
+                this.realizeTabComponents(0, -1);
+                this.tabComponentPool.clear();
+                this.dropMeasuringTabComponent();
+            }
+            if (this.closeActions != null) {
+                // Painted close buttons widen their tabs.
+                for (int i = 0; i < tabCount; i++) {
+                    if (this.closeActions.get(i) != null) {
+                        this.tabChanged(i);
+                    }
+                }
+            }
+            this.revalidate();
+            this.repaint();
+        } finally {
+            this.endUpdate();
+        }
+    }
+
+    private void setTabComponentsVirtualizedImpl(final boolean virtualized, final int tabCount) {
+        if (virtualized) {
+            this.closeActions = new ArrayList<>(Collections.nCopies(tabCount, (Action) null));
+            for (int i = 0; i < tabCount; i++) {
+                final Component tabComponent = this.getTabComponentAt(i);
+                if (tabComponent instanceof ClosableTabComponent
+                        && ((ClosableTabComponent) tabComponent).getTabbedPane() == this) {
+                    this.closeActions.set(i, ((ClosableTabComponent) tabComponent).getCloseAction());
+                    this.setTabComponentAt(i, null);
+                    this.tabComponentPool.push((ClosableTabComponent) tabComponent);
+                }
+            }
+        } else {
+            final List<Action> actions = this.closeActions;
+            this.closeActions = null;
+            for (int i = 0; i < tabCount; i++) {
+                if (actions.get(i) != null && this.getTabComponentAt(i) == null) {
+                    this.setTabComponentAt(i, new ClosableTabComponent(this, actions.get(i)));
+                }
+            }
+            this.realizedTabComponents.clear();
+            this.tabComponentPool.clear();
+            this.dropMeasuringTabComponent();
+        }
+    }
+
+    /**
+     * Drops the tab component measuring virtualized tab components. It is
+     * registered with the tab layout policy dispatcher like the tab
+     * components it stands for, but never added to a tab, so it is
+     * unregistered here.
+     */
+    private void dropMeasuringTabComponent() {
+        if (this.measuringTabComponent != null) {
+            this.removeTabLayoutPolicyListener(this.measuringTabComponent);
+            this.measuringTabComponent = null;
+        }
+    }
+
+    /**
+     * @return {@code true} if the tab components are virtualized.
+     */
+    public boolean isTabComponentsVirtualized() {
+        return this.tabComponentsVirtualized;
+    }
+
+    /**
+     * Returns whether the tab is closable by a virtualized tab component,
+     * which is currently not realized. The {@code MetalTabbedPaneUIDecorator}
+     * reserves the space of the component and paints neither title nor icon
+     * of such a tab.
+     *
+     * @param index the index of the tab.
+     * @return {@code true} if the tab component of the tab is not realized.
+     */
+    public boolean isTabComponentVirtual(final int index) {
+        return this.tabComponentsVirtualized && !this.closeButtonsPainted && index < this.closeActions.size()
+                && this.closeActions.get(index) != null && this.getTabComponentAt(index) == null;
+    }
+
+    /**
+     * @return the number of currently realized virtualized tab components.
+     */
+    public int getRealizedTabComponentCount() {
+        return this.realizedTabComponents.size();
+    }
+
+    /**
+     * Returns the preferred size the virtualized tab component of a tab will
+     * have when realized.
+     *
+     * @param index the index of the tab.
+     * @return the preferred size, or {@code null} if the tab component of the
+     * tab is not virtual.
+     */
+    public Dimension getVirtualTabComponentSize(final int index) {
+        if (!this.isTabComponentVirtual(index)) {
+            return null;
+        }
+        if (this.measuringTabComponent == null) {
+            this.measuringTabComponent = new ClosableTabComponent(this, this.closeActions.get(index));
+        }
+        return this.measuringTabComponent.getPreferredSize(this.getTitleAt(index));
+    }
+
+    /**
+     * Realizes the virtualized tab components of the given range of tabs and
+     * returns the components of all other tabs to the pool. Called by the
+     * {@code MetalTabbedPaneUIDecorator} after layout and scrolling.
+     *
+     * @param firstIndex the index of the first tab to be realized.
+     * @param lastIndex the index of the last tab to be realized.
+     * @return {@code true} if a tab component has been realized or released.
+     */
+    public boolean realizeTabComponents(final int firstIndex, final int lastIndex) {
+        if (this.closeActions == null) {
+            return false;
+        }
+        boolean changed = false;
+        for (final Iterator<ClosableTabComponent> it = this.realizedTabComponents.iterator(); it.hasNext();) {
+            final ClosableTabComponent tabComponent = it.next();
+            final int index = this.indexOfTabComponent(tabComponent);
+            if (index < firstIndex || index > lastIndex) {
+                it.remove();
+                if (index >= 0) {
+                    this.setTabComponentAt(index, null);
+                    changed = true;
+                }
+                this.tabComponentPool.push(tabComponent);
+            }
+        }
+        // Painted close buttons need no tab components.
+        final int last = this.closeButtonsPainted ? -1 : Math.min(lastIndex, this.getTabCount() - 1);
+        for (int i = Math.max(0, firstIndex); i <= last; i++) {
+            final Action closeAction = this.closeActions.get(i);
+            if (closeAction == null || this.getTabComponentAt(i) != null) {
+                continue;
+            }
+            ClosableTabComponent tabComponent = this.tabComponentPool.poll();
+            if (tabComponent == null) {
+                tabComponent = new ClosableTabComponent(this, closeAction);
+            } else {
+                tabComponent.setCloseAction(closeAction);
+            }
+            this.setTabComponentAt(i, tabComponent);
+            this.realizedTabComponents.add(tabComponent);
+            changed = true;
+        }
+        // Keep no more spare components than realized ones, e.g. after all have been realized in wrap tab layout.
+        while (this.tabComponentPool.size() > this.realizedTabComponents.size()) {
+            this.tabComponentPool.poll();
+        }
+        return changed;
+    }
+
+    /**
+     * Toggles the tab layout policy between {@code JTabbedPane.WRAP_TAB_LAYOUT}
+     * and {@code JTabbedPane.SCROLL_TAB_LAYOUT}.
+     */
+    public void toggleTabLayoutPolicy() {
+        if (this.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT) {
+            this.setTabLayoutPolicy(JTabbedPane.WRAP_TAB_LAYOUT);
+        } else {
+            this.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+        }
+    }
+
+    /**
+     * The default placeholder of a lazy tab, a component without UI delegate
+     * and layout manager.
+     */
+    @SuppressWarnings("serial")
+    private static final class LazyTabPlaceholder extends JComponent {
+    }
+
+    /**
+     * Creates the default placeholder of an async tab, a centered
+     * indeterminate progress bar.
+     */
+    private static Component createAsyncTabPlaceholder() {
+        final AsyncTabPlaceholder placeholder = new AsyncTabPlaceholder();
+        placeholder.showProgress();
+        return placeholder;
+    }
+
+    /**
+     * The default placeholder of an async tab, showing an indeterminate
+     * progress bar while loading and the failure of a failed load.
+     */
+    @SuppressWarnings("serial")
+    private static final class AsyncTabPlaceholder extends JPanel {
+
+        private AsyncTabPlaceholder() {
+            super(new GridBagLayout());
+        }
+
+        private void showProgress() {
+            this.removeAll();
+            final JProgressBar progressBar = new JProgressBar();
+            progressBar.setIndeterminate(true);
+            this.add(progressBar);
+            this.revalidate();
+            this.repaint();
+        }
+
+        private void showFailure(final Throwable failure, final Runnable retry) {
+            this.removeAll();
+            final String message = failure.getLocalizedMessage();
+            this.add(new JLabel(message != null ? "Loading failed: " + message : "Loading failed."));
+            final JButton retryButton = new JButton("Retry");
+            retryButton.addActionListener(e -> retry.run());
+            this.add(retryButton);
+            this.revalidate();
+            this.repaint();
+        }
+    }
+
+    /**
+     * Holds the default content executor, created on first use.
+     */
+    private static final class DefaultContentExecutor {
+
+        private static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            try {
+                // Virtual threads exist from Java 21 on, after the source level.
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (final ReflectiveOperationException e) {
+                final AtomicInteger threadCount = new AtomicInteger();
+                return Executors.newCachedThreadPool(runnable -> {
+                    final Thread thread = new Thread(runnable, "JTabbedPaneExtended-content-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
         }
     }
 }
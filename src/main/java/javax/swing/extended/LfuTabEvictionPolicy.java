@@ -0,0 +1,50 @@
+package javax.swing.extended;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * A {@link TabEvictionPolicy} releasing the least frequently selected content
+ * first. Among equally frequent contents the one created first is released.
+ *
+ * @author Jörg Wille
+ */
+public final class LfuTabEvictionPolicy implements TabEvictionPolicy {
+
+    // Insertion ordered, to break ties by age.
+    private final LinkedHashMap<Object, long[]> frequencies = new LinkedHashMap<>();
+
+    @Override
+    public void recordInsertion(final Object key) {
+        this.frequencies.put(key, new long[]{1});
+    }
+
+    @Override
+    public void recordAccess(final Object key) {
+        final long[] frequency = this.frequencies.get(key);
+        if (frequency != null) {
+            frequency[0]++;
+        }
+    }
+
+    @Override
+    public void recordRemoval(final Object key) {
+        this.frequencies.remove(key);
+    }
+
+    @Override
+    public Object selectVictim(final Predicate<Object> evictable) {
+        // The cache holds few created contents, so a linear scan is sufficient.
+        Object victim = null;
+        long minFrequency = Long.MAX_VALUE;
+        for (final Map.Entry<Object, long[]> entry : this.frequencies.entrySet()) {
+            final long frequency = entry.getValue()[0];
+            if (frequency < minFrequency && evictable.test(entry.getKey())) {
+                victim = entry.getKey();
+                minFrequency = frequency;
+            }
+        }
+        return victim;
+    }
+}
@@ -0,0 +1,44 @@
+package javax.swing.extended;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.Predicate;
+
+/**
+ * A {@link TabEvictionPolicy} releasing the least recently selected content
+ * first.
+ *
+ * @author Jörg Wille
+ */
+public final class LruTabEvictionPolicy implements TabEvictionPolicy {
+
+    // Access ordered, the eldest entry is the least recently used one.
+    private final LinkedHashMap<Object, Boolean> keys = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Override
+    public void recordInsertion(final Object key) {
+        this.keys.put(key, Boolean.TRUE);
+    }
+
+    @Override
+    public void recordAccess(final Object key) {
+        this.keys.get(key);
+    }
+
+    @Override
+    public void recordRemoval(final Object key) {
+        this.keys.remove(key);
+    }
+
+    @Override
+    public Object selectVictim(final Predicate<Object> evictable) {
+        final Iterator<Object> iterator = this.keys.keySet().iterator();
+        while (iterator.hasNext()) {
+            final Object key = iterator.next();
+            if (evictable.test(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
@@ -33,16 +33,20 @@ public class RemoveTabAction extends AbstractAction {
             tappedPane.repaint();
             return true;
         }
+        if (evt instanceof TabCloseEvent) {
+            // A close button painted by the look and feel.
+            TabCloseEvent closeEvent = (TabCloseEvent) evt;
+            JTabbedPane tappedPane = closeEvent.getTabbedPane();
+            tappedPane.removeTabAt(closeEvent.getTabIndex());
+            tappedPane.revalidate();
+            tappedPane.repaint();
+            return true;
+        }
         return false;
     }
 
     public int indexOfTabComponent(final JTabbedPane tabbedPane, final Component tabComponent) {
-        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
-            Component c = tabbedPane.getTabComponentAt(i);
-            if (c == tabComponent) {
-                return i;
-            }
-        }
-        return -1;
+        // JTabbedPaneExtended answers this lookup in constant time.
+        return tabbedPane.indexOfTabComponent(tabComponent);
     }
 }
@@ -0,0 +1,47 @@
+package javax.swing.extended;
+
+import java.awt.event.ActionEvent;
+import javax.swing.JTabbedPane;
+
+/**
+ * The event passed to the close action of a tab, whose close button is
+ * painted instead of being a component, see
+ * {@link JTabbedPaneExtended#setCloseButtonsPainted(boolean)}. Its source is
+ * the tabbed pane.
+ *
+ * @author Jörg Wille
+ */
+@SuppressWarnings("serial")
+public class TabCloseEvent extends ActionEvent {
+
+    private final int tabIndex;
+
+    /**
+     * Creates a new instance of {@link TabCloseEvent}.
+     *
+     * @param tabbedPane the tabbed pane containing the tab.
+     * @param tabIndex the index of the tab to be closed.
+     * @param command the action command of the close action.
+     * @param when the time the close button has been clicked.
+     * @param modifiers the modifier keys held down during the click.
+     */
+    public TabCloseEvent(final JTabbedPane tabbedPane, final int tabIndex, final String command, final long when,
+            final int modifiers) {
+        super(tabbedPane, ActionEvent.ACTION_PERFORMED, command, when, modifiers);
+        this.tabIndex = tabIndex;
+    }
+
+    /**
+     * @return the tabbed pane containing the tab.
+     */
+    public JTabbedPane getTabbedPane() {
+        return (JTabbedPane) this.getSource();
+    }
+
+    /**
+     * @return the index of the tab to be closed.
+     */
+    public int getTabIndex() {
+        return this.tabIndex;
+    }
+}
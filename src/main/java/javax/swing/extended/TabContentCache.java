@@ -0,0 +1,283 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.lang.ref.SoftReference;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounds the content created for lazy tabs of a {@link JTabbedPaneExtended},
+ * see {@link JTabbedPaneExtended#setContentCache(TabContentCache)}.
+ *
+ * At most a maximum number of contents, and optionally a byte budget, are
+ * kept. When exceeded, the content of a non-selected tab chosen by the
+ * {@link TabEvictionPolicy} is released: its state is saved by the
+ * {@link TabContentStateHandler}, the tab shows its placeholder again and the
+ * content is created anew on reselection. Released contents can be kept
+ * softly reachable, so they are reused if the garbage collector did not
+ * reclaim them yet.
+ *
+ * Only tabs added by {@link JTabbedPaneExtended#addLazyTab} or
+ * {@link JTabbedPaneExtended#insertLazyTab} can be released.
+ *
+ * @author Jörg Wille
+ */
+public final class TabContentCache {
+
+    private final int maxEntries;
+    private final TabEvictionPolicy policy;
+    private long maxBytes = Long.MAX_VALUE;
+    private ToLongFunction<? super Component> weigher;
+    private boolean softReferences = false;
+    private TabContentStateHandler stateHandler;
+    private JTabbedPaneExtended tabbedPane;
+    // All tracked tabs keyed by their placeholder, and the created ones keyed by content.
+    private final Map<Component, Entry> entries = new IdentityHashMap<>();
+    private final Map<Component, Entry> createdEntries = new IdentityHashMap<>();
+    private long weight = 0;
+    private long evictionCount = 0;
+    private long restoreCount = 0;
+    private long softHitCount = 0;
+
+    /**
+     * Creates a new instance of {@link TabContentCache} with a least recently
+     * used policy.
+     *
+     * @param maxEntries the maximum number of created contents.
+     */
+    public TabContentCache(final int maxEntries) {
+        this(maxEntries, TabEvictionPolicy.leastRecentlyUsed());
+    }
+
+    /**
+     * Creates a new instance of {@link TabContentCache}.
+     *
+     * @param maxEntries the maximum number of created contents, at least 1.
+     * @param policy the policy choosing the content to be released.
+     */
+    public TabContentCache(final int maxEntries, final TabEvictionPolicy policy) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Argument \'MaxEntries\' must be at least 1.");
+        }
+        if (policy == null) {
+            throw new NullPointerException("Argument \'Policy\' must not be null.");
+        }
+        this.maxEntries = maxEntries;
+        this.policy = policy;
+    }
+
+    /**
+     * Limits the estimated size of all created contents in addition to their
+     * number.
+     *
+     * @param maxBytes the byte budget.
+     * @param weigher estimates the size of a content in bytes, it is called
+     * once for each created content.
+     */
+    public void setByteBudget(final long maxBytes, final ToLongFunction<? super Component> weigher) {
+        if (weigher == null) {
+            throw new NullPointerException("Argument \'Weigher\' must not be null.");
+        }
+        this.maxBytes = maxBytes;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Sets whether released contents are kept softly reachable and reused on
+     * reselection, as long as they have not been garbage collected.
+     *
+     * @param softReferences {@code true} to enable the soft reference tier.
+     */
+    public void setSoftReferences(final boolean softReferences) {
+        this.softReferences = softReferences;
+    }
+
+    /**
+     * Sets the handler saving and restoring the state of released contents.
+     *
+     * @param stateHandler the handler, or {@code null} for none.
+     */
+    public void setStateHandler(final TabContentStateHandler stateHandler) {
+        this.stateHandler = stateHandler;
+    }
+
+    /**
+     * @return the number of currently created contents.
+     */
+    public int size() {
+        return this.createdEntries.size();
+    }
+
+    /**
+     * @return the estimated size of the currently created contents in bytes.
+     */
+    public long getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * @return the number of contents released so far.
+     */
+    public long getEvictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * @return the number of released contents created again so far.
+     */
+    public long getRestoreCount() {
+        return this.restoreCount;
+    }
+
+    /**
+     * @return the number of released contents reused from the soft reference
+     * tier so far.
+     */
+    public long getSoftHitCount() {
+        return this.softHitCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TabContentCache[size=" + this.size() + ", weight=" + this.weight
+                + ", evictions=" + this.evictionCount + ", restores=" + this.restoreCount
+                + ", softHits=" + this.softHitCount + "]";
+    }
+
+    void install(final JTabbedPaneExtended tabbedPane) {
+        if (this.tabbedPane != null && this.tabbedPane != tabbedPane) {
+            throw new IllegalStateException("TabContentCache is already used by another tabbed pane.");
+        }
+        this.tabbedPane = tabbedPane;
+    }
+
+    void uninstall() {
+        for (final Component placeholder : this.entries.keySet()) {
+            this.policy.recordRemoval(placeholder);
+        }
+        this.entries.clear();
+        this.createdEntries.clear();
+        this.weight = 0;
+        this.tabbedPane = null;
+    }
+
+    /**
+     * Returns the content for a lazy tab about to be selected, reused from the
+     * soft reference tier or created by the supplier.
+     */
+    Component obtainContent(final int index, final Component placeholder, final Supplier<? extends Component> contentSupplier) {
+        final Entry entry = this.entries.get(placeholder);
+        if (entry == null) {
+            return contentSupplier.get();
+        }
+        final Component released = entry.releasedContent != null ? entry.releasedContent.get() : null;
+        entry.releasedContent = null;
+        if (released != null) {
+            this.softHitCount++;
+            return released;
+        }
+        final Component content = contentSupplier.get();
+        this.restoreCount++;
+        if (this.stateHandler != null && content != null) {
+            this.stateHandler.restoreState(index, content, entry.state);
+        }
+        entry.state = null;
+        return content;
+    }
+
+    /**
+     * Tracks the content just created for a lazy tab and releases other
+     * contents, if the cache exceeds its budget.
+     */
+    void contentCreated(final Component placeholder, final Supplier<? extends Component> contentSupplier, final Component content) {
+        Entry entry = this.entries.get(placeholder);
+        if (entry == null) {
+            entry = new Entry(placeholder, contentSupplier);
+            this.entries.put(placeholder, entry);
+        }
+        entry.content = content;
+        entry.weight = this.weigher != null ? this.weigher.applyAsLong(content) : 0;
+        this.createdEntries.put(content, entry);
+        this.weight += entry.weight;
+        this.policy.recordInsertion(placeholder);
+        this.evictExceeding();
+    }
+
+    void contentSelected(final Component content) {
+        final Entry entry = this.createdEntries.get(content);
+        if (entry != null) {
+            this.policy.recordAccess(entry.placeholder);
+        }
+    }
+
+    /**
+     * Forgets a tab whose content or placeholder has been removed from the
+     * tabbed pane.
+     */
+    void componentRemoved(final Component component) {
+        Entry entry = this.createdEntries.remove(component);
+        if (entry != null) {
+            this.weight -= entry.weight;
+        } else {
+            entry = this.entries.get(component);
+            if (entry == null) {
+                return;
+            }
+        }
+        this.entries.remove(entry.placeholder);
+        this.policy.recordRemoval(entry.placeholder);
+    }
+
+    private void evictExceeding() {
+        final Component selected = this.tabbedPane.getSelectedComponent();
+        while (this.createdEntries.size() > this.maxEntries || this.weight > this.maxBytes) {
+            final Object key = this.policy.selectVictim(placeholder -> {
+                final Entry entry = this.entries.get(placeholder);
+                return entry != null && entry.content != null && entry.content != selected;
+            });
+            if (key == null) {
+                return;
+            }
+            this.evict(this.entries.get(key));
+        }
+    }
+
+    private void evict(final Entry entry) {
+        final Component content = entry.content;
+        this.createdEntries.remove(content);
+        this.weight -= entry.weight;
+        entry.content = null;
+        this.policy.recordRemoval(entry.placeholder);
+
+        final int index = this.tabbedPane.indexOfComponent(content);
+        if (index < 0) {
+            this.entries.remove(entry.placeholder);
+            return;
+        }
+        if (this.stateHandler != null) {
+            entry.state = this.stateHandler.saveState(index, content);
+        }
+        if (this.softReferences) {
+            entry.releasedContent = new SoftReference<>(content);
+        }
+        this.tabbedPane.releaseTabContent(index, entry.placeholder, entry.contentSupplier);
+        this.evictionCount++;
+    }
+
+    private static final class Entry {
+
+        private final Component placeholder;
+        private final Supplier<? extends Component> contentSupplier;
+        private Component content;
+        private long weight;
+        private Object state;
+        private SoftReference<Component> releasedContent;
+
+        private Entry(final Component placeholder, final Supplier<? extends Component> contentSupplier) {
+            this.placeholder = placeholder;
+            this.contentSupplier = contentSupplier;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+
+/**
+ * Saves the state of a tab content before a {@link TabContentCache} releases
+ * it and restores the state into the content created again on reselection,
+ * e.g. the scroll position or selection of a table.
+ *
+ * @author Jörg Wille
+ */
+public interface TabContentStateHandler {
+
+    /**
+     * Saves the state of a content that is going to be released.
+     *
+     * @param index the index of the tab.
+     * @param content the content of the tab.
+     * @return the state, which is passed to
+     * {@link #restoreState(int, Component, Object)}, may be {@code null}.
+     */
+    Object saveState(int index, Component content);
+
+    /**
+     * Restores a saved state into the newly created content of a tab.
+     *
+     * @param index the index of the tab.
+     * @param content the newly created content of the tab.
+     * @param state the state returned by {@link #saveState(int, Component)}.
+     */
+    void restoreState(int index, Component content, Object state);
+}
@@ -0,0 +1,58 @@
+package javax.swing.extended;
+
+import java.util.function.Predicate;
+
+/**
+ * Decides which tab content a {@link TabContentCache} releases when it
+ * exceeds its budget. Each key stands for one tab with created content.
+ * Keys are compared by {@code equals}; the keys passed by the cache are the
+ * placeholder components of the tabs, which are only equal to themselves.
+ *
+ * @author Jörg Wille
+ */
+public interface TabEvictionPolicy {
+
+    /**
+     * Called when the content of a tab has been created.
+     *
+     * @param key the key of the tab.
+     */
+    void recordInsertion(Object key);
+
+    /**
+     * Called when a tab with created content is selected again.
+     *
+     * @param key the key of the tab.
+     */
+    void recordAccess(Object key);
+
+    /**
+     * Called when the content of a tab has been released or the tab has been
+     * removed.
+     *
+     * @param key the key of the tab.
+     */
+    void recordRemoval(Object key);
+
+    /**
+     * Returns the key of the tab whose content should be released next.
+     *
+     * @param evictable tests whether the content of a tab may be released.
+     * @return the key of the tab, or {@code null} if no tab can be released.
+     */
+    Object selectVictim(Predicate<Object> evictable);
+
+    /**
+     * @return a policy releasing the least recently selected content first.
+     */
+    static TabEvictionPolicy leastRecentlyUsed() {
+        return new LruTabEvictionPolicy();
+    }
+
+    /**
+     * @return a policy releasing the least frequently selected content first.
+     */
+    static TabEvictionPolicy leastFrequentlyUsed() {
+        return new LfuTabEvictionPolicy();
+    }
+}
@@ -0,0 +1,137 @@
+package javax.swing.extended;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the rendered images of tabs, so unchanged tabs are drawn by copying
+ * an image instead of painting their background, border, text and icon again,
+ * see {@link JTabbedPaneExtended#setTabImageCache(TabImageCache)}.
+ *
+ * The images are keyed by everything their rendering depends on: title,
+ * icon, font, colours, selection, rollover and focus state, placement, size
+ * and scale of the graphics. A change of any of these yields a new key, the
+ * images of outdated keys are released least recently used first once the
+ * memory cap is exceeded. Images are estimated with four bytes per pixel.
+ *
+ * Icons are expected to be static, an animated icon is shown with the frame
+ * it had when its tab has been rendered. The images are translucent, which
+ * rules out sub-pixel anti-aliased text: while it is enabled, tabs showing
+ * their title are painted directly, only tabs with tab components are drawn
+ * from images.
+ *
+ * A cache may be shared by tabbed panes using the same look and feel.
+ *
+ * @author Jörg Wille
+ */
+public final class TabImageCache {
+
+    private final long maxBytes;
+    // Access ordered, so iteration starts at the least recently used image.
+    private final LinkedHashMap<Object, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight = 0;
+    private long hitCount = 0;
+    private long missCount = 0;
+
+    /**
+     * Creates a new instance of {@link TabImageCache}.
+     *
+     * @param maxBytes the memory cap of all images in bytes.
+     */
+    public TabImageCache(final long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("Argument \'MaxBytes\' must not be negative.");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the image rendered for a key. Must be called on the event
+     * dispatch thread.
+     *
+     * @param key the key describing the rendered tab.
+     * @return the image, or {@code null} if there is none.
+     */
+    public BufferedImage getImage(final Object key) {
+        final BufferedImage image = this.images.get(key);
+        if (image != null) {
+            this.hitCount++;
+        } else {
+            this.missCount++;
+        }
+        return image;
+    }
+
+    /**
+     * Adds the image rendered for a key and releases the least recently used
+     * images exceeding the memory cap. Images larger than the cap are not
+     * added. Must be called on the event dispatch thread.
+     *
+     * @param key the key describing the rendered tab.
+     * @param image the rendered image.
+     */
+    public void putImage(final Object key, final BufferedImage image) {
+        final long imageWeight = weigh(image);
+        if (imageWeight > this.maxBytes) {
+            return;
+        }
+        final BufferedImage replaced = this.images.put(key, image);
+        if (replaced != null) {
+            this.weight -= weigh(replaced);
+        }
+        this.weight += imageWeight;
+        final Iterator<Map.Entry<Object, BufferedImage>> iterator = this.images.entrySet().iterator();
+        while (this.weight > this.maxBytes && iterator.hasNext()) {
+            this.weight -= weigh(iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Releases all images.
+     */
+    public void clear() {
+        this.images.clear();
+        this.weight = 0;
+    }
+
+    /**
+     * @return the number of cached images.
+     */
+    public int size() {
+        return this.images.size();
+    }
+
+    /**
+     * @return the estimated size of the cached images in bytes.
+     */
+    public long getWeight() {
+        return this.weight;
+    }
+
+    /**
+     * @return the number of tabs drawn from a cached image so far.
+     */
+    public long getHitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * @return the number of tabs rendered into a new image so far.
+     */
+    public long getMissCount() {
+        return this.missCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TabImageCache[size=" + this.size() + ", weight=" + this.weight
+                + ", hits=" + this.hitCount + ", misses=" + this.missCount + "]";
+    }
+
+    private static long weigh(final BufferedImage image) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+}
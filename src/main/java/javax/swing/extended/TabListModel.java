@@ -0,0 +1,121 @@
+package javax.swing.extended;
+
+import javax.swing.AbstractListModel;
+import javax.swing.JTabbedPane;
+
+/**
+ * A live {@code ListModel} view of the tab titles of a {@link JTabbedPane}.
+ * The owning {@link JTabbedPaneExtended} reports inserted, removed and
+ * retitled tabs, so that lists showing the titles are updated incrementally
+ * instead of being rebuilt.
+ *
+ * The model also keeps the longest title as prototype for fixed width list
+ * cells. It is only recomputed after the current prototype has been removed
+ * or shortened.
+ *
+ * The {@link TabTitleIndex} for searching the titles is created on first use
+ * and maintained along with the model from then on.
+ *
+ * @author Jörg Wille
+ */
+@SuppressWarnings("serial")
+public class TabListModel extends AbstractListModel<String> {
+
+    private final JTabbedPane tabbedPane;
+    private String prototype = "";
+    private boolean prototypeValid = true;
+    private TabTitleIndex titleIndex;
+
+    public TabListModel(final JTabbedPane tabbedPane) {
+        if (tabbedPane == null) {
+            throw new NullPointerException("Argument \'TabbedPane\' must not be null.");
+        }
+        this.tabbedPane = tabbedPane;
+    }
+
+    @Override
+    public int getSize() {
+        return this.tabbedPane.getTabCount();
+    }
+
+    @Override
+    public String getElementAt(final int index) {
+        return this.tabbedPane.getTitleAt(index);
+    }
+
+    /**
+     * Returns the longest tab title, which is suitable as prototype cell
+     * value of a list showing this model.
+     *
+     * @return the longest tab title, or an empty string if there are no tabs.
+     */
+    public String getPrototype() {
+        if (!this.prototypeValid) {
+            String longest = "";
+            for (int i = 0; i < this.tabbedPane.getTabCount(); i++) {
+                // setTitleAt accepts null titles.
+                final String title = this.tabbedPane.getTitleAt(i);
+                if (title != null && title.length() > longest.length()) {
+                    longest = title;
+                }
+            }
+            this.prototype = longest;
+            this.prototypeValid = true;
+        }
+        return this.prototype;
+    }
+
+    /**
+     * Returns the index for searching the tab titles. It is built on first
+     * call, which takes time linear in the number of tabs.
+     *
+     * @return the title index.
+     */
+    public TabTitleIndex getTitleIndex() {
+        if (this.titleIndex == null) {
+            this.titleIndex = new TabTitleIndex(this.tabbedPane);
+        }
+        return this.titleIndex;
+    }
+
+    void tabInserted(final int index) {
+        final String title = this.tabbedPane.getTitleAt(index);
+        if (this.titleIndex != null) {
+            this.titleIndex.tabInserted(index, title);
+        }
+        this.updatePrototype(title);
+        this.fireIntervalAdded(this, index, index);
+    }
+
+    void tabRemoved(final int index, final String title) {
+        if (this.titleIndex != null) {
+            this.titleIndex.tabRemoved(index);
+        }
+        this.invalidatePrototype(title);
+        this.fireIntervalRemoved(this, index, index);
+    }
+
+    void tabTitleChanged(final int index, final String oldTitle) {
+        final String title = this.tabbedPane.getTitleAt(index);
+        if (this.titleIndex != null) {
+            this.titleIndex.tabTitleChanged(index, title);
+        }
+        if (title == null || oldTitle == null || title.length() < oldTitle.length()) {
+            this.invalidatePrototype(oldTitle);
+        }
+        this.updatePrototype(title);
+        this.fireContentsChanged(this, index, index);
+    }
+
+    private void updatePrototype(final String title) {
+        if (this.prototypeValid && title != null && title.length() > this.prototype.length()) {
+            this.prototype = title;
+        }
+    }
+
+    private void invalidatePrototype(final String title) {
+        if (title == null || title.length() >= this.prototype.length()) {
+            this.prototypeValid = false;
+        }
+    }
+}
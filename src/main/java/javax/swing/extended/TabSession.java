@@ -0,0 +1,284 @@
+package javax.swing.extended;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import javax.swing.Action;
+import javax.swing.plaf.UIResource;
+
+/**
+ * Saves the tabs of a {@link JTabbedPaneExtended} to a compact binary file
+ * and restores them, for sessions of many thousand tabs.
+ *
+ * A session holds the title, tooltip, explicitly set foreground and
+ * background colours and closability of each tab in order, the selected
+ * index and the leading tab index of {@code SCROLL_TAB_LAYOUT}. Contents
+ * cannot be saved, instead each tab may be saved with a key, e.g. the path
+ * of a document, from which its content is created again. Restored tabs are
+ * lazy tabs, their contents are created on first selection.
+ *
+ * The file is streamed through a buffer of fixed size, which is refilled
+ * while the tabs are decoded one by one and appended by
+ * {@link JTabbedPaneExtended#addTabs}, so neither the file nor a list of all
+ * tabs is held on the heap. The file is not mapped and is closed when the
+ * restore returns, so the session may be saved over the file right away on
+ * every platform.
+ *
+ * The format: the magic {@code 0x4A545053}, the version, the tab count,
+ * selected and leading tab index as integers, then per tab a flags byte, the
+ * title, the colours as ARGB integers, the tooltip and the key, each only if
+ * flagged. Strings are UTF-8 prefixed by their length as unsigned varint.
+ *
+ * @author Jörg Wille
+ */
+public final class TabSession {
+
+    private static final int MAGIC = 0x4A545053;
+    private static final int VERSION = 1;
+    private static final int FOREGROUND = 1;
+    private static final int BACKGROUND = 1 << 1;
+    private static final int TIP = 1 << 2;
+    private static final int KEY = 1 << 3;
+    private static final int CLOSABLE = 1 << 4;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private TabSession() {
+    }
+
+    /**
+     * Saves the tabs of a tabbed pane. The file is written next to the given
+     * one first and then moved, so a failure does not damage a previous
+     * session. Must be called on the event dispatch thread.
+     *
+     * @param tabbedPane the tabbed pane.
+     * @param file the session file.
+     * @param keys returns the key of the tab at an index, from which its
+     * content can be created again, or {@code null} for none.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void save(final JTabbedPaneExtended tabbedPane, final Path file, final IntFunction<String> keys)
+            throws IOException {
+        if (tabbedPane == null) {
+            throw new NullPointerException("Argument \'TabbedPane\' must not be null.");
+        }
+        if (keys == null) {
+            throw new NullPointerException("Argument \'Keys\' must not be null.");
+        }
+        final Path directory = file.toAbsolutePath().getParent();
+        final Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE))) {
+                final int tabCount = tabbedPane.getTabCount();
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(tabCount);
+                out.writeInt(tabbedPane.getSelectedIndex());
+                out.writeInt(tabbedPane.getLeadingTabIndex());
+                for (int i = 0; i < tabCount; i++) {
+                    writeTab(out, tabbedPane, i, keys.apply(i));
+                }
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    /**
+     * Replaces the tabs of a tabbed pane by the tabs of a session in one
+     * batch update, then selects the saved selected tab and scrolls to the
+     * saved leading tab. Must be called on the event dispatch thread.
+     *
+     * @param tabbedPane the tabbed pane.
+     * @param file the session file.
+     * @param contents returns the supplier creating the content of a tab
+     * from its key, which is {@code null} if none has been saved.
+     * @param closeAction the close action of the tabs saved as closable, or
+     * {@code null} to restore them as not closable.
+     * @throws IOException if the file cannot be read or is no valid session,
+     * the tabs restored before a corrupt one are kept.
+     */
+    public static void restore(final JTabbedPaneExtended tabbedPane, final Path file,
+            final Function<? super String, ? extends Supplier<? extends Component>> contents, final Action closeAction)
+            throws IOException {
+        if (tabbedPane == null) {
+            throw new NullPointerException("Argument \'TabbedPane\' must not be null.");
+        }
+        if (contents == null) {
+            throw new NullPointerException("Argument \'Contents\' must not be null.");
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a tab session of version " + VERSION + ": " + file);
+            }
+            final int tabCount = in.readInt();
+            final int selectedIndex = in.readInt();
+            final int leadingTabIndex = in.readInt();
+            if (tabCount < 0 || selectedIndex < -1 || selectedIndex >= tabCount
+                    || leadingTabIndex < 0 || (tabCount > 0 && leadingTabIndex >= tabCount)) {
+                throw new IOException("Corrupt tab session header: " + file);
+            }
+            final long size = channel.size();
+            tabbedPane.beginUpdate();
+            try {
+                tabbedPane.removeAll();
+                tabbedPane.addTabs(() -> new TabReader(in, size, tabCount, contents, closeAction));
+                if (selectedIndex >= 0) {
+                    tabbedPane.setSelectedIndex(selectedIndex);
+                }
+            } finally {
+                tabbedPane.endUpdate();
+            }
+            if (tabCount > 0) {
+                tabbedPane.setLeadingTabIndex(leadingTabIndex);
+            }
+        } catch (final UncheckedIOException e) {
+            // Thrown by the TabReader, which cannot throw checked exceptions.
+            if (e.getCause() instanceof EOFException) {
+                throw new IOException("Corrupt tab session: " + file, e.getCause());
+            }
+            throw e.getCause();
+        } catch (final EOFException | IllegalArgumentException e) {
+            throw new IOException("Corrupt tab session: " + file, e);
+        }
+    }
+
+    private static void writeTab(final DataOutputStream out, final JTabbedPaneExtended tabbedPane, final int index,
+            final String key) throws IOException {
+        // Colours of the look and feel are not saved, they are defaults.
+        final Color foreground = tabbedPane.getForegroundAt(index);
+        final Color background = tabbedPane.getBackgroundAt(index);
+        final boolean foregroundSet = foreground != null && !(foreground instanceof UIResource);
+        final boolean backgroundSet = background != null && !(background instanceof UIResource);
+        final String tip = tabbedPane.getToolTipTextAt(index);
+        final boolean closable = tabbedPane.getCloseActionAt(index) != null
+                || tabbedPane.getTabComponentAt(index) instanceof ClosableTabComponent;
+        out.writeByte((foregroundSet ? FOREGROUND : 0) | (backgroundSet ? BACKGROUND : 0) | (tip != null ? TIP : 0)
+                | (key != null ? KEY : 0) | (closable ? CLOSABLE : 0));
+        writeString(out, tabbedPane.getTitleAt(index));
+        if (foregroundSet) {
+            out.writeInt(foreground.getRGB());
+        }
+        if (backgroundSet) {
+            out.writeInt(background.getRGB());
+        }
+        if (tip != null) {
+            writeString(out, tip);
+        }
+        if (key != null) {
+            writeString(out, key);
+        }
+    }
+
+    private static void writeString(final DataOutputStream out, final String value) throws IOException {
+        final byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        while (length >= 0x80) {
+            out.writeByte(length & 0x7F | 0x80);
+            length >>>= 7;
+        }
+        out.writeByte(length);
+        out.write(bytes);
+    }
+
+    /**
+     * Decodes the tabs of a session one by one. Read failures are rethrown
+     * as {@code UncheckedIOException}, as an iterator cannot throw checked
+     * exceptions.
+     */
+    private static final class TabReader implements Iterator<TabSpec> {
+
+        private final DataInputStream in;
+        // The size of the session file, no string can be longer.
+        private final long size;
+        private final Function<? super String, ? extends Supplier<? extends Component>> contents;
+        private final Action closeAction;
+        private int remaining;
+        // Reused for decoding strings.
+        private byte[] bytes = new byte[256];
+
+        private TabReader(final DataInputStream in, final long size, final int tabCount,
+                final Function<? super String, ? extends Supplier<? extends Component>> contents, final Action closeAction) {
+            this.in = in;
+            this.size = size;
+            this.remaining = tabCount;
+            this.contents = contents;
+            this.closeAction = closeAction;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.remaining > 0;
+        }
+
+        @Override
+        public TabSpec next() {
+            if (this.remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            this.remaining--;
+            try {
+                final int flags = this.in.readByte();
+                final String title = this.readString();
+                final Color foreground = (flags & FOREGROUND) != 0 ? new Color(this.in.readInt(), true) : null;
+                final Color background = (flags & BACKGROUND) != 0 ? new Color(this.in.readInt(), true) : null;
+                final String tip = (flags & TIP) != 0 ? this.readString() : null;
+                final String key = (flags & KEY) != 0 ? this.readString() : null;
+                final Supplier<? extends Component> contentSupplier = this.contents.apply(key);
+                if (contentSupplier == null) {
+                    throw new NullPointerException("No content supplier for tab key " + key + ".");
+                }
+                return new TabSpec(title, null, null, contentSupplier, tip,
+                        (flags & CLOSABLE) != 0 ? this.closeAction : null, foreground, background);
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private String readString() throws IOException {
+            int length = 0;
+            for (int shift = 0;; shift += 7) {
+                final int b = this.in.readByte();
+                length |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+                if (shift > 21) {
+                    throw new IllegalArgumentException("String length exceeds 2^28 bytes.");
+                }
+            }
+            if (length > this.size) {
+                throw new EOFException("String length " + length + " exceeds the file size.");
+            }
+            if (length > this.bytes.length) {
+                this.bytes = new byte[length];
+            }
+            this.in.readFully(this.bytes, 0, length);
+            return new String(this.bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+}
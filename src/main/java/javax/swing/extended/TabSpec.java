@@ -0,0 +1,149 @@
+package javax.swing.extended;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.util.function.Supplier;
+import javax.swing.Action;
+import javax.swing.Icon;
+
+/**
+ * Describes a single tab for {@link JTabbedPaneExtended#addTabs}.
+ *
+ * @author Jörg Wille
+ */
+public final class TabSpec {
+
+    private final String title;
+    private final Icon icon;
+    private final Component component;
+    private final String tip;
+    private final Action closeAction;
+    private final Supplier<? extends Component> contentSupplier;
+    private final Color foreground;
+    private final Color background;
+
+    /**
+     * Creates a new instance of {@link TabSpec}.
+     *
+     * @param title the title to be displayed in the tab.
+     * @param component the component to be displayed when the tab is clicked.
+     */
+    public TabSpec(final String title, final Component component) {
+        this(title, null, component, null, null);
+    }
+
+    /**
+     * Creates a new instance of {@link TabSpec} for a closable tab.
+     *
+     * @param title the title to be displayed in the tab.
+     * @param component the component to be displayed when the tab is clicked.
+     * @param closeAction the {@code Action} to call when the close button of
+     * the tab's {@link ClosableTabComponent} is clicked.
+     */
+    public TabSpec(final String title, final Component component, final Action closeAction) {
+        this(title, null, component, null, closeAction);
+    }
+
+    /**
+     * Creates a new instance of {@link TabSpec}.
+     *
+     * @param title the title to be displayed in the tab.
+     * @param icon the icon to be displayed in the tab.
+     * @param component the component to be displayed when the tab is clicked.
+     * @param tip the tooltip to be displayed for the tab.
+     * @param closeAction the {@code Action} to call when the close button of
+     * the tab's {@link ClosableTabComponent} is clicked, or {@code null} if
+     * the tab is not closable.
+     */
+    public TabSpec(final String title, final Icon icon, final Component component, final String tip, final Action closeAction) {
+        this(title, icon, component, null, tip, closeAction, null, null);
+    }
+
+    TabSpec(final String title, final Icon icon, final Component component,
+            final Supplier<? extends Component> contentSupplier, final String tip, final Action closeAction,
+            final Color foreground, final Color background) {
+        this.title = title;
+        this.icon = icon;
+        this.component = component;
+        this.contentSupplier = contentSupplier;
+        this.tip = tip;
+        this.closeAction = closeAction;
+        this.foreground = foreground;
+        this.background = background;
+    }
+
+    /**
+     * Creates a {@link TabSpec} for a tab whose content is created on its
+     * first selection, see {@link JTabbedPaneExtended#addLazyTab}.
+     *
+     * @param title the title to be displayed in the tab.
+     * @param contentSupplier creates the content of the tab on first selection.
+     * @param closeAction the {@code Action} to call when the close button of
+     * the tab's {@link ClosableTabComponent} is clicked, or {@code null} if
+     * the tab is not closable.
+     * @return the created {@link TabSpec}.
+     */
+    public static TabSpec lazy(final String title, final Supplier<? extends Component> contentSupplier, final Action closeAction) {
+        if (contentSupplier == null) {
+            throw new NullPointerException("Argument \'ContentSupplier\' must not be null.");
+        }
+        return new TabSpec(title, null, null, contentSupplier, null, closeAction, null, null);
+    }
+
+    /**
+     * Returns a copy of this {@link TabSpec} with the given tab colours.
+     *
+     * @param foreground the foreground colour of the tab, or {@code null}
+     * for the default.
+     * @param background the background colour of the tab, or {@code null}
+     * for the default.
+     * @return the created {@link TabSpec}.
+     */
+    public TabSpec withColors(final Color foreground, final Color background) {
+        return new TabSpec(title, icon, component, contentSupplier, tip, closeAction, foreground, background);
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Icon getIcon() {
+        return icon;
+    }
+
+    public Component getComponent() {
+        return component;
+    }
+
+    /**
+     * @return the supplier of the content of a lazy tab, or {@code null} if
+     * the tab has a {@link #getComponent() component}.
+     */
+    public Supplier<? extends Component> getContentSupplier() {
+        return contentSupplier;
+    }
+
+    public String getTip() {
+        return tip;
+    }
+
+    public Action getCloseAction() {
+        return closeAction;
+    }
+
+    /**
+     * @return the foreground colour of the tab, or {@code null} for the
+     * default.
+     */
+    public Color getForeground() {
+        return foreground;
+    }
+
+    /**
+     * @return the background colour of the tab, or {@code null} for the
+     * default.
+     */
+    public Color getBackground() {
+        return background;
+    }
+}
@@ -0,0 +1,348 @@
+package javax.swing.extended;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import javax.swing.JTabbedPane;
+
+/**
+ * A case insensitive substring index of the tab titles of a
+ * {@link JTabbedPaneExtended}, see {@link TabListModel#getTitleIndex()}. It is
+ * maintained incrementally while tabs are inserted, removed and retitled.
+ *
+ * Each title is indexed by its distinct grams of one to three characters. The
+ * matches of a query of up to three characters are the titles of its gram, a
+ * longer query only verifies the titles of its rarest trigram. A query
+ * extending the previous one filters the previous matches instead, if there
+ * are fewer of them and no tab has changed in between, as it happens while
+ * typing.
+ *
+ * Removed titles are left in the postings and skipped, they are dropped when
+ * a posting is searched, or from all postings once they make up half of the
+ * postings. Must be used on the event dispatch thread.
+ *
+ * @author Jörg Wille
+ */
+public final class TabTitleIndex {
+
+    private static final int[] NO_MATCHES = new int[0];
+
+    // The entries in tab order, their positions are renumbered lazily.
+    private final List<Entry> entries = new ArrayList<>();
+    private final PostingTable postings = new PostingTable();
+    private boolean positionsValid = true;
+    private long livePostings = 0;
+    private long deadPostings = 0;
+    private int modificationCount = 0;
+
+    private String lastQuery;
+    private int[] lastMatches;
+    private int lastModificationCount;
+
+    TabTitleIndex(final JTabbedPane tabbedPane) {
+        final int tabCount = tabbedPane.getTabCount();
+        for (int i = 0; i < tabCount; i++) {
+            this.entries.add(this.createEntry(tabbedPane.getTitleAt(i)));
+        }
+        this.positionsValid = false;
+    }
+
+    /**
+     * Returns the indices of the tabs whose titles contain the query,
+     * ignoring case.
+     *
+     * @param query the text to search for.
+     * @return the matching tab indices in ascending order, all tab indices if
+     * the query is empty.
+     */
+    public int[] search(final String query) {
+        if (query == null) {
+            throw new NullPointerException("Argument \'Query\' must not be null.");
+        }
+        final String lowerQuery = query.toLowerCase(Locale.ROOT);
+        this.renumber();
+        // The matches of a previous query contained in this one are candidates.
+        final int[] candidates = this.lastQuery != null && this.lastModificationCount == this.modificationCount
+                && lowerQuery.contains(this.lastQuery) ? this.lastMatches : null;
+        final int[] matches;
+        if (lowerQuery.isEmpty()) {
+            matches = new int[this.entries.size()];
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = i;
+            }
+        } else {
+            final Posting rarest = this.getRarestPosting(lowerQuery);
+            if (rarest == null) {
+                matches = NO_MATCHES;
+            } else if (candidates != null && candidates.length < rarest.size) {
+                matches = this.filter(candidates, lowerQuery);
+            } else {
+                matches = this.searchPosting(rarest, lowerQuery);
+            }
+        }
+        this.lastQuery = lowerQuery;
+        this.lastMatches = matches;
+        this.lastModificationCount = this.modificationCount;
+        return matches.clone();
+    }
+
+    /**
+     * @return the number of indexed titles.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    void tabInserted(final int index, final String title) {
+        this.entries.add(index, this.createEntry(title));
+        this.positionsValid = false;
+        this.modificationCount++;
+    }
+
+    void tabRemoved(final int index) {
+        this.removeEntry(this.entries.remove(index));
+        this.positionsValid = this.positionsValid && index == this.entries.size();
+        this.modificationCount++;
+    }
+
+    void tabTitleChanged(final int index, final String title) {
+        final Entry entry = this.createEntry(title);
+        entry.position = index;
+        this.removeEntry(this.entries.set(index, entry));
+        this.modificationCount++;
+    }
+
+    private int[] filter(final int[] candidates, final String lowerQuery) {
+        int count = 0;
+        final int[] matches = new int[candidates.length];
+        for (final int candidate : candidates) {
+            if (this.entries.get(candidate).lowerTitle.contains(lowerQuery)) {
+                matches[count++] = candidate;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    /**
+     * Returns the posting of the query itself, if it is at most three
+     * characters long, or else of its trigram with the fewest entries. Every
+     * match contains all trigrams of the query, so verifying the titles of
+     * this posting suffices.
+     *
+     * @return the posting, or {@code null} if a gram is not indexed.
+     */
+    private Posting getRarestPosting(final String lowerQuery) {
+        final int gramLength = Math.min(3, lowerQuery.length());
+        Posting rarest = null;
+        for (int i = 0; i + gramLength <= lowerQuery.length(); i++) {
+            final Posting posting = this.postings.get(gram(lowerQuery, i, gramLength));
+            if (posting == null) {
+                return null;
+            }
+            if (rarest == null || posting.size < rarest.size) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    private int[] searchPosting(final Posting rarest, final String lowerQuery) {
+        // A posting of the query itself holds exactly the matches.
+        final boolean exact = lowerQuery.length() <= 3;
+        this.deadPostings -= rarest.compact();
+        if (exact && rarest.size == this.entries.size()) {
+            // All titles match.
+            final int[] matches = new int[rarest.size];
+            for (int i = 0; i < matches.length; i++) {
+                matches[i] = i;
+            }
+            return matches;
+        }
+        // The positions of the matches are collected in a bit set, which
+        // yields them in tab order without sorting.
+        final BitSet positions = new BitSet(this.entries.size());
+        for (int i = 0; i < rarest.size; i++) {
+            final Entry entry = rarest.entries[i];
+            if (exact || entry.lowerTitle.contains(lowerQuery)) {
+                positions.set(entry.position);
+            }
+        }
+        final int[] matches = new int[positions.cardinality()];
+        for (int i = 0, position = positions.nextSetBit(0); position >= 0; i++, position = positions.nextSetBit(position + 1)) {
+            matches[i] = position;
+        }
+        return matches;
+    }
+
+    private void renumber() {
+        if (!this.positionsValid) {
+            for (int i = 0; i < this.entries.size(); i++) {
+                this.entries.get(i).position = i;
+            }
+            this.positionsValid = true;
+        }
+    }
+
+    private Entry createEntry(final String title) {
+        final Entry entry = new Entry(title == null ? "" : title.toLowerCase(Locale.ROOT));
+        final String lowerTitle = entry.lowerTitle;
+        for (int gramLength = 1; gramLength <= 3; gramLength++) {
+            for (int i = 0; i + gramLength <= lowerTitle.length(); i++) {
+                // Entries are added one after another, so the entry is last
+                // in the posting of a gram it already contains.
+                final Posting posting = this.postings.getOrCreate(gram(lowerTitle, i, gramLength));
+                if (posting.size == 0 || posting.entries[posting.size - 1] != entry) {
+                    posting.add(entry);
+                    entry.gramCount++;
+                }
+            }
+        }
+        this.livePostings += entry.gramCount;
+        return entry;
+    }
+
+    private void removeEntry(final Entry entry) {
+        entry.removed = true;
+        this.livePostings -= entry.gramCount;
+        this.deadPostings += entry.gramCount;
+        if (this.deadPostings > this.livePostings) {
+            this.postings.compact();
+            this.deadPostings = 0;
+        }
+    }
+
+    /**
+     * Packs the characters of a gram of up to three characters and its length
+     * into a key.
+     */
+    private static long gram(final String text, final int index, final int length) {
+        long gram = length;
+        for (int i = index; i < index + length; i++) {
+            gram = gram << 16 | text.charAt(i);
+        }
+        return gram;
+    }
+
+    private static final class Entry {
+
+        private final String lowerTitle;
+        private int position;
+        private int gramCount;
+        private boolean removed;
+
+        private Entry(final String lowerTitle) {
+            this.lowerTitle = lowerTitle;
+        }
+    }
+
+    /**
+     * The entries whose titles contain a gram, including removed ones.
+     */
+    private static final class Posting {
+
+        private Entry[] entries = new Entry[4];
+        private int size;
+
+        private void add(final Entry entry) {
+            if (this.size == this.entries.length) {
+                this.entries = Arrays.copyOf(this.entries, 2 * this.size);
+            }
+            this.entries[this.size++] = entry;
+        }
+
+        /**
+         * Drops the removed entries.
+         *
+         * @return the number of dropped entries.
+         */
+        private int compact() {
+            int size = 0;
+            for (int i = 0; i < this.size; i++) {
+                if (!this.entries[i].removed) {
+                    this.entries[size++] = this.entries[i];
+                }
+            }
+            Arrays.fill(this.entries, size, this.size, null);
+            final int dropped = this.size - size;
+            this.size = size;
+            return dropped;
+        }
+    }
+
+    /**
+     * An open addressing hash table of the postings by gram, which does not
+     * box the grams. A gram is never zero, as it includes its length.
+     */
+    private static final class PostingTable {
+
+        private long[] grams = new long[1024];
+        private Posting[] postings = new Posting[1024];
+        private int size;
+
+        private Posting get(final long gram) {
+            final int mask = this.grams.length - 1;
+            for (int i = hash(gram) & mask; this.grams[i] != 0; i = (i + 1) & mask) {
+                if (this.grams[i] == gram) {
+                    return this.postings[i];
+                }
+            }
+            return null;
+        }
+
+        private Posting getOrCreate(final long gram) {
+            Posting posting = this.get(gram);
+            if (posting == null) {
+                if (2 * (this.size + 1) > this.grams.length) {
+                    this.rehash(2 * this.grams.length);
+                }
+                posting = new Posting();
+                this.put(gram, posting);
+            }
+            return posting;
+        }
+
+        /**
+         * Drops the removed entries from all postings and the postings left
+         * empty.
+         */
+        private void compact() {
+            for (int i = 0; i < this.grams.length; i++) {
+                if (this.grams[i] != 0) {
+                    this.postings[i].compact();
+                }
+            }
+            this.rehash(this.grams.length);
+        }
+
+        private void rehash(final int capacity) {
+            final long[] oldGrams = this.grams;
+            final Posting[] oldPostings = this.postings;
+            this.grams = new long[capacity];
+            this.postings = new Posting[capacity];
+            this.size = 0;
+            for (int i = 0; i < oldGrams.length; i++) {
+                if (oldGrams[i] != 0 && oldPostings[i].size > 0) {
+                    this.put(oldGrams[i], oldPostings[i]);
+                }
+            }
+        }
+
+        private void put(final long gram, final Posting posting) {
+            final int mask = this.grams.length - 1;
+            int i = hash(gram) & mask;
+            while (this.grams[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            this.grams[i] = gram;
+            this.postings[i] = posting;
+            this.size++;
+        }
+
+        private static int hash(final long gram) {
+            final long hash = gram * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ hash >>> 32);
+        }
+    }
+}
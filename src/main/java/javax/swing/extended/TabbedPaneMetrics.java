@@ -0,0 +1,206 @@
+package javax.swing.extended;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counters and latency histograms of the hot paths of a
+ * {@link JTabbedPaneExtended}, registered as MXBean by
+ * {@link JTabbedPaneExtended#setMetricsEnabled(boolean)}.
+ *
+ * Latencies are recorded on the event dispatch thread into histograms with
+ * power of two buckets, bucket {@code i} counts the durations from
+ * {@code 2^i} up to {@code 2^(i+1)} nanoseconds. They can be read from any
+ * thread.
+ *
+ * @author Jörg Wille
+ */
+public final class TabbedPaneMetrics implements TabbedPaneMetricsMXBean {
+
+    /**
+     * The recorded operations.
+     */
+    public enum Operation {
+        PAINT, PAINT_TAB, LAYOUT, SCROLL_TAB_TO_VISIBLE, SET_SELECTED_INDEX, POPUP_OPEN
+    }
+
+    private static final int COUNT = 0;
+    private static final int TOTAL = 1;
+    private static final int MAX = 2;
+    private static final int BUCKETS = 3;
+    private static final int BUCKET_COUNT = 64;
+
+    // One array per operation: count, total and max nanoseconds, followed by the buckets.
+    private final AtomicLongArray[] operations = new AtomicLongArray[Operation.values().length];
+    private final AtomicLong suppressedInvalidations = new AtomicLong();
+
+    TabbedPaneMetrics() {
+        for (int i = 0; i < this.operations.length; i++) {
+            this.operations[i] = new AtomicLongArray(BUCKETS + BUCKET_COUNT);
+        }
+    }
+
+    /**
+     * Records an operation, which has been started at the given time. Must be
+     * called on the event dispatch thread.
+     *
+     * @param operation the operation.
+     * @param startNanos the start time of the operation, a value of
+     * {@link System#nanoTime()}.
+     */
+    public void record(final Operation operation, final long startNanos) {
+        final long nanos = Math.max(0, System.nanoTime() - startNanos);
+        final AtomicLongArray values = this.operations[operation.ordinal()];
+        // There is a single writer, so lazySet suffices to publish the values.
+        values.lazySet(COUNT, values.get(COUNT) + 1);
+        values.lazySet(TOTAL, values.get(TOTAL) + nanos);
+        if (nanos > values.get(MAX)) {
+            values.lazySet(MAX, nanos);
+        }
+        final int bucket = nanos == 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos);
+        values.lazySet(BUCKETS + bucket, values.get(BUCKETS + bucket) + 1);
+    }
+
+    void invalidationSuppressed() {
+        this.suppressedInvalidations.lazySet(this.suppressedInvalidations.get() + 1);
+    }
+
+    /**
+     * Returns a snapshot of the statistics of an operation.
+     *
+     * @param operation the operation.
+     * @return the statistics.
+     */
+    public OperationStatistics getStatistics(final Operation operation) {
+        final AtomicLongArray values = this.operations[operation.ordinal()];
+        final long[] histogram = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            histogram[i] = values.get(BUCKETS + i);
+        }
+        return new OperationStatistics(values.get(COUNT), values.get(TOTAL), values.get(MAX), histogram);
+    }
+
+    @Override
+    public OperationStatistics getPaint() {
+        return this.getStatistics(Operation.PAINT);
+    }
+
+    @Override
+    public OperationStatistics getPaintTab() {
+        return this.getStatistics(Operation.PAINT_TAB);
+    }
+
+    @Override
+    public OperationStatistics getLayout() {
+        return this.getStatistics(Operation.LAYOUT);
+    }
+
+    @Override
+    public OperationStatistics getScrollTabToVisible() {
+        return this.getStatistics(Operation.SCROLL_TAB_TO_VISIBLE);
+    }
+
+    @Override
+    public OperationStatistics getSetSelectedIndex() {
+        return this.getStatistics(Operation.SET_SELECTED_INDEX);
+    }
+
+    @Override
+    public OperationStatistics getPopupOpen() {
+        return this.getStatistics(Operation.POPUP_OPEN);
+    }
+
+    @Override
+    public long getSuppressedInvalidations() {
+        return this.suppressedInvalidations.get();
+    }
+
+    @Override
+    public void reset() {
+        for (final AtomicLongArray values : this.operations) {
+            for (int i = 0; i < values.length(); i++) {
+                values.set(i, 0);
+            }
+        }
+        this.suppressedInvalidations.set(0);
+    }
+
+    /**
+     * An immutable snapshot of the statistics of an operation.
+     */
+    public static final class OperationStatistics {
+
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] histogram;
+
+        private OperationStatistics(final long count, final long totalNanos, final long maxNanos, final long[] histogram) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.histogram = histogram;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public long getTotalNanos() {
+            return this.totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return this.maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return this.count == 0 ? 0 : this.totalNanos / this.count;
+        }
+
+        /**
+         * @return the upper bound of the histogram bucket holding the median.
+         */
+        public long getP50Nanos() {
+            return this.getPercentileNanos(0.5);
+        }
+
+        /**
+         * @return the upper bound of the histogram bucket holding the 99th
+         * percentile.
+         */
+        public long getP99Nanos() {
+            return this.getPercentileNanos(0.99);
+        }
+
+        /**
+         * @return the histogram, element {@code i} counts the durations from
+         * {@code 2^i} up to {@code 2^(i+1)} nanoseconds.
+         */
+        public long[] getHistogram() {
+            return this.histogram.clone();
+        }
+
+        private long getPercentileNanos(final double percentile) {
+            long total = 0;
+            for (final long bucketCount : this.histogram) {
+                total += bucketCount;
+            }
+            final long rank = (long) Math.ceil(percentile * total);
+            long seen = 0;
+            for (int i = 0; i < this.histogram.length; i++) {
+                seen += this.histogram[i];
+                if (seen >= rank && seen > 0) {
+                    return i >= 62 ? Long.MAX_VALUE : (2L << i) - 1;
+                }
+            }
+            return 0;
+        }
+
+        @Override
+        public String toString() {
+            return "count=" + this.count + ", mean=" + this.getMeanNanos() + "ns, p50<=" + this.getP50Nanos()
+                    + "ns, p99<=" + this.getP99Nanos() + "ns, max=" + this.maxNanos + "ns";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package javax.swing.extended;
+
+/**
+ * Management interface of the {@link TabbedPaneMetrics} of a
+ * {@link JTabbedPaneExtended}, see
+ * {@link JTabbedPaneExtended#setMetricsEnabled(boolean)}.
+ *
+ * @author Jörg Wille
+ */
+public interface TabbedPaneMetricsMXBean {
+
+    /**
+     * @return the statistics of painting the tabbed pane by its UI.
+     */
+    TabbedPaneMetrics.OperationStatistics getPaint();
+
+    /**
+     * @return the statistics of painting a single tab.
+     */
+    TabbedPaneMetrics.OperationStatistics getPaintTab();
+
+    /**
+     * @return the statistics of laying out the tabbed pane.
+     */
+    TabbedPaneMetrics.OperationStatistics getLayout();
+
+    /**
+     * @return the statistics of scrolling a tab into the visible area.
+     */
+    TabbedPaneMetrics.OperationStatistics getScrollTabToVisible();
+
+    /**
+     * @return the statistics of selecting a tab.
+     */
+    TabbedPaneMetrics.OperationStatistics getSetSelectedIndex();
+
+    /**
+     * @return the statistics of opening the tab list pop-up.
+     */
+    TabbedPaneMetrics.OperationStatistics getPopupOpen();
+
+    /**
+     * @return the number of invalidations suppressed during batch updates.
+     */
+    long getSuppressedInvalidations();
+
+    /**
+     * Resets all counters and histograms.
+     */
+    void reset();
+}
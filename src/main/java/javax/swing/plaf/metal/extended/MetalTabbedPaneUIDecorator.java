@@ -7,17 +7,38 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.FlowLayout;
 import java.awt.Font;
+import java.awt.FontMetrics;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Insets;
 import java.awt.LayoutManager;
 import java.awt.Point;
 import java.awt.Rectangle;
+import java.awt.RenderingHints;
 import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
+import java.awt.event.MouseMotionListener;
+import java.awt.event.MouseWheelEvent;
+import java.awt.event.MouseWheelListener;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeListener;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.swing.AbstractAction;
+import javax.swing.AbstractListModel;
 import javax.swing.BorderFactory;
-import javax.swing.DefaultListModel;
+import javax.swing.Action;
+import javax.swing.Icon;
 import javax.swing.JButton;
 import javax.swing.JComponent;
 import javax.swing.JLabel;
@@ -26,8 +47,11 @@ import javax.swing.JPanel;
 import javax.swing.JPopupMenu;
 import javax.swing.JScrollPane;
 import javax.swing.JTabbedPane;
+import javax.swing.JTextField;
 import javax.swing.JViewport;
+import javax.swing.KeyStroke;
 import javax.swing.ListCellRenderer;
+import javax.swing.LookAndFeel;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingConstants;
 import static javax.swing.SwingConstants.BOTTOM;
@@ -35,13 +59,27 @@ import static javax.swing.SwingConstants.LEFT;
 import static javax.swing.SwingConstants.RIGHT;
 import static javax.swing.SwingConstants.SOUTH;
 import static javax.swing.SwingConstants.TOP;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 import javax.swing.UIManager;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import javax.swing.event.PopupMenuEvent;
+import javax.swing.event.PopupMenuListener;
 import javax.swing.extended.ClosableTabComponent;
 import javax.swing.extended.JTabbedPaneExtended;
+import javax.swing.extended.TabImageCache;
+import javax.swing.extended.TabCloseEvent;
+import javax.swing.extended.TabListModel;
+import javax.swing.extended.TabTitleIndex;
+import javax.swing.extended.TabbedPaneMetrics;
 import javax.swing.plaf.ColorUIResource;
 import javax.swing.plaf.UIResource;
+import javax.swing.plaf.basic.BasicHTML;
 import javax.swing.plaf.basic.BasicTabbedPaneUI;
 import javax.swing.plaf.metal.MetalTabbedPaneUI;
 
@@ -50,31 +88,85 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
     private JViewport tabViewport;
     private JPanel tabContainer;
     private JButton tabListButton;
-    private JButton scrollForwardButton;
-    private JButton scrollBackwardButton;
+    private ScrollableTabButton scrollForwardButton;
+    private ScrollableTabButton scrollBackwardButton;
     private ChangeListener delegateStateChangeListener;
+    private ChangeListener tabViewportChangeListener;
+    private TabWheelScroller tabWheelScroller;
     private ChangeListener originalStateChangeListener;
     private MouseListener delegateMouseListener;
     private MouseListener originalMouseListener;
     private boolean tabsOverlapBorder;
-    private int leadingTabIndex;
+    // The defaults BasicTabbedPaneUI looks up on each paint of the content border.
+    private boolean contentOpaque;
+    private Color contentAreaColor;
+    private Color selectedContentColor;
     private final Point tabViewPosition = new Point(0, 0);
-
-    private void setLeadingTabIndex(final int tabPlacement, final int index) {
-        leadingTabIndex = index;
-        final Dimension viewSize = tabViewport.getViewSize();
-        final Rectangle viewRect = tabViewport.getViewRect();
+    // Reused by the paint and layout paths to avoid allocations.
+    private final Insets paintInsets = new Insets(0, 0, 0, 0);
+    private final Rectangle layoutTabBounds = new Rectangle();
+    private final Rectangle paintIconRect = new Rectangle();
+    private final Rectangle paintTextRect = new Rectangle();
+    private final Rectangle paintClipBounds = new Rectangle();
+    private final TabImageKey tabImageLookupKey = new TabImageKey();
+    private final Dimension tabViewSize = new Dimension();
+    private final Dimension tabViewExtentSize = new Dimension();
+    private final Rectangle damagedTabBounds = new Rectangle();
+    private final Rectangle damagedNeighbourBounds = new Rectangle();
+    // Selected index and tab count at the last state change, to repaint the damaged tabs only.
+    private int lastSelectedIndex = -1;
+    // Set while the original listener handles a state change whose damaged tabs are repainted only.
+    private boolean fullRepaintSuppressed = false;
+    // Set while the original listener handles a selection change the tabbed pane has been laid out for already.
+    private boolean revalidateSuppressed = false;
+    // Positional widths of the tabs, -1 if not measured yet.
+    private int[] tabWidths = new int[16];
+    private int tabWidthCount = -1;
+    private LookAndFeel installedLookAndFeel;
+    private Insets installedTabInsets;
+    private int installedTextIconGap;
+    // Widths of plain text titles measured with textWidthFont and textWidthRenderContext.
+    private final Map<String, Integer> textWidths = new HashMap<>();
+    private Font textWidthFont;
+    private FontRenderContext textWidthRenderContext;
+    // Height of the virtualized tab components of plain text titles, measured with virtualTabHeightFont.
+    private int virtualTabHeight = -1;
+    private Font virtualTabHeightFont;
+    // The tabs whose painted close button is under the mouse or pressed, -1 if none.
+    private int closeButtonRolloverIndex = -1;
+    private int closeButtonPressedIndex = -1;
+    private final Rectangle closeButtonTabBounds = new Rectangle();
+    private final Rectangle closeButtonBounds = new Rectangle();
+    private final Rectangle closeButtonLabelBounds = new Rectangle();
+    private int lastTabCount = -1;
+    // Gap between the forward scroll button and the tab list button.
+    private static final int TAB_LIST_BUTTON_GAP = 2;
+    // Pixels scrolled per unit of mouse wheel rotation, a notch scrolls three units by default.
+    private static final int WHEEL_UNIT_INCREMENT = 16;
+    // Wheel scrolling applies the events of a display frame at once.
+    private static final int WHEEL_FRAME_MILLIS = 16;
+    // Wheel scrolling has stopped, if no event came within this delay.
+    private static final int WHEEL_SNAP_DELAY_MILLIS = 150;
+    // Stands in for the tab rects while the original state change listener must not scroll to the selected tab.
+    private static final Rectangle[] NO_RECTS = new Rectangle[0];
+    private static final Set<String> TAB_IMAGE_PROPERTIES = new HashSet<>(Arrays.asList(
+            "font", "foreground", "background", "enabled", "opaque", "componentOrientation", "tabPlacement"));
+
+    private void setLeadingTabIndex(final int tabPlacement, final int leadingTabIndex) {
+        // The view and the viewport are laid out, so their sizes are the view
+        // size and the extent size, read without the copies of the viewport.
+        final Dimension viewSize = tabViewport.getView().getSize(tabViewSize);
+        final Dimension extentSize = tabViewport.getSize(tabViewExtentSize);
 
         switch (tabPlacement) {
             case TOP:
             case BOTTOM:
                 tabViewPosition.x = leadingTabIndex == 0 ? 0 : rects[leadingTabIndex].x;
 
-                if ((viewSize.width - tabViewPosition.x) < viewRect.width) {
+                if ((viewSize.width - tabViewPosition.x) < extentSize.width) {
                     // We've scrolled to the end, so adjust the viewport size
                     // to ensure the view position remains aligned on a tab boundary
-                    final Dimension extentSize = new Dimension(viewSize.width - tabViewPosition.x,
-                            viewRect.height);
+                    extentSize.width = viewSize.width - tabViewPosition.x;
                     tabViewport.setExtentSize(extentSize);
                 }
                 break;
@@ -82,28 +174,115 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
             case RIGHT:
                 tabViewPosition.y = leadingTabIndex == 0 ? 0 : rects[leadingTabIndex].y;
 
-                if ((viewSize.height - tabViewPosition.y) < viewRect.height) {
+                if ((viewSize.height - tabViewPosition.y) < extentSize.height) {
                     // We've scrolled to the end, so adjust the viewport size
                     // to ensure the view position remains aligned on a tab boundary
-                    final Dimension extentSize = new Dimension(viewRect.width,
-                            viewSize.height - tabViewPosition.y);
+                    extentSize.height = viewSize.height - tabViewPosition.y;
                     tabViewport.setExtentSize(extentSize);
                 }
         }
         tabViewport.setViewPosition(tabViewPosition);
     }
 
+    /**
+     * Returns the offset of a tab along the tab run, the view position at
+     * which this tab is the leading tab.
+     */
+    private int getTabOffset(final int tabIndex, final boolean horizontal) {
+        if (tabIndex == 0) {
+            return 0;
+        }
+        return horizontal ? rects[tabIndex].x : rects[tabIndex].y;
+    }
+
+    /**
+     * Returns the index of the first tab whose offset is greater than the
+     * given value, or {@code tabCount} if there is no such tab. The offsets
+     * ascend in scroll tab layout, so a binary search is used.
+     */
+    private int indexOfFirstTabOffsetAbove(final int value, final boolean horizontal, final int tabCount) {
+        int low = 0;
+        int high = tabCount;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (getTabOffset(mid, horizontal) <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the index of the tab at the leading edge of the tab viewport,
+     * derived from the view position, so it is also correct after the
+     * scroll buttons moved the view. Tabs added since the last layout have
+     * no bounds yet and are not searched.
+     */
+    private int getLeadingTabIndex(final boolean horizontal, final int tabCount) {
+        final Component view = tabViewport.getView();
+        final int laidOutTabCount = Math.min(tabCount, rects.length);
+        if (view == null || laidOutTabCount == 0) {
+            return 0;
+        }
+        final int viewPosition = horizontal ? -view.getX() : -view.getY();
+        return Math.max(0, indexOfFirstTabOffsetAbove(viewPosition, horizontal, laidOutTabCount) - 1);
+    }
+
+    /**
+     * Returns the index of the tab at the leading edge of the tab viewport.
+     *
+     * @return the leading tab index, 0 if the tab layout policy is not
+     * {@code SCROLL_TAB_LAYOUT}.
+     */
+    public int getLeadingTabIndex() {
+        if (!isScrollTabLayout() || tabViewport == null) {
+            return 0;
+        }
+        final int tabPlacement = tabPane.getTabPlacement();
+        return getLeadingTabIndex(tabPlacement == TOP || tabPlacement == BOTTOM, tabPane.getTabCount());
+    }
+
+    /**
+     * Scrolls the tab viewport, so that the given tab is at its leading edge.
+     * Requires the tab layout policy {@code SCROLL_TAB_LAYOUT} and the tabs
+     * to be laid out.
+     *
+     * @param leadingTabIndex the index of the new leading tab.
+     * @return {@code false} if the tab viewport could not be scrolled.
+     */
+    public boolean setLeadingTabIndex(final int leadingTabIndex) {
+        if (!isScrollTabLayout() || tabViewport == null || tabPane.getWidth() == 0
+                || leadingTabIndex < 0 || leadingTabIndex >= Math.min(tabPane.getTabCount(), rects.length)) {
+            return false;
+        }
+        setLeadingTabIndex(tabPane.getTabPlacement(), leadingTabIndex);
+        return true;
+    }
+
     /**
      * Scrolls tab with a specified to the visible area. If the tabbed pane has
      * the JTabbedPane.WRAP_TAB_LAYOUT layout policy then this method does
      * nothing.
      *
+     * The new leading tab is computed by a binary search over the tab
+     * offsets and the view position is set once.
+     *
      * Adapted from GrepCode / com.jetbrains / intellij-idea
      *
      * @param index Index of the tab to which we want to scroll.
      */
     public final void scrollTabToVisible(final int index) {
+        final TabbedPaneMetrics metrics = getMetrics();
+        final long start = metrics != null ? System.nanoTime() : 0;
+        scrollTabToVisibleImpl(index);
+        if (metrics != null) {
+            metrics.record(TabbedPaneMetrics.Operation.SCROLL_TAB_TO_VISIBLE, start);
+        }
+    }
 
+    private void scrollTabToVisibleImpl(final int index) {
         // Do nothing, if tab scrolling isn't supported by the currently selected UI.
         if (!isScrollTabLayout()) {
             return;
@@ -112,55 +291,118 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
             return;
         }
 
-        Rectangle tabBounds = getTabBounds(tabPane, index);
+        final Rectangle tabBounds = getTabBounds(tabPane, index);
         final int tabPlacement = tabPane.getTabPlacement();
-
-        if (tabPlacement == TOP || tabPlacement == BOTTOM) { // Tabs are on top or bottom side.
-            int tabbedPaneWidth = tabPane.getWidth();
-            // No scrolling, if the tabbedPane has not been layout yet.
-            if (tabbedPaneWidth == 0) {
-                return;
+        final int tabCount = tabPane.getTabCount();
+        final boolean horizontal = tabPlacement == TOP || tabPlacement == BOTTOM;
+
+        // Tabs on top or bottom side keep a margin of 50px, tabs on left or right side of 30px.
+        final int margin = horizontal ? 50 : 30;
+        final int tabbedPaneSize = horizontal ? tabPane.getWidth() : tabPane.getHeight();
+        // No scrolling, if the tabbedPane has not been layout yet.
+        if (tabbedPaneSize == 0) {
+            return;
+        }
+        final int tabStart = horizontal ? tabBounds.x : tabBounds.y;
+        final int tabSize = horizontal ? tabBounds.width : tabBounds.height;
+        final int leadingTabIndex = getLeadingTabIndex(horizontal, tabCount);
+        // The view position need not be aligned on a tab boundary after wheel scrolling.
+        final int viewPosition = getViewPosition(horizontal);
+        // Moving the leading tab to offset(L) places the tab at: tabPosition - offset(L).
+        final int tabPosition = tabStart + viewPosition;
+
+        int newLeadingTabIndex = leadingTabIndex;
+        boolean scroll = false;
+        if (tabStart < margin) { // If tab is before the visible area.
+            scroll = true;
+            // Last leading tab, that moves the tab behind the margin.
+            final int lastFitting = indexOfFirstTabOffsetAbove(tabPosition - margin, horizontal, tabCount) - 1;
+            newLeadingTabIndex = Math.max(0, lastFitting);
+            if (index <= leadingTabIndex) {
+                newLeadingTabIndex = Math.max(newLeadingTabIndex, index);
             }
-            if (tabBounds.x < 50) { // If tab is to the left of visible area.
-                int lTIndex = this.leadingTabIndex;
-                while (lTIndex != index && lTIndex > 0 && tabBounds.x < 50) {
-                    setLeadingTabIndex(tabPlacement, lTIndex - 1);
-                    lTIndex = this.leadingTabIndex;
-                    tabBounds = getTabBounds(tabPane, index);
-                }
-            } // If tab's right side is out of visible range.
-            else if (tabBounds.x + tabBounds.width > tabbedPaneWidth - 50) {
-                int lTIndex = this.leadingTabIndex;
-                while (lTIndex != index && lTIndex < tabPane.getTabCount() - 1
-                        && tabBounds.x + tabBounds.width > tabbedPaneWidth - 50) {
-                    setLeadingTabIndex(tabPlacement, lTIndex + 1);
-                    lTIndex = this.leadingTabIndex;
-                    tabBounds = getTabBounds(tabPane, index);
-                }
-            }
-        } else { // Tabs are on left or right side.
-            final int tabbedPaneHeight = tabPane.getHeight();
-            // No scrolling, if the tabbedPane has not been layout yet.
-            if (tabbedPaneHeight == 0) {
-                return;
+            newLeadingTabIndex = Math.min(newLeadingTabIndex, leadingTabIndex);
+        } else if (tabStart + tabSize > tabbedPaneSize - margin) { // If tab's end is out of visible range.
+            scroll = true;
+            // First leading tab, that moves the tab's end before the margin.
+            final int firstFitting = indexOfFirstTabOffsetAbove(
+                    tabPosition + tabSize - (tabbedPaneSize - margin) - 1, horizontal, tabCount);
+            newLeadingTabIndex = Math.min(tabCount - 1, firstFitting);
+            if (index >= leadingTabIndex) {
+                newLeadingTabIndex = Math.min(newLeadingTabIndex, index);
             }
-            if (tabBounds.y < 30) { // If tab is above visible area.
-                int lTIndex = this.leadingTabIndex;
-                while (lTIndex != index && lTIndex > 0 && tabBounds.y < 30) {
-                    setLeadingTabIndex(tabPlacement, lTIndex - 1);
-                    lTIndex = this.leadingTabIndex;
-                    tabBounds = getTabBounds(tabPane, index);
-                }
-            } else if (tabBounds.y + tabBounds.height > tabPane.getHeight() - 30) { // Tab below visible area.
-                int lTIndex = this.leadingTabIndex;
-                while (lTIndex != index && lTIndex < tabPane.getTabCount() - 1
-                        && tabBounds.y + tabBounds.height > tabPane.getHeight() - 30) {
-                    setLeadingTabIndex(tabPlacement, lTIndex + 1);
-                    lTIndex = this.leadingTabIndex;
-                    tabBounds = getTabBounds(tabPane, index);
-                }
+            newLeadingTabIndex = Math.max(newLeadingTabIndex, leadingTabIndex);
+        }
+        if (scroll && getTabOffset(newLeadingTabIndex, horizontal) != viewPosition) {
+            setLeadingTabIndex(tabPlacement, newLeadingTabIndex);
+        }
+    }
+
+    /**
+     * Returns the view position along the tab run, the offset of the leading
+     * edge of the tab viewport within the tabs.
+     */
+    private int getViewPosition(final boolean horizontal) {
+        final Component view = tabViewport.getView();
+        if (view == null) {
+            return 0;
+        }
+        return horizontal ? -view.getX() : -view.getY();
+    }
+
+    /**
+     * Scrolls the tab viewport by a number of pixels along the tab run,
+     * without aligning the view position on a tab boundary. The view position
+     * is kept within the tabs. Requires the tab layout policy
+     * {@code SCROLL_TAB_LAYOUT}.
+     *
+     * @param pixels the pixels to scroll, negative to scroll backward.
+     * @return the pixels actually scrolled.
+     */
+    public int scrollTabsBy(final int pixels) {
+        if (!isScrollTabLayout() || tabViewport == null || tabViewport.getView() == null) {
+            return 0;
+        }
+        final int tabPlacement = tabPane.getTabPlacement();
+        final boolean horizontal = tabPlacement == TOP || tabPlacement == BOTTOM;
+        final Dimension viewSize = tabViewport.getViewSize();
+        final Dimension extentSize = tabViewport.getExtentSize();
+        final int maxPosition = Math.max(0,
+                horizontal ? viewSize.width - extentSize.width : viewSize.height - extentSize.height);
+        final int position = getViewPosition(horizontal);
+        final int newPosition = Math.max(0, Math.min(maxPosition, position + pixels));
+        if (newPosition != position) {
+            tabViewPosition.x = horizontal ? newPosition : 0;
+            tabViewPosition.y = horizontal ? 0 : newPosition;
+            tabViewport.setViewPosition(tabViewPosition);
+        }
+        return newPosition - position;
+    }
+
+    /**
+     * Scrolls the tab viewport to the nearest tab boundary, so that the
+     * leading tab is shown completely, unless the end of the tabs is reached.
+     */
+    private void snapToTabBoundary() {
+        if (!isScrollTabLayout() || tabViewport == null) {
+            return;
+        }
+        final int tabPlacement = tabPane.getTabPlacement();
+        final int tabCount = tabPane.getTabCount();
+        if (tabCount == 0 || rects.length < tabCount || !isTabRunAscending(tabPlacement, tabCount)) {
+            return;
+        }
+        final boolean horizontal = tabPlacement == TOP || tabPlacement == BOTTOM;
+        final int position = getViewPosition(horizontal);
+        final int leadingTabIndex = getLeadingTabIndex(horizontal, tabCount);
+        int boundary = getTabOffset(leadingTabIndex, horizontal);
+        if (leadingTabIndex + 1 < tabCount) {
+            final int nextBoundary = getTabOffset(leadingTabIndex + 1, horizontal);
+            if (nextBoundary - position < position - boundary) {
+                boundary = nextBoundary;
             }
         }
+        scrollTabsBy(boundary - position);
     }
 
     @Override
@@ -209,6 +451,15 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         this.delegateStateChangeListener = this::stateChanged;
         this.delegateMouseListener = new DelegationMouseListener();
         super.installListeners();
+        tabPane.addMouseMotionListener((MouseMotionListener) this.delegateMouseListener);
+    }
+
+    @Override
+    protected void uninstallListeners() {
+        tabPane.removeMouseMotionListener((MouseMotionListener) this.delegateMouseListener);
+        super.uninstallListeners();
+        closeButtonRolloverIndex = -1;
+        closeButtonPressedIndex = -1;
     }
 
     @Override
@@ -217,6 +468,27 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         return this.delegateStateChangeListener;
     }
 
+    /**
+     * Releases the cached tab images when a property of the tabbed pane
+     * affecting all tabs changes. Changes of a single tab yield new keys of
+     * the cache, so their outdated images age out.
+     */
+    @Override
+    protected PropertyChangeListener createPropertyChangeListener() {
+        final PropertyChangeListener originalPropertyChangeListener = super.createPropertyChangeListener();
+        return evt -> {
+            final TabImageCache tabImageCache = getTabImageCache();
+            if (tabImageCache != null && TAB_IMAGE_PROPERTIES.contains(evt.getPropertyName())) {
+                tabImageCache.clear();
+            }
+            if ("enabled".equals(evt.getPropertyName())) {
+                // Disabled tabs show their disabled icons.
+                tabWidthCount = -1;
+            }
+            originalPropertyChangeListener.propertyChange(evt);
+        };
+    }
+
     @Override
     protected MouseListener createMouseListener() {
         this.originalMouseListener = super.createMouseListener();
@@ -227,6 +499,42 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
     protected void installDefaults() {
         super.installDefaults();
         tabsOverlapBorder = UIManager.getBoolean("TabbedPane.tabsOverlapBorder");
+        contentOpaque = UIManager.getBoolean("TabbedPane.contentOpaque");
+        contentAreaColor = UIManager.getColor("TabbedPane.contentAreaColor");
+        selectedContentColor = UIManager.getColor("TabbedPane.selected");
+        installTabDefaults();
+    }
+
+    /**
+     * Installs the changed tab insets and text icon gap of the tabbed pane,
+     * without reinstalling the UI. Called by {@code JTabbedPaneExtended}.
+     */
+    public void tabDefaultsChanged() {
+        installTabDefaults();
+    }
+
+    private void installTabDefaults() {
+        // The tabbed pane keeps its own defaults instead of the shared ones of the UIManager.
+        if (tabPane instanceof JTabbedPaneExtended) {
+            tabInsets = getExtendedTabbedPane().getTabInsets();
+            textIconGap = getExtendedTabbedPane().getTextIconGap();
+        }
+        // The widths and images of another look and feel or other tab
+        // defaults are outdated, whereas reinstalling the UI keeps them.
+        final LookAndFeel lookAndFeel = UIManager.getLookAndFeel();
+        if (lookAndFeel != installedLookAndFeel || !tabInsets.equals(installedTabInsets)
+                || textIconGap != installedTextIconGap) {
+            installedLookAndFeel = lookAndFeel;
+            installedTabInsets = (Insets) tabInsets.clone();
+            installedTextIconGap = textIconGap;
+            textWidths.clear();
+            tabWidthCount = -1;
+            virtualTabHeight = -1;
+            final TabImageCache tabImageCache = getTabImageCache();
+            if (tabImageCache != null) {
+                tabImageCache.clear();
+            }
+        }
     }
 
     @Override
@@ -236,11 +544,12 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
 
         if (isScrollTabLayout()) { // SCROLL_TAB_LAYOUT
             // Need to translate coordinates based on viewport location &
-            // view position
-            Point vpp = tabViewport.getLocation();
-            Point viewp = tabViewport.getViewPosition();
-            dest.x = rects[tabIndex].x + vpp.x - viewp.x;
-            dest.y = rects[tabIndex].y + vpp.y - viewp.y;
+            // view position, the view position is the negated view location.
+            final Component view = tabViewport.getView();
+            final int viewX = view != null ? view.getX() : 0;
+            final int viewY = view != null ? view.getY() : 0;
+            dest.x = rects[tabIndex].x + tabViewport.getX() + viewX;
+            dest.y = rects[tabIndex].y + tabViewport.getY() + viewY;
 
         } else { // WRAP_TAB_LAYOUT
             dest.x = rects[tabIndex].x;
@@ -249,6 +558,284 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         return dest;
     }
 
+    /**
+     * Returns the width of a tab, which is measured once and kept by position.
+     * {@code JTabbedPaneExtended} shifts the kept widths when a tab is
+     * inserted or removed and forgets the width of a changed tab, so a relayout
+     * after a structural change or a resize only measures the changed tabs.
+     * The width of a tab component is measured again, whenever the component
+     * has been invalidated.
+     */
+    @Override
+    protected int calculateTabWidth(int tabPlacement, int tabIndex, FontMetrics metrics) {
+        ensureTabWidths(metrics);
+        final Component tabComponent = tabPane.getTabComponentAt(tabIndex);
+        if (tabWidths[tabIndex] >= 0 && (tabComponent == null || tabComponent.isValid())) {
+            return tabWidths[tabIndex];
+        }
+        int width = measureTabWidth(tabPlacement, tabIndex, tabComponent, metrics);
+        if (isCloseButtonPainted(tabIndex)) {
+            width += textIconGap + ClosableTabComponent.TAB_BUTTON_SIZE;
+        }
+        tabWidths[tabIndex] = width;
+        return width;
+    }
+
+    /**
+     * Forgets all widths, if the font or render context changed, and adapts
+     * the kept widths to the tab count, if a change was not notified.
+     */
+    private void ensureTabWidths(final FontMetrics metrics) {
+        final FontRenderContext fontRenderContext = metrics.getFontRenderContext();
+        if (!metrics.getFont().equals(textWidthFont) || !fontRenderContext.equals(textWidthRenderContext)) {
+            textWidths.clear();
+            textWidthFont = metrics.getFont();
+            textWidthRenderContext = fontRenderContext;
+            tabWidthCount = -1;
+        }
+        final int tabCount = tabPane.getTabCount();
+        if (tabWidthCount != tabCount) {
+            if (tabWidths.length < tabCount) {
+                tabWidths = new int[Math.max(tabCount, 2 * tabWidths.length)];
+            }
+            Arrays.fill(tabWidths, 0, tabCount, -1);
+            tabWidthCount = tabCount;
+        }
+    }
+
+    /**
+     * Measures the width of a plain text title once for each title, font and
+     * render context, so renamed tabs reuse the widths of known titles.
+     */
+    private int measureTabWidth(final int tabPlacement, final int tabIndex, final Component tabComponent,
+            final FontMetrics metrics) {
+        final Dimension virtualSize = getVirtualTabComponentSize(tabIndex);
+        if (virtualSize != null) {
+            final Insets tabInsets = getTabInsets(tabPlacement, tabIndex);
+            return tabInsets.left + tabInsets.right + 3 + virtualSize.width;
+        }
+        final String title = tabPane.getTitleAt(tabIndex);
+        if (title == null || tabComponent != null || getTextViewForTab(tabIndex) != null) {
+            return super.calculateTabWidth(tabPlacement, tabIndex, metrics);
+        }
+        final Insets tabInsets = getTabInsets(tabPlacement, tabIndex);
+        final Icon icon = getIconForTab(tabIndex);
+        final int width = tabInsets.left + tabInsets.right + 3 + (icon != null ? icon.getIconWidth() + textIconGap : 0);
+
+        if (textWidths.size() > 2 * tabPane.getTabCount() + 64) {
+            // Drops the widths of removed or renamed tabs.
+            textWidths.clear();
+        }
+        final Integer textWidth = textWidths.get(title);
+        if (textWidth != null) {
+            return width + textWidth;
+        }
+        final int tabWidth = super.calculateTabWidth(tabPlacement, tabIndex, metrics);
+        textWidths.put(title, tabWidth - width);
+        return tabWidth;
+    }
+
+    /**
+     * Reserves the height of a virtualized tab component, which is not
+     * realized. The height does not depend on a plain text title, so it is
+     * measured once for each font.
+     */
+    @Override
+    protected int calculateTabHeight(int tabPlacement, int tabIndex, int fontHeight) {
+        if (isCloseButtonPainted(tabIndex)) {
+            final Insets tabInsets = getTabInsets(tabPlacement, tabIndex);
+            return Math.max(super.calculateTabHeight(tabPlacement, tabIndex, fontHeight),
+                    tabInsets.top + tabInsets.bottom + 2 + ClosableTabComponent.TAB_BUTTON_SIZE);
+        }
+        if (!isTabComponentVirtual(tabIndex)) {
+            return super.calculateTabHeight(tabPlacement, tabIndex, fontHeight);
+        }
+        final Insets tabInsets = getTabInsets(tabPlacement, tabIndex);
+        final String title = tabPane.getTitleAt(tabIndex);
+        if (BasicHTML.isHTMLString(title)) {
+            return tabInsets.top + tabInsets.bottom + 2 + getVirtualTabComponentSize(tabIndex).height;
+        }
+        if (virtualTabHeight < 0 || !tabPane.getFont().equals(virtualTabHeightFont)) {
+            virtualTabHeight = getVirtualTabComponentSize(tabIndex).height;
+            virtualTabHeightFont = tabPane.getFont();
+        }
+        return tabInsets.top + tabInsets.bottom + 2 + virtualTabHeight;
+    }
+
+    private Dimension getVirtualTabComponentSize(final int tabIndex) {
+        return tabPane instanceof JTabbedPaneExtended
+                ? ((JTabbedPaneExtended) tabPane).getVirtualTabComponentSize(tabIndex) : null;
+    }
+
+    private boolean isTabComponentVirtual(final int tabIndex) {
+        return tabPane instanceof JTabbedPaneExtended && ((JTabbedPaneExtended) tabPane).isTabComponentVirtual(tabIndex);
+    }
+
+    private boolean isCloseButtonPainted(final int tabIndex) {
+        return tabPane instanceof JTabbedPaneExtended && ((JTabbedPaneExtended) tabPane).isCloseButtonPaintedAt(tabIndex);
+    }
+
+    /**
+     * Centers title and icon of a tab with a painted close button in the space
+     * left of the button, or right of it in right-to-left orientation.
+     */
+    @Override
+    protected void layoutLabel(int tabPlacement, FontMetrics metrics, int tabIndex, String title, Icon icon,
+            Rectangle tabRect, Rectangle iconRect, Rectangle textRect, boolean isSelected) {
+        if (!isCloseButtonPainted(tabIndex)) {
+            super.layoutLabel(tabPlacement, metrics, tabIndex, title, icon, tabRect, iconRect, textRect, isSelected);
+            return;
+        }
+        final int reserved = textIconGap + ClosableTabComponent.TAB_BUTTON_SIZE;
+        final Rectangle labelRect = closeButtonLabelBounds;
+        labelRect.setBounds(tabRect.x, tabRect.y, tabRect.width - reserved, tabRect.height);
+        if (!tabPane.getComponentOrientation().isLeftToRight()) {
+            labelRect.x += reserved;
+        }
+        super.layoutLabel(tabPlacement, metrics, tabIndex, title, icon, labelRect, iconRect, textRect, isSelected);
+    }
+
+    /**
+     * Returns the bounds of the painted close button of a tab, at the trailing
+     * edge of the tab with the margin the label has at its leading edge.
+     */
+    private Rectangle getCloseButtonBounds(final int tabPlacement, final int tabIndex, final Rectangle tabRect,
+            final Rectangle dest) {
+        final Insets tabInsets = getTabInsets(tabPlacement, tabIndex);
+        final int size = ClosableTabComponent.TAB_BUTTON_SIZE;
+        final int margin = (tabInsets.left + tabInsets.right + 3) / 2;
+        final boolean isSelected = tabIndex == tabPane.getSelectedIndex();
+        dest.x = tabPane.getComponentOrientation().isLeftToRight()
+                ? tabRect.x + tabRect.width - margin - size : tabRect.x + margin;
+        dest.y = tabRect.y + (tabRect.height - size) / 2;
+        dest.x += getTabLabelShiftX(tabPlacement, tabIndex, isSelected);
+        dest.y += getTabLabelShiftY(tabPlacement, tabIndex, isSelected);
+        dest.width = size;
+        dest.height = size;
+        return dest;
+    }
+
+    private void paintCloseButton(final Graphics g, final int tabPlacement, final Rectangle tabRect, final int tabIndex) {
+        if (!(g instanceof Graphics2D) || !isCloseButtonPainted(tabIndex)) {
+            return;
+        }
+        final Rectangle bounds = getCloseButtonBounds(tabPlacement, tabIndex, tabRect, closeButtonBounds);
+        final boolean rollover = tabIndex == closeButtonRolloverIndex;
+        ClosableTabComponent.paintCloseButton((Graphics2D) g, bounds.x, bounds.y, bounds.width, bounds.height,
+                rollover, rollover && tabIndex == closeButtonPressedIndex);
+    }
+
+    /**
+     * Returns the state of the painted close button of a tab: 0 if there is
+     * none, 1 if idle, 2 on rollover and 3 if pressed.
+     */
+    private int getCloseButtonState(final int tabIndex) {
+        if (!isCloseButtonPainted(tabIndex)) {
+            return 0;
+        }
+        if (tabIndex != closeButtonRolloverIndex) {
+            return 1;
+        }
+        return tabIndex == closeButtonPressedIndex ? 3 : 2;
+    }
+
+    /**
+     * Returns the index of the tab whose painted close button is at the given
+     * location of the tabbed pane, or -1 if there is none.
+     */
+    private int closeButtonForCoordinate(final int x, final int y) {
+        // Moving the mouse must not validate the tabbed pane.
+        if (!(tabPane instanceof JTabbedPaneExtended) || !getExtendedTabbedPane().isCloseButtonsPainted()
+                || !tabPane.isValid()) {
+            return -1;
+        }
+        final int tabIndex = tabForCoordinate(tabPane, x, y);
+        if (tabIndex < 0 || !isCloseButtonPainted(tabIndex)) {
+            return -1;
+        }
+        final Rectangle bounds = getCloseButtonBounds(tabPane.getTabPlacement(), tabIndex,
+                getTabBounds(tabIndex, closeButtonTabBounds), closeButtonBounds);
+        return bounds.contains(x, y) ? tabIndex : -1;
+    }
+
+    private void repaintCloseButton(final int tabIndex) {
+        if (tabIndex >= 0 && tabIndex < tabPane.getTabCount()) {
+            tabPane.repaint(getCloseButtonBounds(tabPane.getTabPlacement(), tabIndex,
+                    getTabBounds(tabIndex, closeButtonTabBounds), closeButtonBounds));
+        }
+    }
+
+    private void setCloseButtonRolloverIndex(final int tabIndex) {
+        if (tabIndex != closeButtonRolloverIndex) {
+            repaintCloseButton(closeButtonRolloverIndex);
+            closeButtonRolloverIndex = tabIndex;
+            repaintCloseButton(tabIndex);
+        }
+    }
+
+    // The title of a tab with a virtualized tab component is shown by the component, once realized.
+    @Override
+    protected void paintText(Graphics g, int tabPlacement, Font font, FontMetrics metrics, int tabIndex,
+            String title, Rectangle textRect, boolean isSelected) {
+        if (!isTabComponentVirtual(tabIndex)) {
+            super.paintText(g, tabPlacement, font, metrics, tabIndex, title, textRect, isSelected);
+        }
+    }
+
+    @Override
+    protected void paintIcon(Graphics g, int tabPlacement, int tabIndex, Icon icon, Rectangle iconRect,
+            boolean isSelected) {
+        if (!isTabComponentVirtual(tabIndex)) {
+            super.paintIcon(g, tabPlacement, tabIndex, icon, iconRect, isSelected);
+        }
+    }
+
+    /**
+     * Shifts the kept tab widths behind an inserted tab. Called by
+     * {@code JTabbedPaneExtended}.
+     *
+     * @param index the index of the inserted tab.
+     */
+    public void tabInserted(final int index) {
+        if (tabWidthCount != tabPane.getTabCount() - 1 || index < 0 || index > tabWidthCount) {
+            tabWidthCount = -1;
+            return;
+        }
+        if (tabWidths.length == tabWidthCount) {
+            tabWidths = Arrays.copyOf(tabWidths, Math.max(16, 2 * tabWidthCount));
+        }
+        System.arraycopy(tabWidths, index, tabWidths, index + 1, tabWidthCount - index);
+        tabWidths[index] = -1;
+        tabWidthCount++;
+    }
+
+    /**
+     * Shifts the kept tab widths behind a removed tab. Called by
+     * {@code JTabbedPaneExtended}.
+     *
+     * @param index the index of the removed tab.
+     */
+    public void tabRemoved(final int index) {
+        if (tabWidthCount != tabPane.getTabCount() + 1 || index < 0 || index >= tabWidthCount) {
+            tabWidthCount = -1;
+            return;
+        }
+        System.arraycopy(tabWidths, index + 1, tabWidths, index, tabWidthCount - index - 1);
+        tabWidthCount--;
+    }
+
+    /**
+     * Forgets the kept width of a tab whose title, icon, enabled state or tab
+     * component changed. Called by {@code JTabbedPaneExtended}.
+     *
+     * @param index the index of the changed tab.
+     */
+    public void tabChanged(final int index) {
+        if (index >= 0 && index < tabWidthCount) {
+            tabWidths[index] = -1;
+        }
+    }
+
     @Override
     protected JButton createScrollButton(int direction) {
         if (direction != SOUTH && direction != NORTH && direction != EAST
@@ -258,24 +845,12 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         }
 
         if (direction == WEST || direction == NORTH) {
-            scrollBackwardButton = new ScrollableTabButton(direction) {
-                @Override
-                protected void fireActionPerformed(ActionEvent event) {
-                    runWithOriginalLayoutManager(() -> {
-                        superFireActionPerformed(event);
-                    });
-                }
-            };
+            scrollBackwardButton = new ScrollableTabButton(direction);
             return scrollBackwardButton;
         } else { // direction == EAST || direction == SOUTH) {
-            scrollForwardButton = new ScrollableTabButton(direction) {
-                @Override
-                protected void fireActionPerformed(ActionEvent event) {
-                    runWithOriginalLayoutManager(() -> {
-                        superFireActionPerformed(event);
-                    });
-                }
-            };
+            scrollForwardButton = new ScrollableTabButton(direction);
+            // Let the scroll layout reserve the space for the tab list button, too.
+            scrollForwardButton.reservesTabListSpace = true;
             return scrollForwardButton;
         }
     }
@@ -283,18 +858,256 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
     @Override
     protected void paintTab(Graphics g, int tabPlacement, Rectangle[] rects,
             int tabIndex, Rectangle iconRect, Rectangle textRect) {
-        runWithOriginalLayoutManager(() -> {
+        final TabbedPaneMetrics metrics = getMetrics();
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final TabImageCache tabImageCache = getTabImageCache();
+        if (tabImageCache != null && isTabImageCacheable(g, rects[tabIndex], tabIndex)) {
+            paintCachedTab((Graphics2D) g, tabImageCache, tabPlacement, rects, tabIndex, iconRect, textRect);
+        } else {
             super.paintTab(g, tabPlacement, rects, tabIndex, iconRect, textRect);
-        });
+            paintCloseButton(g, tabPlacement, rects[tabIndex], tabIndex);
+        }
+        if (metrics != null) {
+            metrics.record(TabbedPaneMetrics.Operation.PAINT_TAB, start);
+        }
+    }
+
+    /**
+     * Tabs can be drawn from an image, unless the graphics is rotated or
+     * sheared, the borders depend on other tab runs, the tab is cropped at
+     * the end of the scroll viewport, or its title is drawn with sub-pixel
+     * anti-aliasing, which needs the opaque background of the tab area.
+     */
+    private boolean isTabImageCacheable(final Graphics g, final Rectangle tabRect, final int tabIndex) {
+        if (!(g instanceof Graphics2D) || tabRect.width <= 0 || tabRect.height <= 0) {
+            return false;
+        }
+        if (isTextPainted(tabIndex) && isLcdTextAntialiased((Graphics2D) g)) {
+            return false;
+        }
+        final int transformType = ((Graphics2D) g).getTransform().getType();
+        if ((transformType & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE)) != 0) {
+            return false;
+        }
+        if (isScrollTabLayout()) {
+            return tabViewport != null && tabViewport.getViewRect().contains(tabRect);
+        }
+        return runCount == 1;
+    }
+
+    private boolean isTextPainted(final int tabIndex) {
+        final String title = tabPane.getTitleAt(tabIndex);
+        return title != null && !title.isEmpty() && tabPane.getTabComponentAt(tabIndex) == null
+                && !isTabComponentVirtual(tabIndex);
+    }
+
+    /**
+     * Text is drawn with the anti-aliasing hint of the tabbed pane, which
+     * holds the desktop setting, or else with the one of the graphics.
+     */
+    private boolean isLcdTextAntialiased(final Graphics2D g) {
+        Object hint = tabPane.getClientProperty(RenderingHints.KEY_TEXT_ANTIALIASING);
+        if (hint == null) {
+            hint = g.getRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING);
+        }
+        return hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB
+                || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HBGR
+                || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VRGB
+                || hint == RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_VBGR;
+    }
+
+    private void paintCachedTab(final Graphics2D g, final TabImageCache tabImageCache, final int tabPlacement,
+            final Rectangle[] rects, final int tabIndex, final Rectangle iconRect, final Rectangle textRect) {
+        final Rectangle tabRect = rects[tabIndex];
+        final AffineTransform transform = g.getTransform();
+        final double scaleX = transform.getScaleX();
+        final double scaleY = transform.getScaleY();
+        final TabImageKey key = tabImageLookupKey.set(tabPlacement, tabIndex, tabRect, scaleX, scaleY);
+        // Scaled lines at the tab's edges reach beyond its bounds, so the image has a transparent margin.
+        final int margin = 1;
+        final int width = tabRect.width + 2 * margin;
+        final int height = tabRect.height + 2 * margin;
+        BufferedImage image = tabImageCache.getImage(key);
+        if (image == null) {
+            image = new BufferedImage((int) Math.ceil(width * scaleX), (int) Math.ceil(height * scaleY),
+                    BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D imageGraphics = image.createGraphics();
+            try {
+                imageGraphics.setRenderingHints(g.getRenderingHints());
+                imageGraphics.scale(scaleX, scaleY);
+                imageGraphics.translate(margin - tabRect.x, margin - tabRect.y);
+                super.paintTab(imageGraphics, tabPlacement, rects, tabIndex, iconRect, textRect);
+                paintCloseButton(imageGraphics, tabPlacement, tabRect, tabIndex);
+            } finally {
+                imageGraphics.dispose();
+            }
+            tabImageCache.putImage(new TabImageKey(key), image);
+        }
+        g.drawImage(image, tabRect.x - margin, tabRect.y - margin, width, height, null);
+    }
+
+    /**
+     * Paints only the tabs intersecting the clip in scroll tab layout. The
+     * tabs of the single run are ordered, so the first one is found by a
+     * binary search instead of testing all tabs. Unlike BasicTabbedPaneUI, the
+     * clip bounds and the icon and text rects are reused.
+     */
+    @Override
+    protected void paintTabArea(Graphics g, int tabPlacement, int selectedIndex) {
+        final int tabCount = tabPane.getTabCount();
+        final Rectangle clip = getPaintClipBounds(g);
+        if (!isScrollTabLayout() || tabCount == 0 || !isTabRunAscending(tabPlacement, tabCount)) {
+            paintTabRuns(g, tabPlacement, selectedIndex, clip);
+            return;
+        }
+
+        final boolean horizontal = tabPlacement == TOP || tabPlacement == BOTTOM;
+        final int clipEnd = horizontal ? clip.x + clip.width : clip.y + clip.height;
+        for (int i = indexOfFirstTabEndingAfter(horizontal ? clip.x : clip.y, horizontal, tabCount);
+                i < tabCount && (horizontal ? rects[i].x : rects[i].y) < clipEnd; i++) {
+            if (i != selectedIndex && rects[i].intersects(clip)) {
+                paintTab(g, tabPlacement, rects, i, paintIconRect, paintTextRect);
+            }
+        }
+
+        // Paint selected tab last, since it may overlap other tabs.
+        if (selectedIndex >= 0 && selectedIndex < tabCount && rects[selectedIndex].intersects(clip)) {
+            paintTab(g, tabPlacement, rects, selectedIndex, paintIconRect, paintTextRect);
+        }
+    }
+
+    // As BasicTabbedPaneUI:paintTabArea()
+    private void paintTabRuns(final Graphics g, final int tabPlacement, final int selectedIndex, final Rectangle clip) {
+        final int tabCount = tabPane.getTabCount();
+        // Paint tabRuns of tabs from back to front
+        for (int i = runCount - 1; i >= 0; i--) {
+            final int start = tabRuns[i];
+            final int next = tabRuns[(i == runCount - 1) ? 0 : i + 1];
+            final int end = (next != 0 ? next - 1 : tabCount - 1);
+            for (int j = start; j <= end; j++) {
+                if (j != selectedIndex && rects[j].intersects(clip)) {
+                    paintTab(g, tabPlacement, rects, j, paintIconRect, paintTextRect);
+                }
+            }
+        }
+
+        // Paint selected tab if its in the front run
+        // since it may overlap other tabs
+        if (selectedIndex >= 0 && selectedIndex < tabCount && rects[selectedIndex].intersects(clip)) {
+            paintTab(g, tabPlacement, rects, selectedIndex, paintIconRect, paintTextRect);
+        }
+    }
+
+    /**
+     * Returns the clip bounds of the graphics in the reused rectangle. If
+     * there is no clip, the bounds of the painted component are returned.
+     */
+    private Rectangle getPaintClipBounds(final Graphics g) {
+        final Component tabArea = isScrollTabLayout() && tabViewport != null && tabViewport.getView() != null
+                ? tabViewport.getView() : tabPane;
+        // Graphics:getClipBounds(Rectangle) keeps the given bounds, if there is no clip.
+        paintClipBounds.setBounds(0, 0, tabArea.getWidth(), tabArea.getHeight());
+        return g.getClipBounds(paintClipBounds);
+    }
+
+    // As BasicTabbedPaneUI:paintContentBorder(), which looks up the insets and colours on each paint.
+    @Override
+    protected void paintContentBorder(Graphics g, int tabPlacement, int selectedIndex) {
+        final int width = tabPane.getWidth();
+        final int height = tabPane.getHeight();
+        final Insets insets = tabPane.getInsets(paintInsets);
+        final Insets tabAreaInsets = getTabAreaInsets(tabPlacement);
+
+        int x = insets.left;
+        int y = insets.top;
+        int w = width - insets.right - insets.left;
+        int h = height - insets.top - insets.bottom;
+
+        switch (tabPlacement) {
+            case LEFT:
+                x += calculateTabAreaWidth(tabPlacement, runCount, maxTabWidth);
+                if (tabsOverlapBorder) {
+                    x -= tabAreaInsets.right;
+                }
+                w -= (x - insets.left);
+                break;
+            case RIGHT:
+                w -= calculateTabAreaWidth(tabPlacement, runCount, maxTabWidth);
+                if (tabsOverlapBorder) {
+                    w += tabAreaInsets.left;
+                }
+                break;
+            case BOTTOM:
+                h -= calculateTabAreaHeight(tabPlacement, runCount, maxTabHeight);
+                if (tabsOverlapBorder) {
+                    h += tabAreaInsets.top;
+                }
+                break;
+            case TOP:
+            default:
+                y += calculateTabAreaHeight(tabPlacement, runCount, maxTabHeight);
+                if (tabsOverlapBorder) {
+                    y -= tabAreaInsets.bottom;
+                }
+                h -= (y - insets.top);
+        }
+
+        if (tabPane.getTabCount() > 0 && (contentOpaque || tabPane.isOpaque())) {
+            // Fill region behind content area
+            if (contentAreaColor != null) {
+                g.setColor(contentAreaColor);
+            } else if (selectedContentColor == null || selectedIndex == -1) {
+                g.setColor(tabPane.getBackground());
+            } else {
+                g.setColor(selectedContentColor);
+            }
+            g.fillRect(x, y, w, h);
+        }
+
+        paintContentBorderTopEdge(g, tabPlacement, selectedIndex, x, y, w, h);
+        paintContentBorderLeftEdge(g, tabPlacement, selectedIndex, x, y, w, h);
+        paintContentBorderBottomEdge(g, tabPlacement, selectedIndex, x, y, w, h);
+        paintContentBorderRightEdge(g, tabPlacement, selectedIndex, x, y, w, h);
+    }
+
+    private boolean isTabRunAscending(final int tabPlacement, final int tabCount) {
+        if (tabPlacement == TOP || tabPlacement == BOTTOM) {
+            return rects[0].x <= rects[tabCount - 1].x;
+        }
+        return rects[0].y <= rects[tabCount - 1].y;
+    }
+
+    /**
+     * Returns the index of the first tab whose trailing edge is beyond the
+     * given offset, or the last index if there is no such tab. Requires
+     * ascending tab rects, as laid out in scroll tab layout.
+     */
+    private int indexOfFirstTabEndingAfter(final int offset, final boolean horizontal, final int tabCount) {
+        int low = 0;
+        int high = tabCount - 1;
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final Rectangle rect = rects[mid];
+            final int end = horizontal ? rect.x + rect.width : rect.y + rect.height;
+            if (end <= offset) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
 
     // Overwrites MetalTabbedPaneUI:paint()
     @Override
     public void paint(Graphics g, JComponent c) {
+        final TabbedPaneMetrics metrics = getMetrics();
+        final long start = metrics != null ? System.nanoTime() : 0;
         int tabPlacement = tabPane.getTabPlacement();
 
-        Insets insets = c.getInsets();
-        Dimension size = c.getSize();
+        final Insets insets = c.getInsets(paintInsets);
+        final int width = c.getWidth();
+        final int height = c.getHeight();
 
         // Paint the background for the tab area
         if (tabPane.isOpaque()) {
@@ -308,30 +1121,33 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
                 case LEFT:
                     g.fillRect(insets.left, insets.top,
                             calculateTabAreaWidth(tabPlacement, runCount, maxTabWidth),
-                            size.height - insets.bottom - insets.top);
+                            height - insets.bottom - insets.top);
                     break;
                 case BOTTOM:
                     int totalTabHeight = calculateTabAreaHeight(tabPlacement, runCount, maxTabHeight);
-                    g.fillRect(insets.left, size.height - insets.bottom - totalTabHeight,
-                            size.width - insets.left - insets.right,
+                    g.fillRect(insets.left, height - insets.bottom - totalTabHeight,
+                            width - insets.left - insets.right,
                             totalTabHeight);
                     break;
                 case RIGHT:
                     int totalTabWidth = calculateTabAreaWidth(tabPlacement, runCount, maxTabWidth);
-                    g.fillRect(size.width - insets.right - totalTabWidth,
+                    g.fillRect(width - insets.right - totalTabWidth,
                             insets.top, totalTabWidth,
-                            size.height - insets.top - insets.bottom);
+                            height - insets.top - insets.bottom);
                     break;
                 case TOP:
                 default:
                     g.fillRect(insets.left, insets.top,
-                            size.width - insets.right - insets.left,
+                            width - insets.right - insets.left,
                             calculateTabAreaHeight(tabPlacement, runCount, maxTabHeight));
                     paintHighlightBelowTab();
             }
         }
 
         basicTabbedPaneUIPaint(g, c);
+        if (metrics != null) {
+            metrics.record(TabbedPaneMetrics.Operation.PAINT, start);
+        }
     }
 
     protected void basicTabbedPaneUIPaint(Graphics graphics, JComponent c) {
@@ -371,7 +1187,7 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         if (direction != SOUTH && direction != NORTH && direction != EAST && direction != WEST) {
             throw new IllegalArgumentException("Direction must be one of: SOUTH, NORTH, EAST or WEST");
         }
-        return new TabListButton(direction, this.tabPane);
+        return new TabListButton(direction, getExtendedTabbedPane());
     }
 
     protected void installHiddenTabsNavigation() {
@@ -382,35 +1198,156 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         // At this point, BasicTabbedPaneUI already has installed
         // TabbedPaneScrollLayout (in super.createLayoutManager()) and
         // ScrollableTabSupport, ScrollableTabViewport, ScrollableTabPanel, etc
-        // (in super.installComponents()).
-        // install own layout manager that delegates to original layout manager
-        tabPane.setLayout(createScrollLayoutManager((BasicTabbedPaneUI.TabbedPaneLayout) tabPane.getLayout()));
-
+        // (in super.installComponents()). The layout stays installed, the
+        // tab list button is placed by layoutHiddenTabsNavigation().
         // create and add tabListButton
         tabListButton = createTabListButton(SOUTH);
+        tabListButton.setVisible(false);
         tabPane.add(tabListButton);
+
+        tabViewportChangeListener = e -> {
+            // While the tabbed pane is invalid, the rects are outdated and its layout realizes the tab components.
+            if (tabPane.isValid()) {
+                realizeVisibleTabComponents();
+            }
+        };
+        tabViewport.addChangeListener(tabViewportChangeListener);
+
+        tabWheelScroller = new TabWheelScroller();
+        tabViewport.addMouseWheelListener(tabWheelScroller);
+    }
+
+    /**
+     * Places the tab list button next to the scroll buttons. The scroll tab
+     * layout has already reserved the space for all three buttons, because
+     * the forward scroll button reports a widened preferred size. This is
+     * invoked by {@link JTabbedPaneExtended#doLayout()} right after the
+     * layout, so the layout manager of the tabbed pane is never replaced.
+     */
+    public void layoutHiddenTabsNavigation() {
+        if (!isScrollTabLayout() || tabListButton == null
+                || scrollForwardButton == null || scrollBackwardButton == null) {
+            return;
+        }
+        final boolean visible = scrollForwardButton.isVisible() || scrollBackwardButton.isVisible();
+        if (tabListButton.isVisible() != visible) {
+            tabListButton.setVisible(visible);
+        }
+        if (!visible) {
+            return;
+        }
+
+        final Rectangle forward = scrollForwardButton.requestedBounds;
+        final Rectangle backward = scrollBackwardButton.requestedBounds;
+        final Dimension listSize = tabListButton.getPreferredSize();
+        if (scrollForwardButton.getDirection() == EAST) {
+            final int listX = forward.x + forward.width - listSize.width;
+            final int forwardX = listX - TAB_LIST_BUTTON_GAP - listSize.width;
+            placeButton(tabListButton, listX, forward.y, listSize.width, forward.height);
+            scrollForwardButton.applyBounds(forwardX, forward.y, listSize.width, forward.height);
+            scrollBackwardButton.applyBounds(forwardX - backward.width, backward.y, backward.width, backward.height);
+        } else { // SOUTH
+            final int listY = forward.y + forward.height - listSize.height;
+            final int forwardY = listY - TAB_LIST_BUTTON_GAP - listSize.height;
+            placeButton(tabListButton, forward.x, listY, forward.width, listSize.height);
+            scrollForwardButton.applyBounds(forward.x, forwardY, forward.width, listSize.height);
+            scrollBackwardButton.applyBounds(backward.x, forwardY - backward.height, backward.width, backward.height);
+        }
+    }
+
+    private static void placeButton(final JButton button, final int x, final int y, final int width, final int height) {
+        if (button instanceof ScrollableTabButton) {
+            ((ScrollableTabButton) button).applyBounds(x, y, width, height);
+        } else {
+            button.setBounds(x, y, width, height);
+        }
     }
 
     protected void uninstallHiddenTabsNavigation() {
-        // restore layout manager before invoking super.uninstallComponents() for
-        // correct uninstallation of MyBasicTabbedPaneUI tab scroller support
-        if (tabPane.getLayout() instanceof TabbedPaneScrollLayoutDecorator) {
-            tabPane.setLayout(((TabbedPaneScrollLayoutDecorator) tabPane.getLayout()).delegate);
+        if (tabListButton != null) {
+            tabPane.remove(tabListButton);
+            tabListButton = null;
+        }
+        if (tabViewportChangeListener != null) {
+            tabViewport.removeChangeListener(tabViewportChangeListener);
+            tabViewportChangeListener = null;
+        }
+        if (tabWheelScroller != null) {
+            tabViewport.removeMouseWheelListener(tabWheelScroller);
+            tabWheelScroller.stop();
+            tabWheelScroller = null;
+        }
+    }
+
+    /**
+     * Realizes the virtualized tab components of the tabs inside the viewport
+     * and within half its extent before and after it, see
+     * {@link JTabbedPaneExtended#setTabComponentsVirtualized(boolean)}. In
+     * wrap tab layout all tab components are realized. This is invoked by
+     * {@link JTabbedPaneExtended#doLayout()} right after the layout and when
+     * the viewport scrolls.
+     *
+     * @return {@code true} if a tab component has been realized or released.
+     */
+    public boolean realizeVisibleTabComponents() {
+        if (!(tabPane instanceof JTabbedPaneExtended) || !getExtendedTabbedPane().isTabComponentsVirtualized()
+                || getExtendedTabbedPane().isCloseButtonsPainted()) {
+            return false;
+        }
+        final JTabbedPaneExtended extendedTabbedPane = getExtendedTabbedPane();
+        final int tabPlacement = tabPane.getTabPlacement();
+        final int tabCount = tabPane.getTabCount();
+        if (tabCount == 0 || !isScrollTabLayout() || tabViewport == null
+                || !isTabRunAscending(tabPlacement, tabCount)) {
+            return extendedTabbedPane.realizeTabComponents(0, tabCount - 1);
+        }
+        final boolean horizontal = tabPlacement == TOP || tabPlacement == BOTTOM;
+        final Rectangle viewRect = tabViewport.getViewRect();
+        final int start = horizontal ? viewRect.x : viewRect.y;
+        final int extent = horizontal ? viewRect.width : viewRect.height;
+        final int firstIndex = indexOfFirstTabEndingAfter(start - extent / 2, horizontal, tabCount);
+        final int lastIndex = indexOfFirstTabEndingAfter(start + extent + extent / 2, horizontal, tabCount);
+        // Keep the realized components while they cover the viewport and are
+        // not too many, so scrolling or resizing in small steps does not
+        // realize on every layout.
+        boolean covered = extendedTabbedPane.getRealizedTabComponentCount() <= 2 * (lastIndex - firstIndex + 1);
+        final int lastVisible = indexOfFirstTabEndingAfter(start + extent, horizontal, tabCount);
+        for (int i = indexOfFirstTabEndingAfter(start, horizontal, tabCount); covered && i <= lastVisible; i++) {
+            covered = !extendedTabbedPane.isTabComponentVirtual(i);
         }
-
-        if (tabListButton != null) {
-            tabPane.remove(tabListButton);
-            tabListButton = null;
+        if (covered) {
+            return false;
         }
+        return extendedTabbedPane.realizeTabComponents(firstIndex, lastIndex);
     }
 
     protected void installRightAllignedTabComponents() {
-        if (isScrollTabLayout() || tabContainer == null) {
+        if (isScrollTabLayout()) {
             return;
         }
+        // The tab container may be created later, when the first tab component is set.
         tabPane.setLayout(createWrapLayoutManager());
     }
 
+    /**
+     * Returns the tab container in wrap tab layout, which the original UI
+     * creates when the first tab component is set.
+     */
+    private JPanel getTabContainer() {
+        if (tabContainer == null || tabContainer.getParent() != tabPane) {
+            tabContainer = null;
+            // Indexed, as getComponents() would copy the children on every layout.
+            for (int i = 0; i < tabPane.getComponentCount(); i++) {
+                final Component c = tabPane.getComponent(i);
+                if (c instanceof JPanel && (c.getClass().getName().equals("javax.swing.plaf.basic.BasicTabbedPaneUI$TabContainer"))) {
+                    tabContainer = (JPanel) c;
+                    break;
+                }
+            }
+        }
+        return tabContainer;
+    }
+
     private JTabbedPaneExtended getExtendedTabbedPane() {
         if (super.tabPane instanceof JTabbedPaneExtended) {
             return (JTabbedPaneExtended) super.tabPane;
@@ -418,43 +1355,150 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         throw new Error("Wrong type, JTabbedPaneExtended expected.");
     }
 
-    private void runWithOriginalLayoutManager(Runnable runnable) {
-        LayoutManager layout = tabPane.getLayout();
-        if (layout instanceof TabbedPaneScrollLayoutDecorator) {
-            // temporary change layout manager because the runnable may use
-            // BasicTabbedPaneUI.scrollableTabLayoutEnabled()
-            final JTabbedPaneExtended extendedPaneExtended = getExtendedTabbedPane();
-            extendedPaneExtended.setSkipNextInvalidate(true);
-            tabPane.setLayout(((TabbedPaneScrollLayoutDecorator) layout).delegate);
-            extendedPaneExtended.setSkipNextInvalidate(false);
-            runnable.run();
-            extendedPaneExtended.setSkipNextInvalidate(true);
-            tabPane.setLayout(layout);
-            extendedPaneExtended.setSkipNextInvalidate(false);
-        } else {
-            runnable.run();
-        }
+    private TabImageCache getTabImageCache() {
+        return tabPane instanceof JTabbedPaneExtended ? ((JTabbedPaneExtended) tabPane).getTabImageCache() : null;
     }
 
-    private boolean isScrollTabLayout() {
-        return tabPane.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT;
+    private TabbedPaneMetrics getMetrics() {
+        return tabPane instanceof JTabbedPaneExtended ? ((JTabbedPaneExtended) tabPane).getMetrics() : null;
     }
 
-    private LayoutManager createScrollLayoutManager(BasicTabbedPaneUI.TabbedPaneLayout delegate) {
-        return new TabbedPaneScrollLayoutDecorator(delegate);
+    private boolean isScrollTabLayout() {
+        return tabPane.getTabLayoutPolicy() == JTabbedPane.SCROLL_TAB_LAYOUT;
     }
 
     private LayoutManager createWrapLayoutManager() {
         return new TabbedPaneWrapLayout();
     }
 
+    /**
+     * The original listener repaints the whole tabbed pane on every state
+     * change. If only the selection of a single tab run has changed, only the
+     * previously and newly selected tabs and the adjacent content border are
+     * repainted; the contents repaint themselves when their visibility
+     * changes. The selected tab of a {@code JTabbedPaneExtended} in scroll
+     * tab layout is scrolled into view by the tabbed pane.
+     */
     private void stateChanged(ChangeEvent e) {
-        runWithOriginalLayoutManager(() -> {
+        final int oldSelectedIndex = this.lastSelectedIndex;
+        final int selectedIndex = tabPane.getSelectedIndex();
+        final int tabCount = tabPane.getTabCount();
+        final boolean repaintDamageOnly = tabPane instanceof JTabbedPaneExtended
+                && tabCount == this.lastTabCount && oldSelectedIndex >= 0 && selectedIndex >= 0
+                && (isScrollTabLayout() || runCount == 1);
+        final boolean scrollingDeferred = tabPane instanceof JTabbedPaneExtended && isScrollTabLayout()
+                && tabViewport != null;
+        this.lastSelectedIndex = selectedIndex;
+        this.lastTabCount = tabCount;
+        if (!repaintDamageOnly) {
+            if (scrollingDeferred) {
+                stateChangedWithoutScrolling(e);
+            } else {
+                this.originalStateChangeListener.stateChanged(e);
+            }
+            return;
+        }
+
+        this.fullRepaintSuppressed = true;
+        try {
+            if (scrollingDeferred) {
+                stateChangedWithoutScrolling(e);
+            } else {
+                this.originalStateChangeListener.stateChanged(e);
+            }
+        } finally {
+            this.fullRepaintSuppressed = false;
+        }
+        ensureCurrentLayout();
+        if (oldSelectedIndex != selectedIndex) {
+            repaintTab(oldSelectedIndex);
+        }
+        repaintTab(selectedIndex);
+    }
+
+    /**
+     * Calls the original listener without letting it scroll the selected tab
+     * into view, as {@code JTabbedPaneExtended} scrolls once for a burst of
+     * selection changes. As BasicTabbedPaneUI.Handler:stateChanged(), the
+     * tabbed pane is laid out right away and thereby shows the selected
+     * component. Then the original listener finds it valid and, without tab
+     * rects, no tab to scroll to.
+     */
+    private void stateChangedWithoutScrolling(final ChangeEvent e) {
+        tabPane.revalidate();
+        ensureCurrentLayout();
+        if (!tabPane.isValid()) {
+            // Not displayable, the original listener only calculates the layout.
+            this.originalStateChangeListener.stateChanged(e);
+            return;
+        }
+        final Rectangle[] laidOutRects = rects;
+        rects = NO_RECTS;
+        this.revalidateSuppressed = true;
+        try {
             this.originalStateChangeListener.stateChanged(e);
-        });
-        if (this.tabListButton != null) {
-            this.tabListButton.setVisible(tabPane.getTabCount() > 0);
+        } finally {
+            rects = laidOutRects;
+            this.revalidateSuppressed = false;
+        }
+    }
+
+    /**
+     * Returns whether a request to revalidate the tabbed pane is to be
+     * skipped, because the original state change listener is running for a
+     * selection change the tabbed pane has been laid out for already. Called
+     * by {@code JTabbedPaneExtended}.
+     *
+     * @return {@code true} while revalidation is suppressed.
+     */
+    public boolean isRevalidateSuppressed() {
+        return this.revalidateSuppressed;
+    }
+
+    /**
+     * Returns whether a request to repaint the whole tabbed pane is to be
+     * skipped, because the original state change listener is running and the
+     * damaged tabs are repainted afterwards. Called by
+     * {@code JTabbedPaneExtended}.
+     *
+     * @return {@code true} while repaints of the whole pane are suppressed.
+     */
+    public boolean isFullRepaintSuppressed() {
+        return this.fullRepaintSuppressed;
+    }
+
+    /**
+     * Repaints a tab and its neighbours, whose borders depend on the selected
+     * tab in Metal, together with the part of the content border next to
+     * them, which has a gap below the selected tab.
+     */
+    private void repaintTab(final int tabIndex) {
+        final int tabCount = tabPane.getTabCount();
+        if (tabIndex < 0 || tabIndex >= tabCount) {
+            return;
+        }
+        final Rectangle damage = getTabBounds(Math.max(0, tabIndex - 1), damagedTabBounds);
+        damage.add(getTabBounds(Math.min(tabCount - 1, tabIndex + 1), damagedNeighbourBounds));
+        final Insets contentInsets = getContentBorderInsets(tabPane.getTabPlacement());
+        switch (tabPane.getTabPlacement()) {
+            case LEFT:
+                damage.width += contentInsets.left;
+                break;
+            case RIGHT:
+                damage.x -= contentInsets.right;
+                damage.width += contentInsets.right;
+                break;
+            case BOTTOM:
+                damage.y -= contentInsets.bottom;
+                damage.height += contentInsets.bottom;
+                break;
+            case TOP:
+            default:
+                damage.height += contentInsets.top;
         }
+        // The selected tab's border and highlight reach into the neighbouring tabs.
+        final int margin = 3;
+        tabPane.repaint(damage.x - margin, damage.y - margin, damage.width + 2 * margin, damage.height + 2 * margin);
     }
 
     private void ensureCurrentLayout() {
@@ -471,7 +1515,171 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         }
     }
 
-    private final class DelegationMouseListener implements MouseListener {
+    /**
+     * The key of a cached tab image, holding everything the rendering of a
+     * tab by the Metal look and feel depends on. A single key is reused to
+     * look up the images, it is copied when an image is added.
+     */
+    private final class TabImageKey {
+
+        private String title;
+        private Icon icon;
+        private Font font;
+        private Color foreground;
+        private Color background;
+        private int mnemonicIndex;
+        private boolean enabled;
+        private boolean opaque;
+        private boolean leftToRight;
+        private boolean hasTabComponent;
+        private boolean selected;
+        private boolean rollover;
+        private boolean focused;
+        private int closeButton;
+        // Metal draws the edges of a tab depending on its position in the run and its selected neighbour.
+        private boolean firstInRun;
+        private boolean lastInRun;
+        private boolean previousSelected;
+        private boolean nextSelected;
+        private int tabPlacement;
+        private int width;
+        private int height;
+        private double scaleX;
+        private double scaleY;
+
+        private TabImageKey() {
+        }
+
+        // Copies a lookup key, to be added to the cache.
+        private TabImageKey(final TabImageKey key) {
+            this.title = key.title;
+            this.icon = key.icon;
+            this.font = key.font;
+            this.foreground = key.foreground;
+            this.background = key.background;
+            this.mnemonicIndex = key.mnemonicIndex;
+            this.enabled = key.enabled;
+            this.opaque = key.opaque;
+            this.leftToRight = key.leftToRight;
+            this.hasTabComponent = key.hasTabComponent;
+            this.selected = key.selected;
+            this.rollover = key.rollover;
+            this.focused = key.focused;
+            this.closeButton = key.closeButton;
+            this.firstInRun = key.firstInRun;
+            this.lastInRun = key.lastInRun;
+            this.previousSelected = key.previousSelected;
+            this.nextSelected = key.nextSelected;
+            this.tabPlacement = key.tabPlacement;
+            this.width = key.width;
+            this.height = key.height;
+            this.scaleX = key.scaleX;
+            this.scaleY = key.scaleY;
+        }
+
+        /**
+         * Sets this key to describe a tab as it is painted now. Only the
+         * lookup key is set, keys in the cache must not change.
+         */
+        private TabImageKey set(final int tabPlacement, final int tabIndex, final Rectangle tabRect,
+                final double scaleX, final double scaleY) {
+            final int tabCount = tabPane.getTabCount();
+            final int selectedIndex = tabPane.getSelectedIndex();
+            this.title = tabPane.getTitleAt(tabIndex);
+            this.icon = getIconForTab(tabIndex);
+            this.font = tabPane.getFont();
+            this.foreground = tabPane.getForegroundAt(tabIndex);
+            this.background = tabPane.getBackgroundAt(tabIndex);
+            this.mnemonicIndex = tabPane.getDisplayedMnemonicIndexAt(tabIndex);
+            this.enabled = tabPane.isEnabled() && tabPane.isEnabledAt(tabIndex);
+            this.opaque = tabPane.isOpaque();
+            this.leftToRight = tabPane.getComponentOrientation().isLeftToRight();
+            this.hasTabComponent = tabPane.getTabComponentAt(tabIndex) != null;
+            this.selected = tabIndex == selectedIndex;
+            this.rollover = tabIndex == getRolloverTab();
+            this.focused = this.selected && tabPane.hasFocus();
+            this.closeButton = getCloseButtonState(tabIndex);
+            this.firstInRun = tabIndex == tabRuns[runCount - 1];
+            this.lastInRun = tabIndex == lastTabInRun(tabCount, getRunForTab(tabCount, tabIndex));
+            this.previousSelected = tabIndex - 1 == selectedIndex;
+            this.nextSelected = tabIndex + 1 == selectedIndex;
+            this.tabPlacement = tabPlacement;
+            this.width = tabRect.width;
+            this.height = tabRect.height;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            return this;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TabImageKey)) {
+                return false;
+            }
+            final TabImageKey other = (TabImageKey) obj;
+            return this.icon == other.icon
+                    && this.mnemonicIndex == other.mnemonicIndex
+                    && this.enabled == other.enabled
+                    && this.opaque == other.opaque
+                    && this.leftToRight == other.leftToRight
+                    && this.hasTabComponent == other.hasTabComponent
+                    && this.selected == other.selected
+                    && this.rollover == other.rollover
+                    && this.focused == other.focused
+                    && this.closeButton == other.closeButton
+                    && this.firstInRun == other.firstInRun
+                    && this.lastInRun == other.lastInRun
+                    && this.previousSelected == other.previousSelected
+                    && this.nextSelected == other.nextSelected
+                    && this.tabPlacement == other.tabPlacement
+                    && this.width == other.width
+                    && this.height == other.height
+                    && this.scaleX == other.scaleX
+                    && this.scaleY == other.scaleY
+                    && Objects.equals(this.title, other.title)
+                    && Objects.equals(this.font, other.font)
+                    && Objects.equals(this.foreground, other.foreground)
+                    && Objects.equals(this.background, other.background);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Objects.hashCode(this.title);
+            hash = 31 * hash + System.identityHashCode(this.icon);
+            hash = 31 * hash + Objects.hashCode(this.font);
+            hash = 31 * hash + Objects.hashCode(this.foreground);
+            hash = 31 * hash + Objects.hashCode(this.background);
+            hash = 31 * hash + this.mnemonicIndex;
+            hash = 31 * hash + (this.enabled ? 1 : 0);
+            hash = 31 * hash + (this.opaque ? 1 : 0);
+            hash = 31 * hash + (this.leftToRight ? 1 : 0);
+            hash = 31 * hash + (this.hasTabComponent ? 1 : 0);
+            hash = 31 * hash + (this.selected ? 1 : 0);
+            hash = 31 * hash + (this.rollover ? 1 : 0);
+            hash = 31 * hash + (this.focused ? 1 : 0);
+            hash = 31 * hash + this.closeButton;
+            hash = 31 * hash + (this.firstInRun ? 1 : 0);
+            hash = 31 * hash + (this.lastInRun ? 1 : 0);
+            hash = 31 * hash + (this.previousSelected ? 1 : 0);
+            hash = 31 * hash + (this.nextSelected ? 1 : 0);
+            hash = 31 * hash + this.tabPlacement;
+            hash = 31 * hash + this.width;
+            hash = 31 * hash + this.height;
+            hash = 31 * hash + Double.hashCode(this.scaleX);
+            hash = 31 * hash + Double.hashCode(this.scaleY);
+            return hash;
+        }
+    }
+
+    /**
+     * Delegates to the original mouse listener, except for presses on painted
+     * close buttons, which close the tab on release like a button instead of
+     * selecting it.
+     */
+    private final class DelegationMouseListener implements MouseListener, MouseMotionListener {
 
         @Override
         public void mouseClicked(MouseEvent e) {
@@ -480,14 +1688,61 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
 
         @Override
         public void mousePressed(MouseEvent e) {
-            runWithOriginalLayoutManager(() -> {
+            final int tabIndex = closeButtonForCoordinate(e.getX(), e.getY());
+            if (tabIndex < 0) {
                 originalMouseListener.mousePressed(e);
-            });
+                return;
+            }
+            if (SwingUtilities.isLeftMouseButton(e) && tabPane.isEnabled()) {
+                closeButtonPressedIndex = tabIndex;
+                setCloseButtonRolloverIndex(tabIndex);
+                repaintCloseButton(tabIndex);
+            }
         }
 
         @Override
         public void mouseReleased(MouseEvent e) {
-            // do nothing
+            final int tabIndex = closeButtonPressedIndex;
+            if (tabIndex < 0 || !SwingUtilities.isLeftMouseButton(e)) {
+                return;
+            }
+            closeButtonPressedIndex = -1;
+            repaintCloseButton(tabIndex);
+            if (closeButtonForCoordinate(e.getX(), e.getY()) != tabIndex) {
+                return;
+            }
+            final Action closeAction = getExtendedTabbedPane().getCloseActionAt(tabIndex);
+            if (closeAction != null && closeAction.isEnabled()) {
+                final Object command = closeAction.getValue(Action.ACTION_COMMAND_KEY);
+                closeAction.actionPerformed(new TabCloseEvent(tabPane, tabIndex,
+                        command != null ? command.toString() : null, e.getWhen(), getActionModifiers(e)));
+            }
+            // The tabs have moved, if the tab has been closed.
+            setCloseButtonRolloverIndex(closeButtonForCoordinate(e.getX(), e.getY()));
+        }
+
+        /**
+         * Returns the modifier keys held down during the event as the
+         * modifiers of an {@code ActionEvent}, which are built from the
+         * extended modifiers, as {@code InputEvent.getModifiers()} is
+         * deprecated.
+         */
+        private int getActionModifiers(final InputEvent e) {
+            final int modifiersEx = e.getModifiersEx();
+            int modifiers = 0;
+            if ((modifiersEx & InputEvent.SHIFT_DOWN_MASK) != 0) {
+                modifiers |= ActionEvent.SHIFT_MASK;
+            }
+            if ((modifiersEx & InputEvent.CTRL_DOWN_MASK) != 0) {
+                modifiers |= ActionEvent.CTRL_MASK;
+            }
+            if ((modifiersEx & InputEvent.META_DOWN_MASK) != 0) {
+                modifiers |= ActionEvent.META_MASK;
+            }
+            if ((modifiersEx & InputEvent.ALT_DOWN_MASK) != 0) {
+                modifiers |= ActionEvent.ALT_MASK;
+            }
+            return modifiers;
         }
 
         @Override
@@ -497,9 +1752,21 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
 
         @Override
         public void mouseExited(MouseEvent e) {
+            setCloseButtonRolloverIndex(-1);
             originalMouseListener.mouseExited(e);
         }
 
+        @Override
+        public void mouseDragged(MouseEvent e) {
+            if (closeButtonPressedIndex >= 0) {
+                setCloseButtonRolloverIndex(closeButtonForCoordinate(e.getX(), e.getY()));
+            }
+        }
+
+        @Override
+        public void mouseMoved(MouseEvent e) {
+            setCloseButtonRolloverIndex(closeButtonForCoordinate(e.getX(), e.getY()));
+        }
     }
 
     private class TabbedPaneWrapLayout extends TabbedPaneLayout {
@@ -513,11 +1780,12 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         }
 
         private void layoutTabComponents() {
+            final JPanel tabContainer = getTabContainer();
             if (tabContainer == null) {
                 return;
             }
-            Rectangle rect = new Rectangle();
-            Point delta = new Point(-tabContainer.getX(), -tabContainer.getY());
+            final Rectangle rect = layoutTabBounds;
+            final int deltaX = -tabContainer.getX();
             for (int i = 0; i < tabPane.getTabCount(); i++) {
                 Component c = tabPane.getTabComponentAt(i);
                 if (c == null || !(c instanceof ClosableTabComponent)) {
@@ -526,126 +1794,297 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
 
                 getTabBounds(i, rect);
                 Insets insets = getTabInsets(tabPane.getTabPlacement(), i);
-                int outerX = rect.x + insets.left + delta.x;
+                int outerX = rect.x + insets.left + deltaX;
                 int outerWidth = rect.width - insets.left - insets.right;
-                rect = c.getBounds();
 
                 // Overwrite X and widht value from the original layout.
-                c.setBounds(outerX, rect.y, outerWidth, rect.height);
+                c.setBounds(outerX, c.getY(), outerWidth, c.getHeight());
             }
         }
     }
 
-    private final class TabbedPaneScrollLayoutDecorator extends TabbedPaneLayout implements LayoutManager {
-
-        private final BasicTabbedPaneUI.TabbedPaneLayout delegate;
+    /**
+     * Scrolls the tab viewport pixel by pixel with the mouse wheel or
+     * trackpad. The rotation of the wheel events is summed up and applied by
+     * a coalescing timer once per display frame, so a fast flick scrolls the
+     * viewport and repaints the tabs at most once per frame instead of once
+     * per event. Once no event came for a while, the viewport snaps to the
+     * nearest tab boundary, if the tabbed pane asks for it. Wheel events are
+     * passed on to the parent, if the tabs cannot be scrolled.
+     */
+    private final class TabWheelScroller implements MouseWheelListener {
 
-        protected TabbedPaneScrollLayoutDecorator(BasicTabbedPaneUI.TabbedPaneLayout delegate) {
-            this.delegate = delegate;
-        }
-        //---- interface LayoutManager ----
+        private final Timer frameTimer = new Timer(WHEEL_FRAME_MILLIS, e -> applyScroll());
+        private final Timer snapTimer = new Timer(WHEEL_SNAP_DELAY_MILLIS, e -> snapToTabBoundary());
+        // Pixels still to be scrolled, including the fraction of a trackpad's precise rotation.
+        private double pendingPixels;
 
-        @Override
-        public Dimension preferredLayoutSize(Container parent) {
-            return delegate.preferredLayoutSize(parent);
+        private TabWheelScroller() {
+            frameTimer.setInitialDelay(0);
+            snapTimer.setRepeats(false);
         }
 
         @Override
-        public Dimension minimumLayoutSize(Container parent) {
-            return delegate.minimumLayoutSize(parent);
+        public void mouseWheelMoved(final MouseWheelEvent e) {
+            if (!(tabPane instanceof JTabbedPaneExtended) || !getExtendedTabbedPane().isWheelScrollingEnabled()
+                    || !isScrollable()) {
+                final Container parent = tabPane.getParent();
+                if (parent != null) {
+                    parent.dispatchEvent(SwingUtilities.convertMouseEvent(e.getComponent(), e, parent));
+                }
+                return;
+            }
+            e.consume();
+            if (e.getScrollType() == MouseWheelEvent.WHEEL_UNIT_SCROLL) {
+                pendingPixels += e.getPreciseWheelRotation() * e.getScrollAmount() * WHEEL_UNIT_INCREMENT;
+            } else {
+                final int tabPlacement = tabPane.getTabPlacement();
+                final Dimension extentSize = tabViewport.getExtentSize();
+                pendingPixels += e.getPreciseWheelRotation()
+                        * (tabPlacement == TOP || tabPlacement == BOTTOM ? extentSize.width : extentSize.height);
+            }
+            snapTimer.stop();
+            if (!frameTimer.isRunning()) {
+                frameTimer.start();
+            }
         }
 
-        @Override
-        public void addLayoutComponent(String name, Component comp) {
-            delegate.addLayoutComponent(name, comp);
+        private boolean isScrollable() {
+            if (tabViewport == null) {
+                return false;
+            }
+            final int tabPlacement = tabPane.getTabPlacement();
+            final Dimension viewSize = tabViewport.getViewSize();
+            final Dimension extentSize = tabViewport.getExtentSize();
+            return tabPlacement == TOP || tabPlacement == BOTTOM
+                    ? viewSize.width > extentSize.width : viewSize.height > extentSize.height;
         }
 
-        @Override
-        public void removeLayoutComponent(Component comp) {
-            delegate.removeLayoutComponent(comp);
+        private void applyScroll() {
+            final int pixels = (int) pendingPixels;
+            if (pixels == 0) {
+                // No event in the last frame, scrolling has stopped.
+                frameTimer.stop();
+                if (tabPane instanceof JTabbedPaneExtended && getExtendedTabbedPane().isSnapToTabBoundary()) {
+                    snapTimer.restart();
+                }
+                return;
+            }
+            if (scrollTabsBy(pixels) == pixels) {
+                pendingPixels -= pixels;
+            } else {
+                // The end of the tabs is reached.
+                pendingPixels = 0;
+            }
         }
 
-        @Override
-        public void layoutContainer(Container parent) {
-            // Original layout manager calculates layout for 2 ScrollableTabButtons.
-            // To add space for a 3'rd button, we temporarly increase the width of the buttons
-            // find backward/forward scroll buttons
-            final Dimension buttonSize = scrollForwardButton.getPreferredSize();
-            final int originalWidth = buttonSize.width;
-            final int gap = 2; // gab between ForwardBackwardButtons and TabListButton
-            buttonSize.width = (3 * buttonSize.width + gap) / 2;
-            scrollForwardButton.setPreferredSize(buttonSize);
-            tabListButton.setVisible(false);
-
-            // delegate to original layout manager and let it layout tabs and buttons
-            // runWithOriginalLayoutManager() is necessary for correct locations
-            // of tab components layed out in TabbedPaneLayout.layoutTabComponents()
-            runWithOriginalLayoutManager(() -> {
-                delegate.layoutContainer(parent);
-            });
-
-            scrollForwardButton.setPreferredSize(null);
-            Rectangle bounds = scrollForwardButton.getBounds();
-            bounds.x += (bounds.width - originalWidth);
-            bounds.width = originalWidth;
-            tabListButton.setBounds(bounds);
-            tabListButton.setVisible(scrollForwardButton.isVisible() || scrollBackwardButton.isVisible());
-
-            bounds.x -= (bounds.width + gap);
-            scrollForwardButton.setBounds(bounds);
-            bounds.x -= bounds.width;
-            scrollBackwardButton.setBounds(bounds);
+        private void stop() {
+            frameTimer.stop();
+            snapTimer.stop();
+            pendingPixels = 0;
         }
     }
 
     /**
-     * Extends a scrollable tab button to enable a tab list pop-up menu.
+     * Extends a scrollable tab button to enable a tab list pop-up menu. The
+     * pop-up is created when it is opened first and its list shows the live
+     * {@link TabListModel} of the tabbed pane, so opening the pop-up only
+     * costs the rendering of the visible rows. Typing into the search field
+     * above the list shows only the tabs whose titles contain the text, found
+     * by the {@link TabTitleIndex} of the model.
      */
     @SuppressWarnings("serial")
     private static final class TabListButton extends ScrollableTabButton {
 
         private static final int VISIBLE_ENTRIES = 30;
-        private final JPanel listPanel;
-        private final JTabbedPane tabPane;
-        private final JPopupMenu tabListPopup;
-        private final ListCellRenderer<String> tabListCellRenderer;
-        private final JScrollPane tabListScroll;
-        final MouseListener mouseListener;
-
-        public TabListButton(final int direction, final JTabbedPane tabPane) {
+        private final JTabbedPaneExtended tabPane;
+        private final TabListModel tabListModel;
+        // Created on first use, most tab list buttons are never clicked.
+        private JPopupMenu tabListPopup;
+        private JList<String> tabList;
+        private JTextField searchField;
+        private final TabSearchListModel searchListModel = new TabSearchListModel();
+
+        public TabListButton(final int direction, final JTabbedPaneExtended tabPane) {
             super(direction);
 
             this.tabPane = tabPane;
+            this.tabListModel = tabPane.getTabListModel();
+        }
 
+        private void createPopup() {
             // Generate list panel.
-            this.listPanel = new JPanel();
-            this.listPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 0, 0));
-            this.listPanel.setBackground(UIManager.getColor("Panel.background"));
-            this.listPanel.setOpaque(true);
-
-            this.tabListCellRenderer = new TabListCellRenderer<>(this.tabPane, this.listPanel);
+            final JPanel listPanel = new JPanel();
+            listPanel.setLayout(new FlowLayout(FlowLayout.CENTER, 0, 0));
+            listPanel.setBackground(UIManager.getColor("Panel.background"));
+            listPanel.setOpaque(true);
 
             this.tabListPopup = new JPopupMenu();
             this.tabListPopup.setLayout(new BorderLayout());
 
-            this.tabListScroll = new JScrollPane();
-            this.tabListScroll.setBorder(BorderFactory.createEmptyBorder());
-            this.tabListScroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-
-            this.mouseListener = new MouseAdapter() {
+            // Create list with custom layout.
+            this.tabList = new JList<>(this.tabListModel);
+            this.tabList.addMouseListener(new MouseAdapter() {
                 @Override
                 public void mouseClicked(final MouseEvent evt) {
-                    final JList theList = (JList) evt.getSource();
                     if (evt.getClickCount() == 1) {
-                        final int index = theList.locationToIndex(evt.getPoint());
-                        if (index >= 0 && index < tabPane.getTabCount()) {
-                            tabPane.setSelectedIndex(index);
-                        }
-                        tabListPopup.setVisible(false);
-                        theList.removeMouseListener(this);
+                        selectTab(tabList.locationToIndex(evt.getPoint()));
                     }
                 }
+            });
+            // Set cell renderer.
+            this.tabList.setCellRenderer(new TabListCellRenderer<>(this.tabPane, listPanel));
+
+            // Put list into a scroll panel.
+            final JScrollPane tabListScroll = new JScrollPane(this.tabList);
+            tabListScroll.setBorder(BorderFactory.createEmptyBorder());
+            tabListScroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+            listPanel.add(tabListScroll);
+            this.tabListPopup.add(listPanel, BorderLayout.CENTER);
+
+            // Filter the list while typing.
+            this.searchField = new JTextField();
+            this.searchField.getDocument().addDocumentListener(new DocumentListener() {
+                @Override
+                public void insertUpdate(final DocumentEvent evt) {
+                    updateSearch();
+                }
+
+                @Override
+                public void removeUpdate(final DocumentEvent evt) {
+                    updateSearch();
+                }
+
+                @Override
+                public void changedUpdate(final DocumentEvent evt) {
+                }
+            });
+            this.searchField.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_UP, 0), "selectPreviousRow");
+            this.searchField.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_DOWN, 0), "selectNextRow");
+            this.searchField.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "selectTab");
+            this.searchField.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "hidePopup");
+            this.searchField.getActionMap().put("selectPreviousRow", new AbstractAction() {
+                @Override
+                public void actionPerformed(final ActionEvent evt) {
+                    moveSelection(-1);
+                }
+            });
+            this.searchField.getActionMap().put("selectNextRow", new AbstractAction() {
+                @Override
+                public void actionPerformed(final ActionEvent evt) {
+                    moveSelection(1);
+                }
+            });
+            this.searchField.getActionMap().put("selectTab", new AbstractAction() {
+                @Override
+                public void actionPerformed(final ActionEvent evt) {
+                    selectTab(tabList.getSelectedIndex());
+                }
+            });
+            this.searchField.getActionMap().put("hidePopup", new AbstractAction() {
+                @Override
+                public void actionPerformed(final ActionEvent evt) {
+                    tabListPopup.setVisible(false);
+                }
+            });
+            this.tabListPopup.add(this.searchField, BorderLayout.NORTH);
+
+            // Search again, if tabs change while the pop-up shows matches.
+            // A hidden pop-up is reset when it is shown again, so the model is
+            // only listened to while the pop-up is visible.
+            final ListDataListener tabsListener = new ListDataListener() {
+                @Override
+                public void intervalAdded(final ListDataEvent evt) {
+                    tabsChanged();
+                }
+
+                @Override
+                public void intervalRemoved(final ListDataEvent evt) {
+                    tabsChanged();
+                }
+
+                @Override
+                public void contentsChanged(final ListDataEvent evt) {
+                    tabsChanged();
+                }
             };
+            this.tabListPopup.addPopupMenuListener(new PopupMenuListener() {
+                @Override
+                public void popupMenuWillBecomeVisible(final PopupMenuEvent evt) {
+                    tabListModel.addListDataListener(tabsListener);
+                }
+
+                @Override
+                public void popupMenuWillBecomeInvisible(final PopupMenuEvent evt) {
+                    tabListModel.removeListDataListener(tabsListener);
+                }
+
+                @Override
+                public void popupMenuCanceled(final PopupMenuEvent evt) {
+                }
+            });
+        }
+
+        private void tabsChanged() {
+            if (this.tabListPopup.isVisible() && this.tabList.getModel() == this.searchListModel) {
+                this.updateSearch();
+            }
+        }
+
+        /**
+         * Shows the matches of the search text, or the whole live model if
+         * there is none, and selects the row of the selected tab or else the
+         * first row.
+         */
+        private void updateSearch() {
+            final String query = this.searchField.getText();
+            final int selectedIndex = this.tabPane.getSelectedIndex();
+            if (query.isEmpty()) {
+                this.searchListModel.setTabIndices(null);
+                if (this.tabList.getModel() != this.tabListModel) {
+                    this.tabList.setModel(this.tabListModel);
+                }
+                this.tabList.setSelectedIndex(selectedIndex);
+                this.tabList.ensureIndexIsVisible(selectedIndex);
+                return;
+            }
+            final int[] tabIndices = this.tabListModel.getTitleIndex().search(query);
+            this.searchListModel.setTabIndices(tabIndices);
+            if (this.tabList.getModel() != this.searchListModel) {
+                this.tabList.setModel(this.searchListModel);
+            }
+            final int row = Math.max(0, Arrays.binarySearch(tabIndices, selectedIndex));
+            if (row < tabIndices.length) {
+                this.tabList.setSelectedIndex(row);
+                this.tabList.ensureIndexIsVisible(row);
+            } else {
+                this.tabList.clearSelection();
+            }
+        }
+
+        private void moveSelection(final int delta) {
+            final int row = this.tabList.getSelectedIndex() + delta;
+            if (row >= 0 && row < this.tabList.getModel().getSize()) {
+                this.tabList.setSelectedIndex(row);
+                this.tabList.ensureIndexIsVisible(row);
+            }
+        }
+
+        /**
+         * Selects the tab shown in a row of the list and hides the pop-up.
+         */
+        private void selectTab(final int row) {
+            final int index = row >= 0 && row < this.tabList.getModel().getSize()
+                    ? getTabIndex(this.tabList, row) : -1;
+            if (index >= 0 && index < this.tabPane.getTabCount()) {
+                this.tabPane.setSelectedIndex(index);
+            }
+            this.tabListPopup.setVisible(false);
+        }
+
+        private static int getTabIndex(final JList<?> list, final int row) {
+            return list.getModel() instanceof TabSearchListModel
+                    ? ((TabSearchListModel) list.getModel()).getTabIndex(row) : row;
         }
 
         @Override
@@ -654,38 +2093,62 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         }
 
         private void initAndShowPopup() {
-            // Clean up.
-            this.tabListPopup.removeAll();
-            this.listPanel.removeAll();
-            this.tabListScroll.setViewportView(null);
+            final TabbedPaneMetrics metrics = this.tabPane.getMetrics();
+            final long start = metrics != null ? System.nanoTime() : 0;
+            if (this.tabListPopup == null) {
+                this.createPopup();
+            }
+            // The prototype fixes the cell size, so the list does not measure each entry.
+            final String prototype = this.tabListModel.getPrototype();
+            if (!prototype.equals(this.tabList.getPrototypeCellValue())) {
+                this.tabList.setPrototypeCellValue(prototype);
+                this.tabList.setFixedCellHeight(18);
+            }
+            this.tabList.setVisibleRowCount(Math.min(VISIBLE_ENTRIES, this.tabPane.getTabCount()));
+            // Show all tabs and the selected one, the text of the last search is cleared.
+            if (this.searchField.getText().isEmpty()) {
+                this.updateSearch();
+            } else {
+                this.searchField.setText("");
+            }
+            this.tabListPopup.show(this, 0, this.getHeight());
+            this.searchField.requestFocusInWindow();
+            if (metrics != null) {
+                metrics.record(TabbedPaneMetrics.Operation.POPUP_OPEN, start);
+            }
+        }
+
+        /**
+         * The titles of the tabs matching a search, in tab order.
+         */
+        private final class TabSearchListModel extends AbstractListModel<String> {
 
-            final DefaultListModel<String> tabListModel = new DefaultListModel<>();
-            String prototype = "";
-            for (int idx = 0; idx < this.tabPane.getTabCount(); idx++) {
-                final String title = this.tabPane.getTitleAt(idx);
-                tabListModel.addElement(title);
-                if (title.length() > prototype.length()) {
-                    prototype = title;
+            private int[] tabIndices = new int[0];
+
+            private void setTabIndices(final int[] tabIndices) {
+                final int oldSize = this.tabIndices.length;
+                this.tabIndices = tabIndices != null ? tabIndices : new int[0];
+                if (oldSize > 0) {
+                    this.fireIntervalRemoved(this, 0, oldSize - 1);
+                }
+                if (this.tabIndices.length > 0) {
+                    this.fireIntervalAdded(this, 0, this.tabIndices.length - 1);
                 }
             }
-            // Create list with custom layout.
-            final JList<String> tabList = new JList<>(tabListModel);
-            tabList.setPrototypeCellValue(prototype);
-            tabList.setVisibleRowCount(Math.min(VISIBLE_ENTRIES, this.tabPane.getTabCount()));
-            tabList.addMouseListener(this.mouseListener);
-            // Set cell renderer.
-            tabList.setCellRenderer(tabListCellRenderer);
-            // Set selected index.
-            final int selectedIndex = this.tabPane.getSelectedIndex();
-            tabList.setSelectedIndex(selectedIndex);
-            tabList.setFixedCellHeight(18);
-            // Scroll such that selected index is visible.
-            tabList.ensureIndexIsVisible(selectedIndex);
-            // Put list into a scroll panel.
-            this.tabListScroll.setViewportView(tabList);
-            this.listPanel.add(this.tabListScroll);
-            this.tabListPopup.add(this.listPanel, BorderLayout.CENTER);
-            this.tabListPopup.show(this, 0, this.getHeight());
+
+            private int getTabIndex(final int row) {
+                return this.tabIndices[row];
+            }
+
+            @Override
+            public int getSize() {
+                return this.tabIndices.length;
+            }
+
+            @Override
+            public String getElementAt(final int row) {
+                return tabPane.getTitleAt(this.tabIndices[row]);
+            }
         }
 
         /**
@@ -695,6 +2158,9 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
 
             private final JTabbedPane tabPane;
             private final JPanel listPanel;
+            // Derived once per base font instead of per rendered cell.
+            private Font plainFont;
+            private Font boldFont;
 
             /**
              * Creates a new instance of {@code AveTabListCellRenderer}.
@@ -707,6 +2173,24 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
                 this.setOpaque(true);
             }
 
+            @Override
+            public void updateUI() {
+                super.updateUI();
+                this.plainFont = null;
+                this.boldFont = null;
+            }
+
+            private void ensureFonts() {
+                if (this.plainFont == null) {
+                    final Font font = this.getFont();
+                    this.plainFont = font.deriveFont(Font.PLAIN);
+                    this.boldFont = font.deriveFont(Font.BOLD);
+                    // Add some horizontal space around text, the width of two blanks.
+                    final int padding = 2 * this.getFontMetrics(this.plainFont).charWidth(' ');
+                    this.setBorder(BorderFactory.createEmptyBorder(0, padding, 0, padding));
+                }
+            }
+
             /**
              * Customized ListCellRenderer Method, to change the spaces around
              * an entry and sets the appropriate font, foreground and
@@ -715,27 +2199,42 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
             @Override
             public Component getListCellRendererComponent(final JList list, final Object value,
                     final int index, final boolean isSelected, final boolean cellHasFocus) {
-                // Add some horizontal space around text
-                this.setText("  " + value.toString() + "  ");
+                this.ensureFonts();
+                this.setText(value.toString());
+                // The prototype cell is rendered without index.
+                if (index < 0) {
+                    this.setForeground(list.getForeground());
+                    this.setBackground(this.listPanel.getBackground());
+                    this.setFont(this.boldFont);
+                    return this;
+                }
+                final int tabIndex = getTabIndex(list, index);
                 // Use tab foreground color
-                this.setForeground(this.tabPane.getForegroundAt(index));
+                this.setForeground(this.tabPane.getForegroundAt(tabIndex));
                 // If tab background color has been explicitly set (not instance of ColorUIResource), use it
-                if (this.tabPane.getBackgroundAt(index) instanceof ColorUIResource) {
+                if (this.tabPane.getBackgroundAt(tabIndex) instanceof ColorUIResource) {
                     this.setBackground(this.listPanel.getBackground());
                 } else {
-                    this.setBackground(this.tabPane.getBackgroundAt(index));
+                    this.setBackground(this.tabPane.getBackgroundAt(tabIndex));
                 }
-                final Font font = this.getFont();
-                this.setFont(isSelected ? font.deriveFont(Font.BOLD) : font.deriveFont(Font.PLAIN));
+                this.setFont(isSelected ? this.boldFont : this.plainFont);
                 return this;
             }
         }
     }
 
+    /**
+     * A scroll button positioned by {@link #layoutHiddenTabsNavigation()}.
+     * The bounds set by the scroll tab layout are only recorded, so the
+     * button is moved once per layout and not twice.
+     */
     @SuppressWarnings("serial")
-    private static abstract class ScrollableTabButton extends BasicArrowButton implements UIResource,
+    private static class ScrollableTabButton extends javax.swing.plaf.basic.BasicArrowButton implements UIResource,
             SwingConstants {
 
+        private final Rectangle requestedBounds = new Rectangle();
+        private boolean reservesTabListSpace;
+
         private ScrollableTabButton(final int direction) {
             super(direction,
                     UIManager.getColor("Button.background"),
@@ -745,33 +2244,28 @@ public class MetalTabbedPaneUIDecorator extends MetalTabbedPaneUI {
         }
 
         @Override
-        abstract protected void fireActionPerformed(ActionEvent event);
-
-        protected void superFireActionPerformed(ActionEvent event) {
-            super.fireActionPerformed(event);
-        }
-    }
-
-    @SuppressWarnings("serial")
-    private static class BasicArrowButton extends javax.swing.plaf.basic.BasicArrowButton {
-
-        Dimension fakeSize;
-
-        public BasicArrowButton(int i, Color color, Color color1, Color color2, Color color3) {
-            super(i, color, color1, color2, color3);
+        public Dimension getPreferredSize() {
+            final Dimension size = super.getPreferredSize();
+            if (this.reservesTabListSpace) {
+                // The scroll tab layout reserves twice the size of the forward
+                // button for both scroll buttons, so widen it by half of the
+                // tab list button and its gap.
+                if (getDirection() == EAST) {
+                    size.width = (3 * size.width + TAB_LIST_BUTTON_GAP) / 2;
+                } else {
+                    size.height = (3 * size.height + TAB_LIST_BUTTON_GAP) / 2;
+                }
+            }
+            return size;
         }
 
         @Override
-        public void setPreferredSize(Dimension preferredSize) {
-            fakeSize = preferredSize;
+        public void setBounds(final int x, final int y, final int width, final int height) {
+            this.requestedBounds.setBounds(x, y, width, height);
         }
 
-        @Override
-        public Dimension getPreferredSize() {
-            if (fakeSize != null) {
-                return fakeSize;
-            }
-            return super.getPreferredSize();
+        private void applyBounds(final int x, final int y, final int width, final int height) {
+            super.setBounds(x, y, width, height);
         }
     }
 }
@@ -0,0 +1,214 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static javax.swing.extended.TabbedPaneTestSupport.waitForEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests loading the contents of async tabs, the report and retry of failed
+ * loads, and the cancellation of loads of removed tabs.
+ *
+ * @author Jörg Wille
+ */
+class AsyncTabContentTest {
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void createExecutor() {
+        this.executor = Executors.newCachedThreadPool();
+    }
+
+    @AfterEach
+    void shutdownExecutor() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    void loadedContentReplacesThePlaceholder() throws Exception {
+        final AtomicReference<JTabbedPaneExtended> tabbedPane = new AtomicReference<>();
+        final AtomicReference<String> loadingThread = new AtomicReference<>();
+        final AtomicReference<CompletableFuture<Component>> future = new AtomicReference<>();
+        onEdt(() -> {
+            tabbedPane.set(this.createTabbedPane());
+            tabbedPane.get().addAsyncTab("Async", () -> {
+                loadingThread.set(Thread.currentThread().getName());
+                return "Loaded";
+            }, JLabel::new);
+            assertNull(tabbedPane.get().getTabContentFuture(1), "Not loaded before the selection");
+            tabbedPane.get().setSelectedIndex(1);
+            future.set(tabbedPane.get().getTabContentFuture(1));
+            assertNotNull(future.get());
+        });
+        final Component content = future.get().get(5, TimeUnit.SECONDS);
+
+        onEdt(() -> {
+            assertSame(content, tabbedPane.get().getComponentAt(1));
+            assertEquals("Loaded", ((JLabel) content).getText());
+            assertNull(tabbedPane.get().getTabContentFuture(1));
+            assertFalse(tabbedPane.get().retryTabContent(1));
+        });
+        assertFalse(loadingThread.get().contains("AWT-EventQueue"), "Loaded on " + loadingThread.get());
+    }
+
+    @Test
+    void failedLoadIsReportedAndRetried() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        final AtomicReference<Throwable> reportedFailure = new AtomicReference<>();
+        final AtomicReference<JTabbedPaneExtended> tabbedPane = new AtomicReference<>();
+        final AtomicReference<CompletableFuture<Component>> future = new AtomicReference<>();
+        onEdt(() -> {
+            tabbedPane.set(new JTabbedPaneExtended() {
+                @Override
+                protected void asyncTabContentFailed(final int index, final Component placeholder, final Throwable failure) {
+                    assertEquals(1, index);
+                    reportedFailure.set(failure);
+                    super.asyncTabContentFailed(index, placeholder, failure);
+                }
+            });
+            tabbedPane.get().setContentExecutor(this.executor);
+            tabbedPane.get().addTab("Eager", new JPanel());
+            tabbedPane.get().addAsyncTab("Async", () -> {
+                if (loads.incrementAndGet() == 1) {
+                    throw new IllegalStateException("Disk unavailable");
+                }
+                return "Loaded";
+            }, JLabel::new);
+            tabbedPane.get().setSelectedIndex(1);
+            future.set(tabbedPane.get().getTabContentFuture(1));
+        });
+        awaitCompletion(future.get());
+
+        final AtomicReference<CompletableFuture<Component>> retried = new AtomicReference<>();
+        onEdt(() -> {
+            assertTrue(future.get().isCompletedExceptionally());
+            assertEquals("Disk unavailable", reportedFailure.get().getMessage());
+            // The default placeholder shows the failure instead of the progress bar.
+            final Container placeholder = (Container) tabbedPane.get().getComponentAt(1);
+            assertNull(find(placeholder, JProgressBar.class));
+            assertTrue(find(placeholder, JLabel.class).getText().contains("Disk unavailable"));
+
+            find(placeholder, JButton.class).doClick();
+            assertNotNull(find(placeholder, JProgressBar.class));
+            retried.set(tabbedPane.get().getTabContentFuture(1));
+        });
+        final Component content = retried.get().get(5, TimeUnit.SECONDS);
+
+        onEdt(() -> {
+            assertSame(content, tabbedPane.get().getComponentAt(1));
+            assertEquals(2, loads.get());
+        });
+    }
+
+    @Test
+    void failedContentFactoryIsReported() throws Exception {
+        final AtomicReference<JTabbedPaneExtended> tabbedPane = new AtomicReference<>();
+        final AtomicReference<CompletableFuture<Component>> future = new AtomicReference<>();
+        onEdt(() -> {
+            tabbedPane.set(this.createTabbedPane());
+            tabbedPane.get().addAsyncTab("Async", () -> "Loaded", data -> null);
+            tabbedPane.get().setSelectedIndex(1);
+            future.set(tabbedPane.get().getTabContentFuture(1));
+        });
+        awaitCompletion(future.get());
+
+        onEdt(() -> {
+            assertTrue(future.get().isCompletedExceptionally());
+            assertNotNull(find((Container) tabbedPane.get().getComponentAt(1), JButton.class));
+            // Selecting the tab again retries as well.
+            tabbedPane.get().setSelectedIndex(0);
+            tabbedPane.get().setSelectedIndex(1);
+            assertNotNull(find((Container) tabbedPane.get().getComponentAt(1), JProgressBar.class));
+            assertTrue(tabbedPane.get().getTabContentFuture(1) != future.get());
+        });
+    }
+
+    @Test
+    void removingTheTabCancelsTheLoad() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final AtomicBoolean contentCreated = new AtomicBoolean();
+        final AtomicBoolean failureReported = new AtomicBoolean();
+        final AtomicReference<CompletableFuture<Component>> future = new AtomicReference<>();
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended() {
+                @Override
+                protected void asyncTabContentFailed(final int index, final Component placeholder, final Throwable failure) {
+                    failureReported.set(true);
+                }
+            };
+            tabbedPane.setContentExecutor(this.executor);
+            tabbedPane.addTab("Eager", new JPanel());
+            tabbedPane.addAsyncTab("Async", () -> {
+                loading.countDown();
+                try {
+                    Thread.sleep(10_000);
+                } catch (final InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return "Loaded";
+            }, data -> {
+                contentCreated.set(true);
+                return new JLabel(data);
+            });
+            tabbedPane.setSelectedIndex(1);
+            future.set(tabbedPane.getTabContentFuture(1));
+            assertTrue(loading.await(5, TimeUnit.SECONDS));
+
+            tabbedPane.removeTabAt(1);
+            assertTrue(future.get().isCancelled());
+        });
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "Loader interrupted");
+        waitForEdt(100);
+
+        assertFalse(contentCreated.get());
+        assertFalse(failureReported.get());
+    }
+
+    private JTabbedPaneExtended createTabbedPane() {
+        final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+        tabbedPane.setContentExecutor(this.executor);
+        tabbedPane.addTab("Eager", new JPanel());
+        return tabbedPane;
+    }
+
+    /**
+     * Waits until a future has been completed and its callbacks on the event
+     * dispatch thread have run.
+     */
+    private static void awaitCompletion(final CompletableFuture<Component> future) throws Exception {
+        future.handle((content, failure) -> null).get(5, TimeUnit.SECONDS);
+        waitForEdt(0);
+    }
+
+    private static <C extends Component> C find(final Container container, final Class<C> type) {
+        for (final Component component : container.getComponents()) {
+            if (type.isInstance(component)) {
+                return type.cast(component);
+            }
+        }
+        return null;
+    }
+}
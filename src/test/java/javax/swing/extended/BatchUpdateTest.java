@@ -0,0 +1,223 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.awt.Container;
+import java.awt.Insets;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+import javax.swing.plaf.UIResource;
+import static javax.swing.extended.TabbedPaneTestSupport.countTabComponents;
+import static javax.swing.extended.TabbedPaneTestSupport.createScrollTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.getTabViewport;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a batch update changing tab components or tab defaults keeps the
+ * installed UI, i.e. its viewport, buttons and scroll position.
+ *
+ * @author Jörg Wille
+ */
+class BatchUpdateTest {
+
+    @Test
+    void changedTabComponentsKeepTheUiComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(60);
+            tabbedPane.setSelectedIndex(32);
+            tabbedPane.setLeadingTabIndex(30);
+            final List<Component> uiComponents = getUiComponents(tabbedPane);
+            final Component removedTabComponent = tabbedPane.getTabComponentAt(55);
+
+            tabbedPane.beginUpdate();
+            try {
+                for (int i = 0; i < 10; i++) {
+                    tabbedPane.addTab("Added " + i, new JPanel());
+                    tabbedPane.setCloseActionAt(tabbedPane.getTabCount() - 1, new RemoveTabAction());
+                }
+                tabbedPane.removeTabAt(55);
+            } finally {
+                tabbedPane.endUpdate();
+            }
+            tabbedPane.validate();
+
+            assertSameComponents(uiComponents, getUiComponents(tabbedPane));
+            assertEquals(30, tabbedPane.getLeadingTabIndex());
+            assertNull(removedTabComponent.getParent());
+            assertTabComponentsInstalled(tabbedPane);
+        });
+    }
+
+    @Test
+    void removeTabsKeepsTheUiComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(60);
+            tabbedPane.setSelectedIndex(20);
+            final List<Component> uiComponents = getUiComponents(tabbedPane);
+
+            assertEquals(30, tabbedPane.removeTabs(i -> i >= 30));
+            tabbedPane.validate();
+
+            assertSameComponents(uiComponents, getUiComponents(tabbedPane));
+            assertTabComponentsInstalled(tabbedPane);
+        });
+    }
+
+    @Test
+    void firstTabComponentsOfABatchAreInstalled() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(5, JTabbedPane.WRAP_TAB_LAYOUT, false);
+            tabbedPane.beginUpdate();
+            try {
+                for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+                    tabbedPane.setTabComponentAt(i, new ClosableTabComponent(tabbedPane, new RemoveTabAction()));
+                }
+            } finally {
+                tabbedPane.endUpdate();
+            }
+            tabbedPane.validate();
+
+            assertTabComponentsInstalled(tabbedPane);
+            for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+                assertTrue(tabbedPane.getTabComponentAt(i).getWidth() > 0, "Tab component " + i + " laid out");
+            }
+        });
+    }
+
+    @Test
+    void changedTabDefaultsKeepTheUiComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(60);
+            tabbedPane.setSelectedIndex(32);
+            tabbedPane.setLeadingTabIndex(30);
+            final List<Component> uiComponents = getUiComponents(tabbedPane);
+            final int tabWidth = tabbedPane.getBoundsAt(30).width;
+            final int viewPosition = getTabViewport(tabbedPane).getViewPosition().x;
+
+            tabbedPane.setTabInsets(new Insets(0, 19, 1, 11));
+            tabbedPane.validate();
+
+            assertSameComponents(uiComponents, getUiComponents(tabbedPane));
+            assertEquals(tabWidth + 20, tabbedPane.getBoundsAt(30).width);
+            // The view position is kept in pixels, the tabs have grown.
+            assertEquals(viewPosition, getTabViewport(tabbedPane).getViewPosition().x);
+
+            tabbedPane.beginUpdate();
+            try {
+                tabbedPane.setTextIconGap(8);
+            } finally {
+                tabbedPane.endUpdate();
+            }
+            tabbedPane.validate();
+
+            assertSameComponents(uiComponents, getUiComponents(tabbedPane));
+            assertEquals(8, tabbedPane.getTextIconGap());
+        });
+    }
+
+    @Test
+    void tabBoundsAreCalculatedDuringABatch() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(5, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            final Rectangle firstBounds = tabbedPane.getBoundsAt(0);
+            tabbedPane.beginUpdate();
+            try {
+                assertEquals(firstBounds, tabbedPane.getBoundsAt(0));
+                tabbedPane.insertTab("Inserted with a long title", null, new JPanel(), null, 0);
+                final Rectangle insertedBounds = tabbedPane.getBoundsAt(0);
+                assertNotNull(insertedBounds);
+                assertEquals(firstBounds.x, insertedBounds.x);
+                assertTrue(insertedBounds.width > firstBounds.width);
+                assertEquals(insertedBounds.x + insertedBounds.width, tabbedPane.getBoundsAt(1).x);
+
+                tabbedPane.setTitleAt(0, "Short");
+                assertTrue(tabbedPane.getBoundsAt(0).width < insertedBounds.width);
+            } finally {
+                tabbedPane.endUpdate();
+            }
+            final Rectangle[] batchBounds = new Rectangle[tabbedPane.getTabCount()];
+            for (int i = 0; i < batchBounds.length; i++) {
+                tabbedPane.beginUpdate();
+                try {
+                    batchBounds[i] = tabbedPane.getBoundsAt(i);
+                } finally {
+                    tabbedPane.endUpdate();
+                }
+            }
+            tabbedPane.validate();
+            for (int i = 0; i < batchBounds.length; i++) {
+                assertEquals(tabbedPane.getBoundsAt(i), batchBounds[i], "Bounds of tab " + i);
+            }
+        });
+    }
+
+    @Test
+    void leadingTabIndexIsIgnoredOutsideScrollTabLayout() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(60, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            tabbedPane.setLeadingTabIndex(40);
+            tabbedPane.validate();
+            assertEquals(0, tabbedPane.getLeadingTabIndex());
+
+            tabbedPane.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+            tabbedPane.validate();
+            assertEquals(0, tabbedPane.getLeadingTabIndex());
+
+            // A leading tab pending when the policy changes is dropped as well.
+            tabbedPane.beginUpdate();
+            try {
+                tabbedPane.setLeadingTabIndex(40);
+                tabbedPane.setTabLayoutPolicy(JTabbedPane.WRAP_TAB_LAYOUT);
+            } finally {
+                tabbedPane.endUpdate();
+            }
+            tabbedPane.validate();
+            tabbedPane.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+            tabbedPane.validate();
+            assertEquals(0, tabbedPane.getLeadingTabIndex());
+        });
+    }
+
+    private static void assertTabComponentsInstalled(final JTabbedPaneExtended tabbedPane) {
+        final Container tabContainer = tabbedPane.getTabComponentAt(0).getParent();
+        assertNotNull(tabContainer);
+        int tabComponentCount = 0;
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            final Component tabComponent = tabbedPane.getTabComponentAt(i);
+            if (tabComponent != null) {
+                assertSame(tabContainer, tabComponent.getParent(), "Parent of tab component " + i);
+                tabComponentCount++;
+            }
+        }
+        assertEquals(tabComponentCount, countTabComponents(tabContainer));
+    }
+
+    private static List<Component> getUiComponents(final JTabbedPaneExtended tabbedPane) {
+        final List<Component> uiComponents = new ArrayList<>();
+        for (final Component component : tabbedPane.getComponents()) {
+            if (component instanceof UIResource) {
+                uiComponents.add(component);
+            }
+        }
+        assertNotNull(getTabViewport(tabbedPane));
+        return uiComponents;
+    }
+
+    private static void assertSameComponents(final List<Component> expected, final List<Component> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i), "UI component " + i);
+        }
+        assertNotEquals(0, expected.size());
+    }
+}
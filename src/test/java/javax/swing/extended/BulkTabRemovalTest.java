@@ -0,0 +1,132 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import javax.swing.JTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the selection after the bulk removal of tabs and that it is changed
+ * once per removal.
+ *
+ * @author Jörg Wille
+ */
+class BulkTabRemovalTest {
+
+    @Test
+    void keptSelectedTabStaysSelected() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(10, JTabbedPane.SCROLL_TAB_LAYOUT, true);
+            tabbedPane.setSelectedIndex(7);
+            final Component selected = tabbedPane.getSelectedComponent();
+            final int[] stateChanges = countStateChanges(tabbedPane);
+
+            assertEquals(5, tabbedPane.removeTabs(i -> i % 2 == 0));
+
+            assertEquals(5, tabbedPane.getTabCount());
+            assertEquals(3, tabbedPane.getSelectedIndex());
+            assertSame(selected, tabbedPane.getSelectedComponent());
+            assertEquals("Test 1", tabbedPane.getTitleAt(0));
+            assertEquals("Test 9", tabbedPane.getTitleAt(4));
+            assertEquals(1, stateChanges[0]);
+        });
+    }
+
+    @Test
+    void removedSelectedTabSelectsTheNearestTabBefore() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(10, JTabbedPane.SCROLL_TAB_LAYOUT, true);
+            tabbedPane.setSelectedIndex(5);
+            final int[] stateChanges = countStateChanges(tabbedPane);
+
+            assertEquals(5, tabbedPane.removeTabs(i -> i >= 3 && i <= 7));
+
+            assertEquals(2, tabbedPane.getSelectedIndex());
+            assertEquals("Test 2", tabbedPane.getTitleAt(tabbedPane.getSelectedIndex()));
+            assertEquals(1, stateChanges[0]);
+        });
+    }
+
+    @Test
+    void removedFirstTabsSelectTheNearestTabAfter() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(10, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            tabbedPane.setSelectedIndex(1);
+
+            assertEquals(4, tabbedPane.removeTabsToTheLeft(4));
+
+            assertEquals(0, tabbedPane.getSelectedIndex());
+            assertEquals("Test 4", tabbedPane.getTitleAt(0));
+        });
+    }
+
+    @Test
+    void removeTabsToTheRight() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(10, JTabbedPane.SCROLL_TAB_LAYOUT, true);
+            tabbedPane.setSelectedIndex(2);
+            assertEquals(3, tabbedPane.removeTabsToTheRight(6));
+            assertEquals(7, tabbedPane.getTabCount());
+            assertEquals(2, tabbedPane.getSelectedIndex());
+
+            tabbedPane.setSelectedIndex(6);
+            assertEquals(2, tabbedPane.removeTabsToTheRight(4));
+            assertEquals(5, tabbedPane.getTabCount());
+            assertEquals(4, tabbedPane.getSelectedIndex());
+            assertEquals("Test 4", tabbedPane.getTitleAt(4));
+
+            assertEquals(0, tabbedPane.removeTabsToTheRight(4));
+            assertEquals(0, tabbedPane.removeTabsToTheLeft(0));
+        });
+    }
+
+    @Test
+    void removeOtherTabsKeepsTheGivenTabSelected() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(10, JTabbedPane.SCROLL_TAB_LAYOUT, true);
+            tabbedPane.setSelectedIndex(8);
+            final Component kept = tabbedPane.getComponentAt(3);
+
+            assertEquals(9, tabbedPane.removeOtherTabs(3));
+
+            assertEquals(1, tabbedPane.getTabCount());
+            assertEquals(0, tabbedPane.getSelectedIndex());
+            assertSame(kept, tabbedPane.getSelectedComponent());
+            assertEquals(1, tabbedPane.getTabLayoutPolicyListenerCount());
+        });
+    }
+
+    @Test
+    void removingAllTabsClearsTheSelection() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(10, JTabbedPane.SCROLL_TAB_LAYOUT, true);
+            tabbedPane.setSelectedIndex(4);
+
+            assertEquals(10, tabbedPane.removeTabs(i -> true));
+
+            assertEquals(0, tabbedPane.getTabCount());
+            assertEquals(-1, tabbedPane.getSelectedIndex());
+        });
+    }
+
+    @Test
+    void invalidArguments() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(3, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            assertThrows(NullPointerException.class, () -> tabbedPane.removeTabs(null));
+            assertThrows(IndexOutOfBoundsException.class, () -> tabbedPane.removeOtherTabs(3));
+            assertThrows(IndexOutOfBoundsException.class, () -> tabbedPane.removeTabsToTheLeft(-1));
+            assertEquals(3, tabbedPane.getTabCount());
+        });
+    }
+
+    private static int[] countStateChanges(final JTabbedPaneExtended tabbedPane) {
+        final int[] stateChanges = new int[1];
+        tabbedPane.addChangeListener(e -> stateChanges[0]++);
+        return stateChanges;
+    }
+}
@@ -0,0 +1,161 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the content of lazy tabs is created once on their first
+ * selection, also when selected during a batch update, and that replaced or
+ * removed lazy tabs are not created anymore.
+ *
+ * @author Jörg Wille
+ */
+class LazyTabTest {
+
+    @Test
+    void contentIsCreatedOnFirstSelectionOnly() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane();
+            final AtomicInteger creations = new AtomicInteger();
+            tabbedPane.addLazyTab("Lazy", countingSupplier(creations, "Created"));
+            assertEquals(0, creations.get());
+            assertFalse(tabbedPane.isTabContentCreated(1));
+            assertFalse(tabbedPane.getComponentAt(1) instanceof JLabel);
+
+            tabbedPane.setSelectedIndex(1);
+            assertEquals(1, creations.get());
+            assertTrue(tabbedPane.isTabContentCreated(1));
+            final Component content = tabbedPane.getComponentAt(1);
+            assertEquals("Created", ((JLabel) content).getText());
+
+            tabbedPane.setSelectedIndex(0);
+            tabbedPane.setSelectedIndex(1);
+            assertEquals(1, creations.get());
+            assertSame(content, tabbedPane.getComponentAt(1));
+            // Tabs not added as lazy tabs are always created.
+            assertTrue(tabbedPane.isTabContentCreated(0));
+        });
+    }
+
+    @Test
+    void firstTabIsCreatedWhenAdded() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+            final AtomicInteger creations = new AtomicInteger();
+            tabbedPane.addLazyTab("Lazy", countingSupplier(creations, "Created"));
+            // Inserting the first tab selects it.
+            assertEquals(1, creations.get());
+            assertTrue(tabbedPane.isTabContentCreated(0));
+        });
+    }
+
+    @Test
+    void tabsSelectedDuringABatchAreCreatedAtItsEnd() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane();
+            final AtomicInteger firstCreations = new AtomicInteger();
+            final AtomicInteger secondCreations = new AtomicInteger();
+            tabbedPane.addLazyTab("First", countingSupplier(firstCreations, "First"));
+            tabbedPane.addLazyTab("Second", countingSupplier(secondCreations, "Second"));
+
+            tabbedPane.beginUpdate();
+            tabbedPane.setSelectedIndex(1);
+            tabbedPane.setSelectedIndex(2);
+            tabbedPane.setSelectedIndex(1);
+            assertEquals(0, firstCreations.get());
+            tabbedPane.endUpdate();
+
+            // Only the tab selected at the end of the batch is created, once.
+            assertEquals(1, firstCreations.get());
+            assertEquals(0, secondCreations.get());
+            assertTrue(tabbedPane.isTabContentCreated(1));
+            assertFalse(tabbedPane.isTabContentCreated(2));
+        });
+    }
+
+    @Test
+    void replacedPlaceholderIsNotCreated() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane();
+            final AtomicInteger creations = new AtomicInteger();
+            tabbedPane.addLazyTab("Lazy", countingSupplier(creations, "Created"));
+            final Component placeholder = tabbedPane.getComponentAt(1);
+            final JPanel replacement = new JPanel();
+
+            tabbedPane.setComponentAt(1, replacement);
+            assertTrue(tabbedPane.isTabContentCreated(1));
+            tabbedPane.setSelectedIndex(1);
+            assertEquals(0, creations.get());
+            assertSame(replacement, tabbedPane.getComponentAt(1));
+
+            // The placeholder added again is an ordinary component.
+            tabbedPane.setComponentAt(1, placeholder);
+            tabbedPane.setSelectedIndex(0);
+            tabbedPane.setSelectedIndex(1);
+            assertEquals(0, creations.get());
+            assertSame(placeholder, tabbedPane.getComponentAt(1));
+        });
+    }
+
+    @Test
+    void removedTabIsNotCreated() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane();
+            final AtomicInteger creations = new AtomicInteger();
+            tabbedPane.addLazyTab("Lazy", countingSupplier(creations, "Created"));
+            final Component placeholder = tabbedPane.getComponentAt(1);
+
+            tabbedPane.removeTabAt(1);
+            tabbedPane.addTab("Added again", placeholder);
+            tabbedPane.setSelectedIndex(1);
+            assertEquals(0, creations.get());
+            assertSame(placeholder, tabbedPane.getComponentAt(1));
+            assertTrue(tabbedPane.isTabContentCreated(1));
+        });
+    }
+
+    @Test
+    void supplierReturningNullIsRejected() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane();
+            tabbedPane.addLazyTab("Lazy", () -> null);
+
+            final NullPointerException e = assertThrows(NullPointerException.class, () -> tabbedPane.setSelectedIndex(1));
+            assertEquals("Content supplier of tab 1 returned null.", e.getMessage());
+        });
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane();
+            assertThrows(NullPointerException.class, () -> tabbedPane.addLazyTab("Lazy", null));
+            assertThrows(NullPointerException.class,
+                    () -> tabbedPane.insertLazyTab("Lazy", null, null, () -> new JPanel(), null, 0));
+            assertEquals(1, tabbedPane.getTabCount());
+        });
+    }
+
+    private static JTabbedPaneExtended createTabbedPane() {
+        final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+        tabbedPane.addTab("Eager", new JPanel());
+        return tabbedPane;
+    }
+
+    private static Supplier<Component> countingSupplier(final AtomicInteger creations, final String text) {
+        return () -> {
+            creations.incrementAndGet();
+            return new JLabel(text);
+        };
+    }
+}
@@ -0,0 +1,122 @@
+package javax.swing.extended;
+
+import java.awt.Rectangle;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseListener;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.AbstractAction;
+import javax.swing.JTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the close buttons painted by the decorator instead of tab components.
+ *
+ * @author Jörg Wille
+ */
+class PaintedCloseButtonTest {
+
+    private static final int TAB_COUNT = 5;
+
+    @Test
+    void closableTabsHaveNoComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            final int componentWidth = tabbedPane.getBoundsAt(2).width;
+            tabbedPane.setCloseButtonsPainted(true);
+            tabbedPane.validate();
+
+            for (int i = 0; i < TAB_COUNT; i++) {
+                assertNull(tabbedPane.getTabComponentAt(i), "Tab component " + i);
+                assertNotNull(tabbedPane.getCloseActionAt(i));
+                assertTrue(tabbedPane.isCloseButtonPaintedAt(i));
+            }
+            // The button takes about the space it takes in the component.
+            assertTrue(Math.abs(componentWidth - tabbedPane.getBoundsAt(2).width) <= 8,
+                    componentWidth + " vs. " + tabbedPane.getBoundsAt(2).width);
+
+            tabbedPane.setCloseButtonsPainted(false);
+            tabbedPane.validate();
+            for (int i = 0; i < TAB_COUNT; i++) {
+                assertTrue(tabbedPane.getTabComponentAt(i) instanceof ClosableTabComponent, "Tab component " + i);
+            }
+        });
+    }
+
+    @Test
+    void clickOnTheButtonClosesTheTab() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            tabbedPane.setCloseButtonsPainted(true);
+            tabbedPane.validate();
+            final Rectangle tabBounds = tabbedPane.getBoundsAt(2);
+
+            click(tabbedPane, tabBounds.x + tabBounds.width - 13, tabBounds.y + tabBounds.height / 2);
+
+            assertEquals(TAB_COUNT - 1, tabbedPane.getTabCount());
+            assertEquals("Test 3", tabbedPane.getTitleAt(2));
+            assertEquals(0, tabbedPane.getSelectedIndex());
+        });
+    }
+
+    @Test
+    void clickBesideTheButtonSelectsTheTab() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.WRAP_TAB_LAYOUT, false);
+            final List<ActionEvent> events = new ArrayList<>();
+            tabbedPane.setCloseButtonsPainted(true);
+            for (int i = 0; i < TAB_COUNT; i++) {
+                tabbedPane.setCloseActionAt(i, new AbstractAction() {
+                    @Override
+                    public void actionPerformed(final ActionEvent e) {
+                        events.add(e);
+                    }
+                });
+            }
+            tabbedPane.validate();
+            final Rectangle tabBounds = tabbedPane.getBoundsAt(3);
+
+            click(tabbedPane, tabBounds.x + 4, tabBounds.y + tabBounds.height / 2);
+            assertEquals(3, tabbedPane.getSelectedIndex());
+            assertTrue(events.isEmpty());
+            // The close buttons are hit tested in a valid tabbed pane only.
+            tabbedPane.validate();
+
+            click(tabbedPane, tabBounds.x + tabBounds.width - 13, tabBounds.y + tabBounds.height / 2,
+                    InputEvent.SHIFT_DOWN_MASK | InputEvent.CTRL_DOWN_MASK);
+            assertEquals(1, events.size());
+            final TabCloseEvent event = (TabCloseEvent) events.get(0);
+            assertSame(tabbedPane, event.getTabbedPane());
+            assertEquals(3, event.getTabIndex());
+            assertEquals(ActionEvent.SHIFT_MASK | ActionEvent.CTRL_MASK, event.getModifiers());
+            assertEquals(TAB_COUNT, tabbedPane.getTabCount());
+        });
+    }
+
+    private static void click(final JTabbedPaneExtended tabbedPane, final int x, final int y) {
+        click(tabbedPane, x, y, 0);
+    }
+
+    private static void click(final JTabbedPaneExtended tabbedPane, final int x, final int y, final int modifiersEx) {
+        final long when = System.currentTimeMillis();
+        final MouseEvent pressed = new MouseEvent(tabbedPane, MouseEvent.MOUSE_PRESSED, when,
+                modifiersEx | InputEvent.BUTTON1_DOWN_MASK, x, y, 1, false, MouseEvent.BUTTON1);
+        final MouseEvent released = new MouseEvent(tabbedPane, MouseEvent.MOUSE_RELEASED, when,
+                modifiersEx, x, y, 1, false, MouseEvent.BUTTON1);
+        for (final MouseListener listener : tabbedPane.getMouseListeners()) {
+            listener.mousePressed(pressed);
+        }
+        for (final MouseListener listener : tabbedPane.getMouseListeners()) {
+            listener.mouseReleased(released);
+        }
+    }
+}
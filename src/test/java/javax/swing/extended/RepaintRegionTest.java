@@ -0,0 +1,118 @@
+package javax.swing.extended;
+
+import java.awt.Rectangle;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseMotionListener;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JComponent;
+import javax.swing.JTabbedPane;
+import javax.swing.RepaintManager;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a selection change and the rollover of a painted close button
+ * repaint the damaged regions only, recorded by a {@code RepaintManager}.
+ *
+ * @author Jörg Wille
+ */
+class RepaintRegionTest {
+
+    @Test
+    void selectionChangeRepaintsTheDamagedTabs() throws Exception {
+        for (final int tabLayoutPolicy : new int[]{JTabbedPane.SCROLL_TAB_LAYOUT, JTabbedPane.WRAP_TAB_LAYOUT}) {
+            onEdt(() -> {
+                final JTabbedPaneExtended tabbedPane = createTabbedPane(5, tabLayoutPolicy, true);
+                tabbedPane.setSelectedIndex(1);
+                final List<Rectangle> regions = recordRepaints(tabbedPane, () -> tabbedPane.setSelectedIndex(3));
+
+                // Hiding the old content repaints its bounds, which the content border surrounds.
+                final Rectangle contentBounds = tabbedPane.getComponentAt(3).getBounds();
+                regions.removeIf(contentBounds::equals);
+                assertFalse(regions.isEmpty());
+                final Rectangle damage = union(regions);
+                assertFalse(coversTabbedPane(damage, tabbedPane), "Damage " + damage);
+                assertTrue(damage.contains(tabbedPane.getBoundsAt(1)), "Old selected tab repainted");
+                assertTrue(damage.contains(tabbedPane.getBoundsAt(3)), "New selected tab repainted");
+                assertTrue(damage.height < tabbedPane.getHeight() / 2, "Damage " + damage + " within the tab area");
+            });
+        }
+    }
+
+    @Test
+    void closeButtonRolloverRepaintsTheButton() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(5, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            tabbedPane.setCloseButtonsPainted(true);
+            tabbedPane.validate();
+            final Rectangle tabBounds = tabbedPane.getBoundsAt(2);
+            // The close button is centered vertically at the trailing edge of the tab.
+            final int x = tabBounds.x + tabBounds.width - 13;
+            final int y = tabBounds.y + tabBounds.height / 2;
+
+            final List<Rectangle> enterRegions = recordRepaints(tabbedPane, () -> mouseMoved(tabbedPane, x, y));
+            assertEquals(1, enterRegions.size());
+            final Rectangle buttonBounds = enterRegions.get(0);
+            assertTrue(buttonBounds.contains(x, y));
+            assertTrue(tabBounds.contains(buttonBounds));
+            assertEquals(ClosableTabComponent.TAB_BUTTON_SIZE, buttonBounds.width);
+
+            // Moving within the button does not repaint.
+            assertTrue(recordRepaints(tabbedPane, () -> mouseMoved(tabbedPane, x + 1, y)).isEmpty());
+
+            final List<Rectangle> exitRegions = recordRepaints(tabbedPane,
+                    () -> mouseMoved(tabbedPane, tabBounds.x + 2, y));
+            assertEquals(1, exitRegions.size());
+            assertEquals(buttonBounds, exitRegions.get(0));
+        });
+    }
+
+    private static void mouseMoved(final JTabbedPaneExtended tabbedPane, final int x, final int y) {
+        final MouseEvent event = new MouseEvent(tabbedPane, MouseEvent.MOUSE_MOVED, System.currentTimeMillis(),
+                0, x, y, 0, false);
+        for (final MouseMotionListener listener : tabbedPane.getMouseMotionListeners()) {
+            listener.mouseMoved(event);
+        }
+    }
+
+    /**
+     * Runs an action and returns the regions of the tabbed pane marked dirty
+     * meanwhile. The regions are recorded, not painted.
+     */
+    private static List<Rectangle> recordRepaints(final JComponent component, final Runnable action) {
+        final List<Rectangle> regions = new ArrayList<>();
+        final RepaintManager repaintManager = RepaintManager.currentManager(component);
+        RepaintManager.setCurrentManager(new RepaintManager() {
+            @Override
+            public void addDirtyRegion(final JComponent c, final int x, final int y, final int w, final int h) {
+                if (c == component) {
+                    regions.add(new Rectangle(x, y, w, h));
+                }
+            }
+        });
+        try {
+            action.run();
+        } finally {
+            RepaintManager.setCurrentManager(repaintManager);
+        }
+        return regions;
+    }
+
+    private static Rectangle union(final List<Rectangle> regions) {
+        final Rectangle union = new Rectangle(regions.get(0));
+        for (final Rectangle region : regions) {
+            union.add(region);
+        }
+        return union;
+    }
+
+    private static boolean coversTabbedPane(final Rectangle region, final JComponent tabbedPane) {
+        return region.x <= 0 && region.y <= 0 && region.width >= tabbedPane.getWidth()
+                && region.height >= tabbedPane.getHeight();
+    }
+}
@@ -0,0 +1,125 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.JLabel;
+import javax.swing.JTabbedPane;
+import javax.swing.JViewport;
+import static javax.swing.extended.TabbedPaneTestSupport.createScrollTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.getTabViewport;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static javax.swing.extended.TabbedPaneTestSupport.waitForEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a selection change shows the selected component right away,
+ * whereas scrolling the selected tab into view is coalesced for a burst of
+ * selection changes.
+ *
+ * @author Jörg Wille
+ */
+class SelectedTabScrollTest {
+
+    private static final int TAB_COUNT = 200;
+
+    @Test
+    void selectionShowsTheSelectedComponentRightAway() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(TAB_COUNT);
+            final Component oldContent = tabbedPane.getSelectedComponent();
+            final Rectangle contentBounds = oldContent.getBounds();
+
+            tabbedPane.setSelectedIndex(150);
+
+            assertTrue(tabbedPane.isValid());
+            assertFalse(oldContent.isVisible());
+            assertTrue(tabbedPane.getComponentAt(150).isVisible());
+            assertEquals(contentBounds, tabbedPane.getComponentAt(150).getBounds());
+        });
+    }
+
+    @Test
+    void selectedLazyContentIsLaidOutRightAway() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(TAB_COUNT);
+            final Rectangle contentBounds = tabbedPane.getSelectedComponent().getBounds();
+            tabbedPane.addLazyTab("Lazy", () -> new JLabel("Created"));
+            tabbedPane.validate();
+
+            tabbedPane.setSelectedIndex(TAB_COUNT);
+
+            final Component content = tabbedPane.getSelectedComponent();
+            assertTrue(content instanceof JLabel);
+            assertTrue(content.isVisible());
+            assertEquals(contentBounds, content.getBounds());
+        });
+    }
+
+    @Test
+    void burstOfSelectionChangesScrollsOnce() throws Exception {
+        final AtomicReference<JTabbedPaneExtended> tabbedPane = new AtomicReference<>();
+        final int[] viewPositionChanges = new int[1];
+        onEdt(() -> {
+            tabbedPane.set(createScrollTabbedPane(TAB_COUNT));
+            final JViewport tabViewport = getTabViewport(tabbedPane.get());
+            final Point initialViewPosition = tabViewport.getViewPosition();
+            final Point[] lastViewPosition = {initialViewPosition};
+            tabViewport.addChangeListener(e -> {
+                if (!tabViewport.getViewPosition().equals(lastViewPosition[0])) {
+                    lastViewPosition[0] = tabViewport.getViewPosition();
+                    viewPositionChanges[0]++;
+                }
+            });
+
+            for (int i = 100; i < 180; i++) {
+                tabbedPane.get().setSelectedIndex(i);
+                assertTrue(tabbedPane.get().getComponentAt(i).isVisible());
+            }
+            // Neither BasicTabbedPaneUI nor JTabbedPaneExtended has scrolled yet.
+            assertEquals(0, viewPositionChanges[0]);
+            assertEquals(initialViewPosition, tabViewport.getViewPosition());
+        });
+        waitForEdt(0);
+
+        onEdt(() -> {
+            assertEquals(1, viewPositionChanges[0]);
+            assertTabVisible(tabbedPane.get(), 179);
+        });
+    }
+
+    @Test
+    void leadingTabAskedForAfterTheSelectionIsKept() throws Exception {
+        final AtomicReference<JTabbedPaneExtended> tabbedPane = new AtomicReference<>();
+        onEdt(() -> {
+            tabbedPane.set(createScrollTabbedPane(TAB_COUNT));
+            tabbedPane.get().setSelectedIndex(150);
+            tabbedPane.get().setLeadingTabIndex(20);
+        });
+        waitForEdt(0);
+
+        onEdt(() -> assertEquals(20, tabbedPane.get().getLeadingTabIndex()));
+    }
+
+    @Test
+    void wrapTabLayoutShowsTheSelectedComponent() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(20, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            tabbedPane.setSelectedIndex(15);
+            assertTrue(tabbedPane.getComponentAt(15).isVisible());
+            assertFalse(tabbedPane.getComponentAt(0).isVisible());
+        });
+    }
+
+    private static void assertTabVisible(final JTabbedPaneExtended tabbedPane, final int index) {
+        final JViewport tabViewport = getTabViewport(tabbedPane);
+        final Rectangle tabBounds = tabbedPane.getBoundsAt(index);
+        final Rectangle viewportBounds = tabViewport.getBounds();
+        assertTrue(viewportBounds.contains(tabBounds), "Tab " + tabBounds + " within " + viewportBounds);
+    }
+}
@@ -0,0 +1,154 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import static javax.swing.extended.TabbedPaneTestSupport.createScrollTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the identity index of {@link JTabbedPaneExtended#indexOfTabComponent}
+ * against the linear search of {@code JTabbedPane} while tabs are appended,
+ * inserted, removed and their tab components replaced.
+ *
+ * @author Jörg Wille
+ */
+class TabComponentIndexTest {
+
+    @Test
+    void indexFollowsAppendInsertAndRemove() throws Exception {
+        onEdt(() -> {
+            final IndexedTabbedPane tabbedPane = new IndexedTabbedPane();
+            final List<Component> tabComponents = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                addTab(tabbedPane, tabbedPane.getTabCount(), tabComponents);
+            }
+            assertIndices(tabbedPane, tabComponents);
+
+            // Middle inserts and removals shift the indices of the following tabs.
+            addTab(tabbedPane, 3, tabComponents);
+            assertIndices(tabbedPane, tabComponents);
+            addTab(tabbedPane, 0, tabComponents);
+            assertIndices(tabbedPane, tabComponents);
+            tabbedPane.removeTabAt(5);
+            assertIndices(tabbedPane, tabComponents);
+            tabbedPane.removeTabAt(tabbedPane.getTabCount() - 1);
+            assertIndices(tabbedPane, tabComponents);
+            addTab(tabbedPane, tabbedPane.getTabCount(), tabComponents);
+            assertIndices(tabbedPane, tabComponents);
+        });
+    }
+
+    @Test
+    void indexFollowsReplacedTabComponents() throws Exception {
+        onEdt(() -> {
+            final IndexedTabbedPane tabbedPane = new IndexedTabbedPane();
+            final List<Component> tabComponents = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                addTab(tabbedPane, i, tabComponents);
+            }
+            assertIndices(tabbedPane, tabComponents);
+
+            final JLabel replacement = new JLabel("Replacement");
+            tabbedPane.setTabComponentAt(2, replacement);
+            tabComponents.add(replacement);
+            assertIndices(tabbedPane, tabComponents);
+
+            // A tab without tab component, and the same tab component again.
+            tabbedPane.setTabComponentAt(3, null);
+            tabbedPane.setTabComponentAt(2, replacement);
+            assertIndices(tabbedPane, tabComponents);
+            // JTabbedPane finds the first tab without tab component.
+            assertEquals(3, tabbedPane.indexOfTabComponent(null));
+        });
+    }
+
+    @Test
+    void indexIsEmptyAfterRemoveAll() throws Exception {
+        onEdt(() -> {
+            final IndexedTabbedPane tabbedPane = new IndexedTabbedPane();
+            final List<Component> tabComponents = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                addTab(tabbedPane, i, tabComponents);
+            }
+            assertIndices(tabbedPane, tabComponents);
+
+            tabbedPane.removeAll();
+            assertIndices(tabbedPane, tabComponents);
+            addTab(tabbedPane, 0, tabComponents);
+            addTab(tabbedPane, 1, tabComponents);
+            assertIndices(tabbedPane, tabComponents);
+        });
+    }
+
+    @Test
+    void randomChangesMatchTheLinearSearch() throws Exception {
+        onEdt(() -> {
+            final Random random = new Random(7);
+            final IndexedTabbedPane tabbedPane = new IndexedTabbedPane();
+            final List<Component> tabComponents = new ArrayList<>();
+            for (int round = 0; round < 1000; round++) {
+                final int tabCount = tabbedPane.getTabCount();
+                final int operation = random.nextInt(5);
+                if (operation <= 1 || tabCount == 0) {
+                    addTab(tabbedPane, operation == 0 ? tabCount : random.nextInt(tabCount + 1), tabComponents);
+                } else if (operation == 2) {
+                    tabbedPane.removeTabAt(random.nextInt(tabCount));
+                } else if (operation == 3) {
+                    final JLabel replacement = new JLabel("Replacement " + round);
+                    tabbedPane.setTabComponentAt(random.nextInt(tabCount), replacement);
+                    tabComponents.add(replacement);
+                } else if (random.nextInt(20) == 0) {
+                    tabbedPane.removeAll();
+                }
+                assertIndices(tabbedPane, tabComponents);
+            }
+        });
+    }
+
+    @Test
+    void indexOfVirtualizedTabComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(200);
+            tabbedPane.insertTab("Inserted", null, new JPanel(), null, 50);
+            tabbedPane.removeTabAt(10);
+            tabbedPane.validate();
+            for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+                final Component tabComponent = tabbedPane.getTabComponentAt(i);
+                if (tabComponent != null) {
+                    assertEquals(i, tabbedPane.indexOfTabComponent(tabComponent), "Tab " + i);
+                }
+            }
+        });
+    }
+
+    private static void addTab(final JTabbedPaneExtended tabbedPane, final int index, final List<Component> tabComponents) {
+        final JLabel tabComponent = new JLabel("Tab " + tabComponents.size());
+        tabbedPane.insertTab("Tab " + tabComponents.size(), null, new JPanel(), null, index);
+        tabbedPane.setTabComponentAt(index, tabComponent);
+        tabComponents.add(tabComponent);
+    }
+
+    /**
+     * Compares the index of every tab component ever added, including the
+     * removed and replaced ones, with the linear search.
+     */
+    private static void assertIndices(final IndexedTabbedPane tabbedPane, final List<Component> tabComponents) {
+        for (final Component tabComponent : tabComponents) {
+            assertEquals(tabbedPane.linearIndexOfTabComponent(tabComponent), tabbedPane.indexOfTabComponent(tabComponent),
+                    "Index of " + ((JLabel) tabComponent).getText());
+        }
+    }
+
+    private static final class IndexedTabbedPane extends JTabbedPaneExtended {
+
+        int linearIndexOfTabComponent(final Component tabComponent) {
+            return super.indexOfTabComponent(tabComponent);
+        }
+    }
+}
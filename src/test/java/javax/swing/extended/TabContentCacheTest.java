@@ -0,0 +1,246 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TabContentCache} with lazy tabs selected one after
+ * another: the entry and byte limits, the saved and restored state, the
+ * reuse of softly reachable contents and the counters.
+ *
+ * @author Jörg Wille
+ */
+class TabContentCacheTest {
+
+    private static final int LAZY_TAB_COUNT = 5;
+
+    @Test
+    void entryLimitReleasesTheLeastRecentlySelectedContent() throws Exception {
+        onEdt(() -> {
+            final int[] creations = new int[LAZY_TAB_COUNT + 1];
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(creations);
+            final TabContentCache cache = new TabContentCache(2);
+            tabbedPane.setContentCache(cache);
+
+            tabbedPane.setSelectedIndex(1);
+            tabbedPane.setSelectedIndex(2);
+            assertEquals(2, cache.size());
+            // Selecting tab 1 again makes tab 2 the least recently selected.
+            tabbedPane.setSelectedIndex(1);
+            tabbedPane.setSelectedIndex(3);
+
+            assertEquals(2, cache.size());
+            assertEquals(1, cache.getEvictionCount());
+            assertTrue(tabbedPane.isTabContentCreated(1));
+            assertFalse(tabbedPane.isTabContentCreated(2));
+            assertTrue(tabbedPane.isTabContentCreated(3));
+
+            // The released content is created anew on reselection.
+            tabbedPane.setSelectedIndex(2);
+            assertEquals(2, creations[2]);
+            assertEquals(1, cache.getRestoreCount());
+            assertEquals(2, cache.size());
+            assertEquals(2, cache.getEvictionCount());
+        });
+    }
+
+    @Test
+    void byteBudgetReleasesContents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(new int[LAZY_TAB_COUNT + 1]);
+            final TabContentCache cache = new TabContentCache(LAZY_TAB_COUNT);
+            cache.setByteBudget(100, content -> 40);
+            tabbedPane.setContentCache(cache);
+
+            tabbedPane.setSelectedIndex(1);
+            tabbedPane.setSelectedIndex(2);
+            assertEquals(80, cache.getWeight());
+            assertEquals(0, cache.getEvictionCount());
+
+            tabbedPane.setSelectedIndex(3);
+            assertEquals(2, cache.size());
+            assertEquals(80, cache.getWeight());
+            assertEquals(1, cache.getEvictionCount());
+            assertFalse(tabbedPane.isTabContentCreated(1));
+        });
+    }
+
+    @Test
+    void selectedContentIsNeverReleased() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(new int[LAZY_TAB_COUNT + 1]);
+            final TabContentCache cache = new TabContentCache(1);
+            // A single content exceeds the budget.
+            cache.setByteBudget(10, content -> 40);
+            tabbedPane.setContentCache(cache);
+
+            for (int i = 1; i <= LAZY_TAB_COUNT; i++) {
+                tabbedPane.setSelectedIndex(i);
+                assertTrue(tabbedPane.isTabContentCreated(i), "Selected tab " + i);
+                assertEquals(1, cache.size());
+                assertEquals(40, cache.getWeight());
+                assertEquals(i - 1, cache.getEvictionCount());
+            }
+        });
+    }
+
+    @Test
+    void stateIsSavedAndRestored() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(new int[LAZY_TAB_COUNT + 1]);
+            final TabContentCache cache = new TabContentCache(1);
+            final List<String> calls = new ArrayList<>();
+            cache.setStateHandler(new TabContentStateHandler() {
+                @Override
+                public Object saveState(final int index, final Component content) {
+                    calls.add("save " + index + " " + ((JLabel) content).getText());
+                    return "State of " + ((JLabel) content).getText();
+                }
+
+                @Override
+                public void restoreState(final int index, final Component content, final Object state) {
+                    calls.add("restore " + index + " " + state);
+                    ((JLabel) content).setText((String) state);
+                }
+            });
+            tabbedPane.setContentCache(cache);
+
+            tabbedPane.setSelectedIndex(1);
+            tabbedPane.setSelectedIndex(2);
+            tabbedPane.setSelectedIndex(1);
+
+            assertEquals(3, calls.size(), calls.toString());
+            // Tab 1 is restored first, then tab 2 is released to keep a single content.
+            assertEquals("save 1 Content 1", calls.get(0));
+            assertEquals("restore 1 State of Content 1", calls.get(1));
+            assertEquals("save 2 Content 2", calls.get(2));
+            assertEquals("State of Content 1", ((JLabel) tabbedPane.getComponentAt(1)).getText());
+            assertEquals(1, cache.getRestoreCount());
+        });
+    }
+
+    @Test
+    void softlyReachableContentIsReused() throws Exception {
+        onEdt(() -> {
+            final int[] creations = new int[LAZY_TAB_COUNT + 1];
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(creations);
+            final TabContentCache cache = new TabContentCache(1);
+            cache.setSoftReferences(true);
+            tabbedPane.setContentCache(cache);
+
+            tabbedPane.setSelectedIndex(1);
+            final Component content = tabbedPane.getComponentAt(1);
+            tabbedPane.setSelectedIndex(2);
+            assertFalse(tabbedPane.isTabContentCreated(1));
+
+            // The garbage collector is not pressed for memory to clear the soft reference.
+            tabbedPane.setSelectedIndex(1);
+            assertSame(content, tabbedPane.getComponentAt(1));
+            assertEquals(1, creations[1]);
+            assertEquals(1, cache.getSoftHitCount());
+            assertEquals(0, cache.getRestoreCount());
+            assertEquals(2, cache.getEvictionCount());
+        });
+    }
+
+    @Test
+    void releasedContentIsCreatedAnewWithoutSoftReferences() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(new int[LAZY_TAB_COUNT + 1]);
+            final TabContentCache cache = new TabContentCache(1);
+            tabbedPane.setContentCache(cache);
+
+            tabbedPane.setSelectedIndex(1);
+            final Component content = tabbedPane.getComponentAt(1);
+            tabbedPane.setSelectedIndex(2);
+            tabbedPane.setSelectedIndex(1);
+            assertNotSame(content, tabbedPane.getComponentAt(1));
+            assertEquals(0, cache.getSoftHitCount());
+            assertEquals(1, cache.getRestoreCount());
+        });
+    }
+
+    @Test
+    void removedTabsAreForgotten() throws Exception {
+        onEdt(() -> {
+            final int[] creations = new int[LAZY_TAB_COUNT + 1];
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(creations);
+            final TabContentCache cache = new TabContentCache(2);
+            cache.setByteBudget(Long.MAX_VALUE, content -> 40);
+            tabbedPane.setContentCache(cache);
+            tabbedPane.setSelectedIndex(1);
+            tabbedPane.setSelectedIndex(2);
+            // Removing the selected tab would select and create the next one.
+            tabbedPane.setSelectedIndex(0);
+
+            // A created content.
+            tabbedPane.removeTabAt(2);
+            assertEquals(1, cache.size());
+            assertEquals(40, cache.getWeight());
+
+            // A content replaced by the application.
+            tabbedPane.setComponentAt(1, new JPanel());
+            assertEquals(0, cache.size());
+            assertEquals(0, cache.getWeight());
+
+            // The removed tabs are no candidates for release anymore.
+            tabbedPane.setSelectedIndex(2);
+            tabbedPane.setSelectedIndex(3);
+            assertEquals(2, cache.size());
+            assertEquals(0, cache.getEvictionCount());
+        });
+    }
+
+    @Test
+    void countersAreReported() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(new int[LAZY_TAB_COUNT + 1]);
+            final TabContentCache cache = new TabContentCache(1);
+            tabbedPane.setContentCache(cache);
+            tabbedPane.setSelectedIndex(1);
+            tabbedPane.setSelectedIndex(2);
+            tabbedPane.setSelectedIndex(1);
+
+            assertEquals("TabContentCache[size=1, weight=0, evictions=2, restores=1, softHits=0]", cache.toString());
+        });
+    }
+
+    @Test
+    void cacheIsUsedByOneTabbedPane() throws Exception {
+        onEdt(() -> {
+            final TabContentCache cache = new TabContentCache(1);
+            createTabbedPane(new int[LAZY_TAB_COUNT + 1]).setContentCache(cache);
+            assertThrows(IllegalStateException.class, () -> createTabbedPane(new int[LAZY_TAB_COUNT + 1]).setContentCache(cache));
+            assertThrows(IllegalArgumentException.class, () -> new TabContentCache(0));
+            assertThrows(NullPointerException.class, () -> new TabContentCache(1, null));
+        });
+    }
+
+    /**
+     * Creates a tabbed pane with an eager tab followed by lazy tabs, which
+     * count their creations per tab index.
+     */
+    private static JTabbedPaneExtended createTabbedPane(final int[] creations) {
+        final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+        tabbedPane.addTab("Eager", new JPanel());
+        for (int i = 1; i <= LAZY_TAB_COUNT; i++) {
+            final int index = i;
+            tabbedPane.addLazyTab("Lazy " + i, () -> {
+                creations[index]++;
+                return new JLabel("Content " + index);
+            });
+        }
+        return tabbedPane;
+    }
+}
@@ -0,0 +1,62 @@
+package javax.swing.extended;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the victims chosen by the {@link TabEvictionPolicy} implementations.
+ *
+ * @author Jörg Wille
+ */
+class TabEvictionPolicyTest {
+
+    @Test
+    void leastRecentlyUsedReleasesTheLeastRecentlySelected() {
+        final TabEvictionPolicy policy = TabEvictionPolicy.leastRecentlyUsed();
+        policy.recordInsertion("a");
+        policy.recordInsertion("b");
+        policy.recordInsertion("c");
+        assertEquals("a", policy.selectVictim(key -> true));
+
+        policy.recordAccess("a");
+        assertEquals("b", policy.selectVictim(key -> true));
+        assertEquals("c", policy.selectVictim(key -> !"b".equals(key)));
+
+        policy.recordRemoval("b");
+        assertEquals("c", policy.selectVictim(key -> true));
+        assertNull(policy.selectVictim(key -> false));
+    }
+
+    @Test
+    void leastFrequentlyUsedReleasesTheLeastFrequentlySelected() {
+        final TabEvictionPolicy policy = TabEvictionPolicy.leastFrequentlyUsed();
+        policy.recordInsertion("a");
+        policy.recordInsertion("b");
+        policy.recordInsertion("c");
+        // Equally frequent contents are released in the order of creation.
+        assertEquals("a", policy.selectVictim(key -> true));
+
+        policy.recordAccess("a");
+        policy.recordAccess("b");
+        policy.recordAccess("b");
+        assertEquals("c", policy.selectVictim(key -> true));
+        assertEquals("a", policy.selectVictim(key -> !"c".equals(key)));
+
+        policy.recordRemoval("c");
+        policy.recordAccess("c");
+        assertEquals("a", policy.selectVictim(key -> true));
+        assertNull(policy.selectVictim(key -> false));
+    }
+
+    @Test
+    void keysAreComparedByEquals() {
+        for (final TabEvictionPolicy policy : new TabEvictionPolicy[]{
+            TabEvictionPolicy.leastRecentlyUsed(), TabEvictionPolicy.leastFrequentlyUsed()}) {
+            policy.recordInsertion(new String("a"));
+            policy.recordInsertion("b");
+            policy.recordRemoval(new String("a"));
+            assertEquals("b", policy.selectVictim(key -> true), policy.getClass().getSimpleName());
+        }
+    }
+}
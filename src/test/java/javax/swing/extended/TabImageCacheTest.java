@@ -0,0 +1,89 @@
+package javax.swing.extended;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import javax.swing.JTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.HEIGHT;
+import static javax.swing.extended.TabbedPaneTestSupport.WIDTH;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests which tabs the {@link TabImageCache} draws from images.
+ *
+ * @author Jörg Wille
+ */
+class TabImageCacheTest {
+
+    private static final int TAB_COUNT = 5;
+
+    @Test
+    void unchangedTabsAreDrawnFromImages() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.WRAP_TAB_LAYOUT, false);
+            final TabImageCache tabImageCache = new TabImageCache(1 << 24);
+            tabbedPane.setTabImageCache(tabImageCache);
+
+            paint(tabbedPane);
+            assertEquals(TAB_COUNT, tabImageCache.size());
+            assertEquals(TAB_COUNT, tabImageCache.getMissCount());
+            paint(tabbedPane);
+            assertEquals(TAB_COUNT, tabImageCache.size());
+            assertEquals(TAB_COUNT, tabImageCache.getHitCount());
+
+            // The old and new selected tab and their neighbours change.
+            tabbedPane.setSelectedIndex(2);
+            paint(tabbedPane);
+            assertEquals(TAB_COUNT + 4, tabImageCache.getMissCount());
+            tabbedPane.setTitleAt(4, "Changed");
+            paint(tabbedPane);
+            assertEquals(TAB_COUNT + 5, tabImageCache.getMissCount());
+        });
+    }
+
+    @Test
+    void titlesWithSubpixelAntialiasingAreNotCached() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.WRAP_TAB_LAYOUT, false);
+            final TabImageCache tabImageCache = new TabImageCache(1 << 24);
+            tabbedPane.setTabImageCache(tabImageCache);
+            tabbedPane.putClientProperty(RenderingHints.KEY_TEXT_ANTIALIASING,
+                    RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB);
+            paint(tabbedPane);
+            assertEquals(0, tabImageCache.size());
+
+            tabbedPane.putClientProperty(RenderingHints.KEY_TEXT_ANTIALIASING,
+                    RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            paint(tabbedPane);
+            assertEquals(TAB_COUNT, tabImageCache.size());
+        });
+    }
+
+    @Test
+    void tabComponentsWithSubpixelAntialiasingAreCached() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            final TabImageCache tabImageCache = new TabImageCache(1 << 24);
+            tabbedPane.setTabImageCache(tabImageCache);
+            tabbedPane.putClientProperty(RenderingHints.KEY_TEXT_ANTIALIASING,
+                    RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB);
+            paint(tabbedPane);
+            // The components paint their titles themselves.
+            assertEquals(TAB_COUNT, tabImageCache.size());
+        });
+    }
+
+    private static void paint(final JTabbedPaneExtended tabbedPane) {
+        final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        final Graphics2D g = image.createGraphics();
+        try {
+            g.setClip(0, 0, WIDTH, HEIGHT);
+            tabbedPane.getUI().paint(g, tabbedPane);
+        } finally {
+            g.dispose();
+        }
+    }
+}
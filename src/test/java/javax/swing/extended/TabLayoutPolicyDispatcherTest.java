@@ -0,0 +1,152 @@
+package javax.swing.extended;
+
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createScrollTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that tab components are registered with the tab layout policy
+ * dispatcher of their tabbed pane only while they are tab components.
+ *
+ * @author Jörg Wille
+ */
+class TabLayoutPolicyDispatcherTest {
+
+    @Test
+    void removedAndReplacedTabComponentsAreUnregistered() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(20, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            assertEquals(20, tabbedPane.getTabLayoutPolicyListenerCount());
+
+            tabbedPane.removeTabAt(5);
+            tabbedPane.removeTabAt(tabbedPane.getTabCount() - 1);
+            assertEquals(18, tabbedPane.getTabLayoutPolicyListenerCount());
+
+            tabbedPane.setTabComponentAt(0, new ClosableTabComponent(tabbedPane, new RemoveTabAction()));
+            tabbedPane.setTabComponentAt(1, null);
+            assertEquals(17, tabbedPane.getTabLayoutPolicyListenerCount());
+
+            tabbedPane.removeAll();
+            assertEquals(0, tabbedPane.getTabLayoutPolicyListenerCount());
+        });
+    }
+
+    @Test
+    void hideAndShowRegistersOnce() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(20);
+            for (int i = 0; i < 3; i++) {
+                tabbedPane.removeNotify();
+                tabbedPane.addNotify();
+            }
+            assertEquals(20, tabbedPane.getTabLayoutPolicyListenerCount());
+        });
+    }
+
+    @Test
+    void releasedVirtualizedTabComponentsAreUnregistered() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(0);
+            tabbedPane.setTabComponentsVirtualized(true);
+            for (int i = 0; i < 500; i++) {
+                tabbedPane.addTab("Test " + i, new JPanel());
+                tabbedPane.setCloseActionAt(i, new RemoveTabAction());
+            }
+            tabbedPane.validate();
+            for (final int index : new int[]{250, 499, 0}) {
+                tabbedPane.setLeadingTabIndex(index);
+                tabbedPane.validate();
+
+                // The pane may keep one more component to measure tabs.
+                final int tabComponentCount = countClosableTabComponents(tabbedPane);
+                assertTrue(tabComponentCount > 0);
+                assertTrue(tabbedPane.getTabLayoutPolicyListenerCount() <= tabComponentCount + 1,
+                        tabbedPane.getTabLayoutPolicyListenerCount() + " registered for " + tabComponentCount);
+            }
+        });
+    }
+
+    @Test
+    void droppedMeasuringTabComponentIsUnregistered() throws Exception {
+        for (final boolean closeButtonsPainted : new boolean[]{false, true}) {
+            onEdt(() -> {
+                final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(0);
+                tabbedPane.setTabComponentsVirtualized(true);
+                for (int i = 0; i < 200; i++) {
+                    tabbedPane.addTab("Test " + i, new JPanel());
+                    tabbedPane.setCloseActionAt(i, new RemoveTabAction());
+                }
+                tabbedPane.validate();
+                assertNotNull(tabbedPane.getVirtualTabComponentSize(199));
+
+                if (closeButtonsPainted) {
+                    tabbedPane.setCloseButtonsPainted(true);
+                    assertEquals(0, tabbedPane.getTabLayoutPolicyListenerCount());
+                } else {
+                    tabbedPane.setTabComponentsVirtualized(false);
+                    assertEquals(200, countClosableTabComponents(tabbedPane));
+                    assertEquals(200, tabbedPane.getTabLayoutPolicyListenerCount());
+                }
+            });
+        }
+    }
+
+    @Test
+    void reusedTabComponentsFollowThePolicyChangedWhileReleased() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(0, JTabbedPane.WRAP_TAB_LAYOUT, false);
+            tabbedPane.setTabComponentsVirtualized(true);
+            for (int i = 0; i < 200; i++) {
+                tabbedPane.addTab("Test " + i, new JPanel());
+                tabbedPane.setCloseActionAt(i, new RemoveTabAction());
+            }
+            tabbedPane.validate();
+
+            // Releases the tab components far from the viewport with the gap of scroll tab layout.
+            tabbedPane.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+            tabbedPane.validate();
+            assertBorders(tabbedPane, true);
+
+            tabbedPane.setTabLayoutPolicy(JTabbedPane.WRAP_TAB_LAYOUT);
+            tabbedPane.validate();
+            assertEquals(200, countClosableTabComponents(tabbedPane));
+            assertBorders(tabbedPane, false);
+
+            tabbedPane.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+            tabbedPane.validate();
+            tabbedPane.setLeadingTabIndex(150);
+            tabbedPane.validate();
+            assertBorders(tabbedPane, true);
+        });
+    }
+
+    private static int countClosableTabComponents(final JTabbedPaneExtended tabbedPane) {
+        int count = 0;
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            if (tabbedPane.getTabComponentAt(i) instanceof ClosableTabComponent) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static void assertBorders(final JTabbedPaneExtended tabbedPane, final boolean gap) {
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            if (tabbedPane.getTabComponentAt(i) instanceof ClosableTabComponent) {
+                final JPanel labelPanel = (JPanel) ((ClosableTabComponent) tabbedPane.getTabComponentAt(i)).getComponent(0);
+                if (gap) {
+                    assertNotNull(labelPanel.getBorder(), "Border of tab component " + i);
+                } else {
+                    assertNull(labelPanel.getBorder(), "Border of tab component " + i);
+                }
+            }
+        }
+    }
+}
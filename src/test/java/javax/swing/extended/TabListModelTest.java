@@ -0,0 +1,51 @@
+package javax.swing.extended;
+
+import javax.swing.JPanel;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the prototype of the {@link TabListModel}.
+ *
+ * @author Jörg Wille
+ */
+class TabListModelTest {
+
+    @Test
+    void prototypeIsTheLongestTitle() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+            final TabListModel model = tabbedPane.getTabListModel();
+            assertEquals("", model.getPrototype());
+            tabbedPane.addTab("Short", new JPanel());
+            tabbedPane.addTab("The longest title", new JPanel());
+            tabbedPane.addTab("Medium title", new JPanel());
+            assertEquals("The longest title", model.getPrototype());
+
+            tabbedPane.setTitleAt(1, "Shorter");
+            assertEquals("Medium title", model.getPrototype());
+            tabbedPane.removeTabAt(2);
+            assertEquals("Shorter", model.getPrototype());
+        });
+    }
+
+    @Test
+    void nullTitlesAreSkipped() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+            final TabListModel model = tabbedPane.getTabListModel();
+            tabbedPane.addTab("Short", new JPanel());
+            tabbedPane.addTab("The longest title", new JPanel());
+            tabbedPane.setTitleAt(0, null);
+            tabbedPane.removeTabAt(1);
+            assertEquals("", model.getPrototype());
+
+            tabbedPane.addTab("Title", new JPanel());
+            tabbedPane.setTitleAt(1, null);
+            assertEquals("", model.getPrototype());
+            tabbedPane.setTitleAt(0, "Title");
+            assertEquals("Title", model.getPrototype());
+        });
+    }
+}
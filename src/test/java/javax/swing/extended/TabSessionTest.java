@@ -0,0 +1,213 @@
+package javax.swing.extended;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import javax.swing.JLabel;
+import javax.swing.JTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createScrollTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests saving and restoring a {@link TabSession}, and that truncated and
+ * corrupt session files are rejected.
+ *
+ * @author Jörg Wille
+ */
+class TabSessionTest {
+
+    private static final int TAB_COUNT = 50;
+    private static final Function<String, Supplier<Component>> CONTENTS = key -> () -> new JLabel(key);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restoredTabsEqualTheSavedTabs() throws Exception {
+        onEdt(() -> {
+            final Path file = this.directory.resolve("session.bin");
+            final JTabbedPaneExtended saved = createSavedTabbedPane();
+            TabSession.save(saved, file, i -> i % 2 == 0 ? "doc" + i : null);
+
+            final JTabbedPaneExtended restored = createTabbedPane(3, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            TabSession.restore(restored, file, CONTENTS, new RemoveTabAction());
+            restored.validate();
+
+            assertSameTabs(saved, restored);
+            assertEquals(40, restored.getSelectedIndex());
+            assertEquals(30, restored.getLeadingTabIndex());
+            // Only the selected tab has been created, from its key.
+            assertEquals("doc40", ((JLabel) restored.getSelectedComponent()).getText());
+            assertTrue(restored.isTabContentCreated(40));
+            assertFalse(restored.isTabContentCreated(42));
+        });
+    }
+
+    @Test
+    void sessionIsSavedOverTheRestoredFile() throws Exception {
+        onEdt(() -> {
+            final Path file = this.directory.resolve("session.bin");
+            final JTabbedPaneExtended saved = createSavedTabbedPane();
+            TabSession.save(saved, file, i -> null);
+            final JTabbedPaneExtended restored = createTabbedPane(0, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            TabSession.restore(restored, file, CONTENTS, new RemoveTabAction());
+
+            restored.setTitleAt(0, "Renamed");
+            restored.removeTabAt(1);
+            TabSession.save(restored, file, i -> null);
+
+            final JTabbedPaneExtended restoredAgain = createTabbedPane(0, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            TabSession.restore(restoredAgain, file, CONTENTS, new RemoveTabAction());
+            assertSameTabs(restored, restoredAgain);
+            assertEquals("Renamed", restoredAgain.getTitleAt(0));
+            assertEquals(TAB_COUNT - 1, restoredAgain.getTabCount());
+        });
+    }
+
+    @Test
+    void sessionLargerThanTheReadBufferIsRestored() throws Exception {
+        onEdt(() -> {
+            final Path file = this.directory.resolve("session.bin");
+            final JTabbedPaneExtended saved = createTabbedPane(0, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            final StringBuilder title = new StringBuilder();
+            for (int i = 0; i < 3000; i++) {
+                title.setLength(0);
+                title.append("Tab ").append(i).append(' ');
+                while (title.length() < 100) {
+                    title.append('x');
+                }
+                saved.addTab(title.toString(), new JLabel());
+            }
+            TabSession.save(saved, file, i -> "doc" + i);
+            assertTrue(Files.size(file) > 4 * (1 << 16), "Session of " + Files.size(file) + " bytes");
+
+            final JTabbedPaneExtended restored = createTabbedPane(3, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            TabSession.restore(restored, file, CONTENTS, null);
+            assertSameTabs(saved, restored);
+            restored.setSelectedIndex(2999);
+            assertEquals("doc2999", ((JLabel) restored.getSelectedComponent()).getText());
+        });
+    }
+
+    @Test
+    void truncatedSessionKeepsTheTabsBeforeTheEnd() throws Exception {
+        onEdt(() -> {
+            final Path file = this.directory.resolve("session.bin");
+            TabSession.save(createSavedTabbedPane(), file, i -> "doc" + i);
+            final byte[] bytes = Files.readAllBytes(file);
+            Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+            final JTabbedPaneExtended restored = createTabbedPane(3, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            final IOException e = assertThrows(IOException.class,
+                    () -> TabSession.restore(restored, file, CONTENTS, null));
+            assertTrue(e.getMessage().startsWith("Corrupt tab session"), e.getMessage());
+            assertTrue(restored.getTabCount() > 0 && restored.getTabCount() < TAB_COUNT,
+                    "Restored " + restored.getTabCount());
+            assertEquals("Test 0", restored.getTitleAt(0));
+            assertNotNull(restored.getBoundsAt(0));
+
+            // A file ending within the header.
+            Files.write(file, Arrays.copyOf(bytes, 10));
+            assertThrows(IOException.class, () -> TabSession.restore(restored, file, CONTENTS, null));
+        });
+    }
+
+    @Test
+    void corruptSessionsAreRejected() throws Exception {
+        onEdt(() -> {
+            final Path file = this.directory.resolve("session.bin");
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(3, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+
+            // Not a session, the tabbed pane is left unchanged.
+            Files.write(file, "Not a tab session at all".getBytes("UTF-8"));
+            assertThrows(IOException.class, () -> TabSession.restore(tabbedPane, file, CONTENTS, null));
+            assertEquals(3, tabbedPane.getTabCount());
+
+            // A negative tab count.
+            writeSession(file, -1, 0, 0, new byte[0]);
+            assertThrows(IOException.class, () -> TabSession.restore(tabbedPane, file, CONTENTS, null));
+            assertEquals(3, tabbedPane.getTabCount());
+
+            // A selected index after the last tab.
+            writeSession(file, 1, 1, 0, new byte[]{0, 1, 'A'});
+            assertThrows(IOException.class, () -> TabSession.restore(tabbedPane, file, CONTENTS, null));
+
+            // A title length without end.
+            writeSession(file, 1, 0, 0, new byte[]{0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF});
+            assertThrows(IOException.class, () -> TabSession.restore(tabbedPane, file, CONTENTS, null));
+
+            // A valid single tab.
+            writeSession(file, 1, 0, 0, new byte[]{0, 1, 'A'});
+            TabSession.restore(tabbedPane, file, CONTENTS, null);
+            assertEquals(1, tabbedPane.getTabCount());
+            assertEquals("A", tabbedPane.getTitleAt(0));
+            assertNull(tabbedPane.getToolTipTextAt(0));
+        });
+    }
+
+    @Test
+    void missingFileIsReported() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(3, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            assertThrows(IOException.class,
+                    () -> TabSession.restore(tabbedPane, this.directory.resolve("missing.bin"), CONTENTS, null));
+            assertEquals(3, tabbedPane.getTabCount());
+        });
+    }
+
+    private static JTabbedPaneExtended createSavedTabbedPane() {
+        final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(TAB_COUNT);
+        tabbedPane.setToolTipTextAt(3, "Tooltip");
+        tabbedPane.setForegroundAt(4, new Color(0x80102030, true));
+        tabbedPane.setBackgroundAt(5, Color.ORANGE);
+        tabbedPane.setTitleAt(6, "Ünïcode ✓");
+        tabbedPane.setTabComponentAt(7, null);
+        tabbedPane.setSelectedIndex(40);
+        tabbedPane.setLeadingTabIndex(30);
+        tabbedPane.validate();
+        assertEquals(30, tabbedPane.getLeadingTabIndex());
+        return tabbedPane;
+    }
+
+    private static void assertSameTabs(final JTabbedPaneExtended expected, final JTabbedPaneExtended actual) {
+        assertEquals(expected.getTabCount(), actual.getTabCount());
+        for (int i = 0; i < expected.getTabCount(); i++) {
+            assertEquals(expected.getTitleAt(i), actual.getTitleAt(i), "Title of tab " + i);
+            assertEquals(expected.getToolTipTextAt(i), actual.getToolTipTextAt(i), "Tooltip of tab " + i);
+            assertEquals(expected.getForegroundAt(i), actual.getForegroundAt(i), "Foreground of tab " + i);
+            assertEquals(expected.getBackgroundAt(i), actual.getBackgroundAt(i), "Background of tab " + i);
+            assertEquals(isClosable(expected, i), isClosable(actual, i), "Closability of tab " + i);
+        }
+    }
+
+    private static boolean isClosable(final JTabbedPaneExtended tabbedPane, final int index) {
+        return tabbedPane.getCloseActionAt(index) != null || tabbedPane.getTabComponentAt(index) instanceof ClosableTabComponent;
+    }
+
+    private static void writeSession(final Path file, final int tabCount, final int selectedIndex, final int leadingTabIndex,
+            final byte[] tabs) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(0x4A545053);
+            out.writeInt(1);
+            out.writeInt(tabCount);
+            out.writeInt(selectedIndex);
+            out.writeInt(leadingTabIndex);
+            out.write(tabs);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package javax.swing.extended;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Random;
+import javax.swing.JPanel;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link TabTitleIndex} against a search of all titles while tabs
+ * are inserted, removed and retitled.
+ *
+ * @author Jörg Wille
+ */
+class TabTitleIndexTest {
+
+    private static final String[] WORDS = {"Main", "main.java", "README", "Test", "tabbed", "Pane", "a", "ab", "x", "ÄÖü"};
+
+    @Test
+    void searchIsCaseInsensitive() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+            tabbedPane.addTab("Main.java", new JPanel());
+            tabbedPane.addTab("README.md", new JPanel());
+            tabbedPane.addTab("domain", new JPanel());
+            tabbedPane.addTab(null, new JPanel());
+            final TabTitleIndex titleIndex = tabbedPane.getTabListModel().getTitleIndex();
+
+            assertEquals(4, titleIndex.size());
+            assertArrayEquals(new int[]{0, 2}, titleIndex.search("MAIN"));
+            assertArrayEquals(new int[]{0, 2}, titleIndex.search("ai"));
+            assertArrayEquals(new int[]{1}, titleIndex.search("e.m"));
+            assertArrayEquals(new int[0], titleIndex.search("mainx"));
+            assertArrayEquals(new int[]{0, 1, 2, 3}, titleIndex.search(""));
+            assertThrows(NullPointerException.class, () -> titleIndex.search(null));
+        });
+    }
+
+    @Test
+    void indexFollowsInsertRemoveAndRetitle() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+            tabbedPane.addTab("alpha", new JPanel());
+            tabbedPane.addTab("beta", new JPanel());
+            final TabTitleIndex titleIndex = tabbedPane.getTabListModel().getTitleIndex();
+            assertArrayEquals(new int[]{1}, titleIndex.search("bet"));
+
+            tabbedPane.insertTab("alphabet", null, new JPanel(), null, 0);
+            assertArrayEquals(new int[]{0, 2}, titleIndex.search("bet"));
+            tabbedPane.removeTabAt(2);
+            assertArrayEquals(new int[]{0}, titleIndex.search("bet"));
+            tabbedPane.setTitleAt(1, "Better");
+            assertArrayEquals(new int[]{0, 1}, titleIndex.search("bet"));
+            tabbedPane.setTitleAt(0, "gamma");
+            assertArrayEquals(new int[]{1}, titleIndex.search("bet"));
+            assertArrayEquals(new int[]{1}, titleIndex.search("bett"));
+        });
+    }
+
+    @Test
+    void randomChangesMatchABruteForceSearch() throws Exception {
+        onEdt(() -> {
+            final Random random = new Random(42);
+            final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+            for (int i = 0; i < 200; i++) {
+                tabbedPane.addTab(randomTitle(random), new JPanel());
+            }
+            final TabTitleIndex titleIndex = tabbedPane.getTabListModel().getTitleIndex();
+            for (int round = 0; round < 2000; round++) {
+                final int tabCount = tabbedPane.getTabCount();
+                final int operation = random.nextInt(4);
+                if (operation == 0 || tabCount == 0) {
+                    tabbedPane.insertTab(randomTitle(random), null, new JPanel(), null, random.nextInt(tabCount + 1));
+                } else if (operation == 1) {
+                    tabbedPane.removeTabAt(random.nextInt(tabCount));
+                } else if (operation == 2) {
+                    tabbedPane.setTitleAt(random.nextInt(tabCount), randomTitle(random));
+                }
+                // Typing a query extends the previous one.
+                final String query = randomTitle(random);
+                for (int length = 0; length <= Math.min(query.length(), 6); length++) {
+                    final String typed = query.substring(0, length);
+                    assertArrayEquals(bruteForceSearch(tabbedPane, typed), titleIndex.search(typed),
+                            "Query \"" + typed + "\" in round " + round);
+                }
+                assertEquals(tabbedPane.getTabCount(), titleIndex.size());
+            }
+        });
+    }
+
+    private static String randomTitle(final Random random) {
+        final StringBuilder title = new StringBuilder();
+        final int wordCount = 1 + random.nextInt(3);
+        for (int i = 0; i < wordCount; i++) {
+            title.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return title.toString();
+    }
+
+    private static int[] bruteForceSearch(final JTabbedPaneExtended tabbedPane, final String query) {
+        final String lowerQuery = query.toLowerCase(Locale.ROOT);
+        final int[] matches = new int[tabbedPane.getTabCount()];
+        int count = 0;
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            if (tabbedPane.getTitleAt(i).toLowerCase(Locale.ROOT).contains(lowerQuery)) {
+                matches[count++] = i;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+}
@@ -0,0 +1,75 @@
+package javax.swing.extended;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.JTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the registration of the {@link TabbedPaneMetrics} as MXBean.
+ *
+ * @author Jörg Wille
+ */
+class TabbedPaneMetricsTest {
+
+    private static final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+
+    @Test
+    void equallyNamedTabbedPanesAreRegistered() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended first = createTabbedPane(3, JTabbedPane.WRAP_TAB_LAYOUT, false);
+            final JTabbedPaneExtended second = createTabbedPane(3, JTabbedPane.WRAP_TAB_LAYOUT, false);
+            first.setName("Documents");
+            second.setName("Documents");
+            first.setMetricsEnabled(true);
+            second.setMetricsEnabled(true);
+            try {
+                assertNotEquals(first.getMetricsName(), second.getMetricsName());
+                assertTrue(SERVER.isRegistered(first.getMetricsName()));
+                assertTrue(SERVER.isRegistered(second.getMetricsName()));
+                assertEquals("Documents", ObjectName.unquote(first.getMetricsName().getKeyProperty("name")));
+            } finally {
+                first.setMetricsEnabled(false);
+                second.setMetricsEnabled(false);
+            }
+        });
+    }
+
+    @Test
+    void metricsAreOnlyRegisteredWhileDisplayable() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(3, JTabbedPane.WRAP_TAB_LAYOUT, false);
+            tabbedPane.setMetricsEnabled(true);
+            final TabbedPaneMetrics metrics = tabbedPane.getMetrics();
+            final ObjectName name = tabbedPane.getMetricsName();
+            assertTrue(SERVER.isRegistered(name));
+
+            tabbedPane.removeNotify();
+            assertFalse(SERVER.isRegistered(name));
+            assertNull(tabbedPane.getMetricsName());
+            tabbedPane.setSelectedIndex(1);
+            assertEquals(1, metrics.getSetSelectedIndex().getCount());
+
+            tabbedPane.addNotify();
+            final ObjectName registeredName = tabbedPane.getMetricsName();
+            assertNotNull(registeredName);
+            assertTrue(SERVER.isRegistered(registeredName));
+            assertSame(metrics, tabbedPane.getMetrics());
+
+            tabbedPane.setMetricsEnabled(false);
+            assertNull(tabbedPane.getMetrics());
+            assertNull(tabbedPane.getMetricsName());
+            assertFalse(SERVER.isRegistered(registeredName));
+        });
+    }
+}
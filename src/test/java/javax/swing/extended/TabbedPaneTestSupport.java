@@ -0,0 +1,120 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.awt.Container;
+import javax.swing.Action;
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.UIManager;
+import javax.swing.plaf.UIResource;
+import javax.swing.plaf.metal.MetalLookAndFeel;
+
+/**
+ * Builds the {@link JTabbedPaneExtended} instances the tests operate on and
+ * runs the tests on the event dispatch thread. The panes are added to a
+ * parent, made displayable with {@code addNotify()} and validated, but never
+ * shown.
+ *
+ * @author Jörg Wille
+ */
+public final class TabbedPaneTestSupport {
+
+    public static final int WIDTH = 800;
+    public static final int HEIGHT = 400;
+
+    /**
+     * A test body run on the event dispatch thread.
+     */
+    public interface EdtTask {
+
+        void run() throws Exception;
+    }
+
+    private TabbedPaneTestSupport() {
+    }
+
+    /**
+     * Runs a task on the event dispatch thread with the Metal look and feel
+     * installed and rethrows its failure.
+     */
+    public static void onEdt(final EdtTask task) throws Exception {
+        final Throwable[] failure = new Throwable[1];
+        SwingUtilities.invokeAndWait(() -> {
+            try {
+                if (!(UIManager.getLookAndFeel() instanceof MetalLookAndFeel)) {
+                    UIManager.setLookAndFeel(new MetalLookAndFeel());
+                }
+                task.run();
+            } catch (final Throwable t) {
+                failure[0] = t;
+            }
+        });
+        if (failure[0] instanceof Error) {
+            throw (Error) failure[0];
+        }
+        if (failure[0] != null) {
+            throw (Exception) failure[0];
+        }
+    }
+
+    /**
+     * Waits until the timers of the event dispatch thread due within the given
+     * time have run.
+     */
+    public static void waitForEdt(final long millis) throws Exception {
+        Thread.sleep(millis);
+        SwingUtilities.invokeAndWait(() -> {
+        });
+    }
+
+    public static JTabbedPaneExtended createTabbedPane(final int tabCount, final int tabLayoutPolicy, final boolean closable) {
+        final JTabbedPaneExtended tabbedPane = new JTabbedPaneExtended();
+        tabbedPane.setTabLayoutPolicy(tabLayoutPolicy);
+        final Action closeAction = new RemoveTabAction();
+        for (int i = 0; i < tabCount; i++) {
+            tabbedPane.addTab("Test " + i, new JPanel());
+            if (closable) {
+                tabbedPane.setTabComponentAt(i, new ClosableTabComponent(tabbedPane, closeAction));
+            }
+        }
+        // Without a parent, revalidate() would not invalidate the tabbed pane.
+        new JPanel(null).add(tabbedPane);
+        tabbedPane.setSize(WIDTH, HEIGHT);
+        tabbedPane.addNotify();
+        tabbedPane.validate();
+        return tabbedPane;
+    }
+
+    public static JTabbedPaneExtended createScrollTabbedPane(final int tabCount) {
+        return createTabbedPane(tabCount, JTabbedPane.SCROLL_TAB_LAYOUT, true);
+    }
+
+    /**
+     * @return the tab viewport the UI installs in scroll tab layout, or
+     * {@code null}.
+     */
+    public static JViewport getTabViewport(final JTabbedPane tabbedPane) {
+        for (final Component component : tabbedPane.getComponents()) {
+            if (component instanceof JViewport && component instanceof UIResource) {
+                return (JViewport) component;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of tab components of the given container, ignoring
+     * the components of the UI.
+     */
+    public static int countTabComponents(final Container tabContainer) {
+        int count = 0;
+        for (final Component component : tabContainer.getComponents()) {
+            if (!(component instanceof UIResource)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
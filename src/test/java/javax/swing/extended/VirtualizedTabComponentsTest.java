@@ -0,0 +1,153 @@
+package javax.swing.extended;
+
+import java.awt.Component;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import javax.swing.JTabbedPane;
+import javax.swing.JViewport;
+import static javax.swing.extended.TabbedPaneTestSupport.createScrollTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.getTabViewport;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that virtualized tab components are only realized near the viewport
+ * of {@code SCROLL_TAB_LAYOUT} and recycled while scrolling.
+ *
+ * @author Jörg Wille
+ */
+class VirtualizedTabComponentsTest {
+
+    private static final int TAB_COUNT = 1000;
+
+    @Test
+    void onlyTabsNearTheViewportAreRealized() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(TAB_COUNT);
+            tabbedPane.setTabComponentsVirtualized(true);
+            tabbedPane.validate();
+
+            final int realized = tabbedPane.getRealizedTabComponentCount();
+            assertTrue(realized > 0 && realized < 100, "Realized " + realized);
+            assertRealizedNearViewport(tabbedPane);
+            assertTrue(tabbedPane.isTabComponentVirtual(TAB_COUNT - 1));
+            assertNull(tabbedPane.getTabComponentAt(TAB_COUNT - 1));
+            assertNotNull(tabbedPane.getCloseActionAt(TAB_COUNT - 1));
+        });
+    }
+
+    @Test
+    void scrollingRecyclesTheTabComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(TAB_COUNT);
+            tabbedPane.setTabComponentsVirtualized(true);
+            tabbedPane.validate();
+            final Set<Component> realized = getRealizedTabComponents(tabbedPane);
+
+            tabbedPane.setLeadingTabIndex(TAB_COUNT / 2);
+            tabbedPane.validate();
+
+            assertNotNull(tabbedPane.getTabComponentAt(TAB_COUNT / 2));
+            assertNull(tabbedPane.getTabComponentAt(0));
+            assertRealizedNearViewport(tabbedPane);
+            final Set<Component> scrolledRealized = getRealizedTabComponents(tabbedPane);
+            assertTrue(scrolledRealized.size() < 100, "Realized " + scrolledRealized.size());
+            // Before scrolling, the margin behind the viewport was empty.
+            final Set<Component> created = Collections.newSetFromMap(new IdentityHashMap<>());
+            created.addAll(scrolledRealized);
+            created.removeAll(realized);
+            assertEquals(Math.max(0, scrolledRealized.size() - realized.size()), created.size(),
+                    "Components are reused");
+        });
+    }
+
+    @Test
+    void virtualTabsReserveTheWidthOfTheirComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended expected = createScrollTabbedPane(TAB_COUNT);
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(TAB_COUNT);
+            tabbedPane.setTabComponentsVirtualized(true);
+            tabbedPane.validate();
+
+            for (final int i : new int[]{0, 1, TAB_COUNT / 2, TAB_COUNT - 1}) {
+                assertEquals(expected.getBoundsAt(i).width, tabbedPane.getBoundsAt(i).width, "Width of tab " + i);
+            }
+        });
+    }
+
+    @Test
+    void disablingTheVirtualizationRealizesAllTabComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createScrollTabbedPane(TAB_COUNT);
+            final Object closeAction = ((ClosableTabComponent) tabbedPane.getTabComponentAt(TAB_COUNT - 1))
+                    .getCloseAction();
+            tabbedPane.setTabComponentsVirtualized(true);
+            tabbedPane.validate();
+            tabbedPane.setTabComponentsVirtualized(false);
+            tabbedPane.validate();
+
+            assertEquals(0, tabbedPane.getRealizedTabComponentCount());
+            for (int i = 0; i < TAB_COUNT; i++) {
+                assertTrue(tabbedPane.getTabComponentAt(i) instanceof ClosableTabComponent, "Tab component " + i);
+                assertFalse(tabbedPane.isTabComponentVirtual(i));
+            }
+            assertSame(closeAction, ((ClosableTabComponent) tabbedPane.getTabComponentAt(TAB_COUNT - 1))
+                    .getCloseAction());
+        });
+    }
+
+    @Test
+    void wrapLayoutRealizesAllTabComponents() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(50, JTabbedPane.WRAP_TAB_LAYOUT, true);
+            tabbedPane.setTabComponentsVirtualized(true);
+            tabbedPane.validate();
+
+            for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+                assertNotNull(tabbedPane.getTabComponentAt(i), "Tab component " + i);
+            }
+        });
+    }
+
+    /**
+     * Asserts that the visible tabs are realized and that the realized tabs
+     * are at most one and a half viewport extents away from the viewport.
+     */
+    private static void assertRealizedNearViewport(final JTabbedPaneExtended tabbedPane) {
+        final JViewport viewport = getTabViewport(tabbedPane);
+        final int start = viewport.getViewPosition().x;
+        final int end = start + viewport.getWidth();
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            final Component tabComponent = tabbedPane.getTabComponentAt(i);
+            // The bounds of the tabs are relative to the tabbed pane, the view is scrolled.
+            final int tabStart = tabbedPane.getBoundsAt(i).x - viewport.getX() + start;
+            final int tabEnd = tabStart + tabbedPane.getBoundsAt(i).width;
+            if (tabEnd > start && tabStart < end) {
+                assertNotNull(tabComponent, "Visible tab component " + i);
+            }
+            if (tabComponent != null) {
+                assertTrue(tabEnd > start - viewport.getWidth() && tabStart < end + viewport.getWidth(),
+                        "Realized tab component " + i + " near the viewport");
+            }
+        }
+    }
+
+    private static Set<Component> getRealizedTabComponents(final JTabbedPaneExtended tabbedPane) {
+        final Set<Component> tabComponents = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            if (tabbedPane.getTabComponentAt(i) != null) {
+                tabComponents.add(tabbedPane.getTabComponentAt(i));
+            }
+        }
+        assertEquals(tabbedPane.getRealizedTabComponentCount(), tabComponents.size());
+        return tabComponents;
+    }
+}
@@ -0,0 +1,112 @@
+package javax.swing.plaf.metal.extended;
+
+import java.awt.FontMetrics;
+import java.awt.font.FontRenderContext;
+
+/**
+ * A {@link MetalTabbedPaneUIDecorator} counting the titles it measures for
+ * the layout of the tabs.
+ *
+ * @author Jörg Wille
+ */
+final class CountingTabbedPaneUI extends MetalTabbedPaneUIDecorator {
+
+    private CountingFontMetrics fontMetrics;
+    private int measuredTitles;
+
+    @Override
+    protected FontMetrics getFontMetrics() {
+        final FontMetrics metrics = super.getFontMetrics();
+        if (this.fontMetrics == null || this.fontMetrics.metrics != metrics) {
+            this.fontMetrics = new CountingFontMetrics(metrics);
+        }
+        return this.fontMetrics;
+    }
+
+    /**
+     * @return the number of titles measured since the last call.
+     */
+    int takeMeasuredTitles() {
+        final int count = this.measuredTitles;
+        this.measuredTitles = 0;
+        return count;
+    }
+
+    @SuppressWarnings("serial")
+    private final class CountingFontMetrics extends FontMetrics {
+
+        private final FontMetrics metrics;
+
+        private CountingFontMetrics(final FontMetrics metrics) {
+            super(metrics.getFont());
+            this.metrics = metrics;
+        }
+
+        @Override
+        public int stringWidth(final String str) {
+            measuredTitles++;
+            return this.metrics.stringWidth(str);
+        }
+
+        @Override
+        public int charsWidth(final char[] data, final int off, final int len) {
+            measuredTitles++;
+            return this.metrics.charsWidth(data, off, len);
+        }
+
+        @Override
+        public FontRenderContext getFontRenderContext() {
+            return this.metrics.getFontRenderContext();
+        }
+
+        @Override
+        public int getAscent() {
+            return this.metrics.getAscent();
+        }
+
+        @Override
+        public int getDescent() {
+            return this.metrics.getDescent();
+        }
+
+        @Override
+        public int getLeading() {
+            return this.metrics.getLeading();
+        }
+
+        @Override
+        public int getHeight() {
+            return this.metrics.getHeight();
+        }
+
+        @Override
+        public int getMaxAscent() {
+            return this.metrics.getMaxAscent();
+        }
+
+        @Override
+        public int getMaxDescent() {
+            return this.metrics.getMaxDescent();
+        }
+
+        @Override
+        public int getMaxAdvance() {
+            return this.metrics.getMaxAdvance();
+        }
+
+        @Override
+        public int charWidth(final char ch) {
+            return this.metrics.charWidth(ch);
+        }
+
+        @Override
+        public int charWidth(final int codePoint) {
+            return this.metrics.charWidth(codePoint);
+        }
+
+        @Override
+        public int[] getWidths() {
+            return this.metrics.getWidths();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package javax.swing.plaf.metal.extended;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import javax.swing.JTabbedPane;
+import javax.swing.extended.JTabbedPaneExtended;
+import javax.swing.extended.TabImageCache;
+import static javax.swing.extended.TabbedPaneTestSupport.HEIGHT;
+import static javax.swing.extended.TabbedPaneTestSupport.WIDTH;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that repainting a laid out tabbed pane allocates nothing, measured
+ * with {@code ThreadMXBean#getThreadAllocatedBytes}.
+ *
+ * The paints are measured in rounds after a warm-up and the least allocating
+ * round counts, so that one-time allocations, e.g. of the class loading or
+ * interpreter, do not fail the test while each allocation per paint does.
+ *
+ * @author Jörg Wille
+ */
+class PaintAllocationTest {
+
+    private static final int WARM_UP_PAINTS = 2000;
+    private static final int ROUNDS = 10;
+    private static final int PAINTS_PER_ROUND = 200;
+
+    @Test
+    void wrapLayoutWithTitles() throws Exception {
+        assertPaintAllocatesNothing(JTabbedPane.WRAP_TAB_LAYOUT, false, false);
+    }
+
+    @Test
+    void wrapLayoutWithTabComponents() throws Exception {
+        assertPaintAllocatesNothing(JTabbedPane.WRAP_TAB_LAYOUT, true, false);
+    }
+
+    @Test
+    void wrapLayoutWithPaintedCloseButtons() throws Exception {
+        assertPaintAllocatesNothing(JTabbedPane.WRAP_TAB_LAYOUT, false, true);
+    }
+
+    @Test
+    void scrollLayoutWithTitles() throws Exception {
+        assertPaintAllocatesNothing(JTabbedPane.SCROLL_TAB_LAYOUT, false, false);
+    }
+
+    @Test
+    void scrollLayoutWithCachedTabImages() throws Exception {
+        assertPaintAllocatesNothing(JTabbedPane.SCROLL_TAB_LAYOUT, false, false, new TabImageCache(1 << 24));
+    }
+
+    @Test
+    void scrollLayoutWithCachedTabComponentImages() throws Exception {
+        assertPaintAllocatesNothing(JTabbedPane.SCROLL_TAB_LAYOUT, true, false, new TabImageCache(1 << 24));
+    }
+
+    @Test
+    void scrollLayoutWithTabComponents() throws Exception {
+        assertPaintAllocatesNothing(JTabbedPane.SCROLL_TAB_LAYOUT, true, false);
+    }
+
+    private static void assertPaintAllocatesNothing(final int tabLayoutPolicy, final boolean closable,
+            final boolean closeButtonsPainted) throws Exception {
+        assertPaintAllocatesNothing(tabLayoutPolicy, closable, closeButtonsPainted, null);
+    }
+
+    private static void assertPaintAllocatesNothing(final int tabLayoutPolicy, final boolean closable,
+            final boolean closeButtonsPainted, final TabImageCache tabImageCache) throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean threads
+                = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(100, tabLayoutPolicy, closable);
+            tabbedPane.setCloseButtonsPainted(closeButtonsPainted);
+            tabbedPane.setTabImageCache(tabImageCache);
+            tabbedPane.setSelectedIndex(3);
+            tabbedPane.validate();
+            final MetalTabbedPaneUIDecorator ui = (MetalTabbedPaneUIDecorator) tabbedPane.getUI();
+            final BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D g = image.createGraphics();
+            try {
+                g.setClip(0, 0, WIDTH, HEIGHT);
+                final int tabPlacement = tabbedPane.getTabPlacement();
+                final int selectedIndex = tabbedPane.getSelectedIndex();
+                final long threadId = Thread.currentThread().getId();
+                long leastAllocated = Long.MAX_VALUE;
+                for (int round = -1; round < ROUNDS; round++) {
+                    final int paints = round < 0 ? WARM_UP_PAINTS : PAINTS_PER_ROUND;
+                    // Calibrates the measurement, which may allocate itself.
+                    final long calibrationStart = threads.getThreadAllocatedBytes(threadId);
+                    final long start = threads.getThreadAllocatedBytes(threadId);
+                    for (int i = 0; i < paints; i++) {
+                        ui.paint(g, tabbedPane);
+                        // In scroll tab layout, the tabs are painted by the tab viewport's view.
+                        ui.paintTabArea(g, tabPlacement, selectedIndex);
+                    }
+                    final long end = threads.getThreadAllocatedBytes(threadId);
+                    if (round >= 0) {
+                        leastAllocated = Math.min(leastAllocated, end - start - (start - calibrationStart));
+                    }
+                }
+                assertEquals(0, leastAllocated, "Bytes allocated by " + PAINTS_PER_ROUND + " paints");
+                if (tabImageCache != null) {
+                    assertTrue(tabImageCache.getHitCount() > 0);
+                }
+            } finally {
+                g.dispose();
+            }
+        });
+    }
+}
@@ -0,0 +1,227 @@
+package javax.swing.plaf.metal.extended;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import javax.swing.JLabel;
+import javax.swing.JTabbedPane;
+import javax.swing.JViewport;
+import javax.swing.extended.JTabbedPaneExtended;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.getTabViewport;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the leading tab {@link MetalTabbedPaneUIDecorator#scrollTabToVisible}
+ * computes by binary search against stepping the leading tab one tab at a
+ * time, as scrollTabToVisible did before, for all four tab placements.
+ *
+ * @author Jörg Wille
+ */
+class ScrollTabToVisibleTest {
+
+    private static final int TAB_COUNT = 60;
+    private static final int[] TAB_PLACEMENTS = {JTabbedPane.TOP, JTabbedPane.BOTTOM, JTabbedPane.LEFT, JTabbedPane.RIGHT};
+
+    @Test
+    void leadingTabEqualsTheSteppedLeadingTab() throws Exception {
+        for (final int tabPlacement : TAB_PLACEMENTS) {
+            onEdt(() -> {
+                final JTabbedPaneExtended tabbedPane = createPlacedTabbedPane(tabPlacement);
+                assertSameAsStepping(tabbedPane, 0, 1, 7, TAB_COUNT / 2);
+            });
+        }
+    }
+
+    @Test
+    void tabsAtTheMarginEqualTheSteppedLeadingTab() throws Exception {
+        // Short titles in small fonts and varying sizes make tabs end exactly at the margin.
+        for (final int tabPlacement : TAB_PLACEMENTS) {
+            onEdt(() -> {
+                final JTabbedPaneExtended tabbedPane = createPlacedTabbedPane(tabPlacement);
+                while (tabbedPane.getTabCount() > TAB_COUNT / 2) {
+                    tabbedPane.removeTabAt(tabbedPane.getTabCount() - 1);
+                }
+                for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+                    tabbedPane.setTitleAt(i, "ijklm".substring(0, 1 + i % 3));
+                }
+                for (int fontSize = 6; fontSize <= 12; fontSize++) {
+                    tabbedPane.setFont(tabbedPane.getFont().deriveFont((float) fontSize));
+                    for (int size = 0; size < 4; size++) {
+                        tabbedPane.setSize(200 + size, 150 + size);
+                        assertSameAsStepping(tabbedPane, 0, 5, 10);
+                    }
+                }
+            });
+        }
+    }
+
+    @Test
+    void firstAndLastTabsBecomeVisible() throws Exception {
+        for (final int tabPlacement : TAB_PLACEMENTS) {
+            onEdt(() -> {
+                final JTabbedPaneExtended tabbedPane = createPlacedTabbedPane(tabPlacement);
+                final MetalTabbedPaneUIDecorator ui = (MetalTabbedPaneUIDecorator) tabbedPane.getUI();
+
+                ui.scrollTabToVisible(TAB_COUNT - 1);
+                assertTrue(ui.getLeadingTabIndex() > 0, "Placement " + tabPlacement);
+                assertTabVisible(tabbedPane, TAB_COUNT - 1);
+
+                ui.scrollTabToVisible(0);
+                assertEquals(0, ui.getLeadingTabIndex(), "Placement " + tabPlacement);
+                assertTabVisible(tabbedPane, 0);
+            });
+        }
+    }
+
+    @Test
+    void visibleTabIsNotScrolled() throws Exception {
+        for (final int tabPlacement : TAB_PLACEMENTS) {
+            onEdt(() -> {
+                final JTabbedPaneExtended tabbedPane = createPlacedTabbedPane(tabPlacement);
+                final MetalTabbedPaneUIDecorator ui = (MetalTabbedPaneUIDecorator) tabbedPane.getUI();
+                final JViewport tabViewport = getTabViewport(tabbedPane);
+                resetLeadingTabIndex(tabbedPane, ui, 10);
+                final Point viewPosition = tabViewport.getViewPosition();
+
+                ui.scrollTabToVisible(12);
+                assertEquals(10, ui.getLeadingTabIndex(), "Placement " + tabPlacement);
+                assertEquals(viewPosition, tabViewport.getViewPosition(), "Placement " + tabPlacement);
+            });
+        }
+    }
+
+    @Test
+    void leadingTabIndexOfTabsNotLaidOutYet() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(0, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            for (int i = 0; i < TAB_COUNT; i++) {
+                tabbedPane.addTab("Tab " + i, new JLabel());
+            }
+            assertEquals(0, tabbedPane.getLeadingTabIndex());
+
+            tabbedPane.validate();
+            tabbedPane.setLeadingTabIndex(10);
+            tabbedPane.validate();
+            for (int i = 0; i < TAB_COUNT; i++) {
+                tabbedPane.addTab("Added " + i, new JLabel());
+            }
+            assertEquals(10, tabbedPane.getLeadingTabIndex());
+        });
+    }
+
+    /**
+     * Asserts for every tab, that scrollTabToVisible scrolls from each of the
+     * given leading tabs, and from the last leading tab, to the same leading
+     * tab as stepping.
+     */
+    private static void assertSameAsStepping(final JTabbedPaneExtended tabbedPane, final int... leadingTabIndices) {
+        final MetalTabbedPaneUIDecorator ui = (MetalTabbedPaneUIDecorator) tabbedPane.getUI();
+        final int[] startIndices = Arrays.copyOf(leadingTabIndices, leadingTabIndices.length + 1);
+        startIndices[leadingTabIndices.length] = lastLeadingTabIndex(tabbedPane, ui);
+        for (final int leadingTabIndex : startIndices) {
+            for (int index = 0; index < tabbedPane.getTabCount(); index++) {
+                resetLeadingTabIndex(tabbedPane, ui, leadingTabIndex);
+                final int expected = stepToVisible(tabbedPane, ui, index);
+
+                resetLeadingTabIndex(tabbedPane, ui, leadingTabIndex);
+                ui.scrollTabToVisible(index);
+                assertEquals(expected, ui.getLeadingTabIndex(), "Placement " + tabbedPane.getTabPlacement()
+                        + ", size " + tabbedPane.getSize() + ", leading tab " + leadingTabIndex + ", tab " + index);
+            }
+        }
+    }
+
+    /**
+     * Creates a tabbed pane whose tabs differ in width, so the tab offsets do
+     * not ascend evenly.
+     */
+    private static JTabbedPaneExtended createPlacedTabbedPane(final int tabPlacement) {
+        final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+        for (int i = 0; i < TAB_COUNT; i++) {
+            tabbedPane.setTitleAt(i, "Tab " + i + "xxxxxxxxxxxx".substring(0, (i * 5) % 12));
+        }
+        tabbedPane.setTabPlacement(tabPlacement);
+        tabbedPane.validate();
+        return tabbedPane;
+    }
+
+    /**
+     * Lays out the tabbed pane again, which restores the extent size of the
+     * tab viewport, and scrolls to the given leading tab.
+     */
+    private static void resetLeadingTabIndex(final JTabbedPaneExtended tabbedPane, final MetalTabbedPaneUIDecorator ui,
+            final int leadingTabIndex) {
+        tabbedPane.invalidate();
+        tabbedPane.validate();
+        assertTrue(ui.setLeadingTabIndex(leadingTabIndex));
+        assertEquals(leadingTabIndex, ui.getLeadingTabIndex());
+    }
+
+    /**
+     * @return the leading tab after scrolling to the last tab step by step.
+     */
+    private static int lastLeadingTabIndex(final JTabbedPaneExtended tabbedPane, final MetalTabbedPaneUIDecorator ui) {
+        resetLeadingTabIndex(tabbedPane, ui, 0);
+        return stepToVisible(tabbedPane, ui, tabbedPane.getTabCount() - 1);
+    }
+
+    /**
+     * Scrolls the tab to the visible area by moving the leading tab one tab at
+     * a time until the tab keeps a margin of 50px (top/bottom) or 30px
+     * (left/right) to the edges of the tabbed pane, as scrollTabToVisible did
+     * before it used a binary search.
+     *
+     * @return the leading tab index reached.
+     */
+    private static int stepToVisible(final JTabbedPaneExtended tabbedPane, final MetalTabbedPaneUIDecorator ui,
+            final int index) {
+        final int tabPlacement = tabbedPane.getTabPlacement();
+        final boolean horizontal = tabPlacement == JTabbedPane.TOP || tabPlacement == JTabbedPane.BOTTOM;
+        final int margin = horizontal ? 50 : 30;
+        final int tabbedPaneSize = horizontal ? tabbedPane.getWidth() : tabbedPane.getHeight();
+        Rectangle tabBounds = tabbedPane.getBoundsAt(index);
+        if (start(tabBounds, horizontal) < margin) {
+            int leadingTabIndex = ui.getLeadingTabIndex();
+            while (leadingTabIndex != index && leadingTabIndex > 0 && start(tabBounds, horizontal) < margin) {
+                ui.setLeadingTabIndex(leadingTabIndex - 1);
+                leadingTabIndex = ui.getLeadingTabIndex();
+                tabBounds = tabbedPane.getBoundsAt(index);
+            }
+        } else if (end(tabBounds, horizontal) > tabbedPaneSize - margin) {
+            int leadingTabIndex = ui.getLeadingTabIndex();
+            while (leadingTabIndex != index && leadingTabIndex < tabbedPane.getTabCount() - 1
+                    && end(tabBounds, horizontal) > tabbedPaneSize - margin) {
+                ui.setLeadingTabIndex(leadingTabIndex + 1);
+                leadingTabIndex = ui.getLeadingTabIndex();
+                tabBounds = tabbedPane.getBoundsAt(index);
+            }
+        }
+        return ui.getLeadingTabIndex();
+    }
+
+    private static int start(final Rectangle tabBounds, final boolean horizontal) {
+        return horizontal ? tabBounds.x : tabBounds.y;
+    }
+
+    private static int end(final Rectangle tabBounds, final boolean horizontal) {
+        return horizontal ? tabBounds.x + tabBounds.width : tabBounds.y + tabBounds.height;
+    }
+
+    /**
+     * Asserts that the tab keeps the margin of scrollTabToVisible to the edges
+     * of the tabbed pane.
+     */
+    private static void assertTabVisible(final JTabbedPaneExtended tabbedPane, final int index) {
+        final int tabPlacement = tabbedPane.getTabPlacement();
+        final boolean horizontal = tabPlacement == JTabbedPane.TOP || tabPlacement == JTabbedPane.BOTTOM;
+        final int margin = horizontal ? 50 : 30;
+        final int tabbedPaneSize = horizontal ? tabbedPane.getWidth() : tabbedPane.getHeight();
+        final Rectangle tabBounds = tabbedPane.getBoundsAt(index);
+        assertTrue(start(tabBounds, horizontal) >= 0 && end(tabBounds, horizontal) <= tabbedPaneSize - margin,
+                "Tab " + tabBounds + " of placement " + tabPlacement);
+    }
+}
@@ -0,0 +1,212 @@
+package javax.swing.plaf.metal.extended;
+
+import java.awt.Container;
+import java.awt.event.MouseWheelEvent;
+import java.util.ArrayList;
+import java.util.List;
+import javax.swing.JTabbedPane;
+import javax.swing.JViewport;
+import javax.swing.extended.JTabbedPaneExtended;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.getTabViewport;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static javax.swing.extended.TabbedPaneTestSupport.waitForEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests scrolling the tabs pixel by pixel with the mouse wheel: the wheel
+ * events coalesced per timer tick, the fractions of a trackpad carried over,
+ * the clamping at the ends of the tabs, the snapping to a tab boundary and
+ * the wheel events passed on to the parent.
+ *
+ * @author Jörg Wille
+ */
+class TabWheelScrollerTest {
+
+    private static final int TAB_COUNT = 60;
+    // Time for the frame timer to apply the pending pixels and to stop.
+    private static final long FRAME_WAIT_MILLIS = 100;
+    // Time for the frame timer to stop and the snap timer to fire.
+    private static final long SNAP_WAIT_MILLIS = 500;
+
+    @Test
+    void wheelEventsOfATickAreAppliedAtOnce() throws Exception {
+        final JTabbedPaneExtended[] tabbedPane = createWheelTabbedPane(TAB_COUNT);
+        final List<Integer> viewPositions = new ArrayList<>();
+        onEdt(() -> {
+            final JViewport tabViewport = getTabViewport(tabbedPane[0]);
+            tabViewport.addChangeListener(e -> viewPositions.add(tabViewport.getViewPosition().x));
+            // The timer cannot tick before this task has returned.
+            for (int i = 0; i < 10; i++) {
+                dispatchWheelEvent(tabbedPane[0], 1, 1);
+            }
+            assertTrue(viewPositions.isEmpty(), viewPositions.toString());
+        });
+        waitForEdt(FRAME_WAIT_MILLIS);
+        onEdt(() -> {
+            assertEquals(1, viewPositions.size(), viewPositions.toString());
+            assertEquals(10 * 16, (int) viewPositions.get(0));
+            assertEquals(10 * 16, getTabViewport(tabbedPane[0]).getViewPosition().x);
+        });
+    }
+
+    @Test
+    void fractionsOfPreciseRotationsAreCarriedOver() throws Exception {
+        final JTabbedPaneExtended[] tabbedPane = createWheelTabbedPane(TAB_COUNT);
+        onEdt(() -> {
+            // Two rotations of 0.4 pixels each do not scroll yet.
+            dispatchWheelEvent(tabbedPane[0], 0.025, 1);
+            dispatchWheelEvent(tabbedPane[0], 0.025, 1);
+        });
+        waitForEdt(FRAME_WAIT_MILLIS);
+        onEdt(() -> {
+            assertEquals(0, getTabViewport(tabbedPane[0]).getViewPosition().x);
+            dispatchWheelEvent(tabbedPane[0], 0.025, 1);
+        });
+        waitForEdt(FRAME_WAIT_MILLIS);
+        onEdt(() -> {
+            assertEquals(1, getTabViewport(tabbedPane[0]).getViewPosition().x);
+            dispatchWheelEvent(tabbedPane[0], 0.025, 1);
+            dispatchWheelEvent(tabbedPane[0], 0.025, 1);
+        });
+        waitForEdt(FRAME_WAIT_MILLIS);
+        onEdt(() -> assertEquals(2, getTabViewport(tabbedPane[0]).getViewPosition().x));
+    }
+
+    @Test
+    void scrollingIsClampedAtBothEnds() throws Exception {
+        final JTabbedPaneExtended[] tabbedPane = createWheelTabbedPane(TAB_COUNT);
+        final int[] maxPosition = new int[1];
+        onEdt(() -> {
+            final MetalTabbedPaneUIDecorator ui = (MetalTabbedPaneUIDecorator) tabbedPane[0].getUI();
+            final JViewport tabViewport = getTabViewport(tabbedPane[0]);
+            maxPosition[0] = tabViewport.getViewSize().width - tabViewport.getExtentSize().width;
+            assertTrue(maxPosition[0] > 0);
+
+            assertEquals(0, ui.scrollTabsBy(-100));
+            assertEquals(0, tabViewport.getViewPosition().x);
+            assertEquals(maxPosition[0], ui.scrollTabsBy(Integer.MAX_VALUE / 2));
+            assertEquals(maxPosition[0], tabViewport.getViewPosition().x);
+            assertEquals(0, ui.scrollTabsBy(1));
+            assertEquals(-maxPosition[0], ui.scrollTabsBy(-Integer.MAX_VALUE / 2));
+            assertEquals(0, tabViewport.getViewPosition().x);
+
+            // Far more wheel rotation than tabs to scroll.
+            for (int i = 0; i < 1000; i++) {
+                dispatchWheelEvent(tabbedPane[0], 1, 3);
+            }
+        });
+        waitForEdt(FRAME_WAIT_MILLIS);
+        onEdt(() -> {
+            assertEquals(maxPosition[0], getTabViewport(tabbedPane[0]).getViewPosition().x);
+            // The rotation beyond the end is dropped, a notch back scrolls back at once.
+            dispatchWheelEvent(tabbedPane[0], -1, 3);
+        });
+        waitForEdt(FRAME_WAIT_MILLIS);
+        onEdt(() -> assertEquals(maxPosition[0] - 3 * 16, getTabViewport(tabbedPane[0]).getViewPosition().x));
+    }
+
+    @Test
+    void scrollingSnapsToTheNearestTabBoundary() throws Exception {
+        for (final boolean nearNextTab : new boolean[]{false, true}) {
+            final JTabbedPaneExtended[] tabbedPane = createWheelTabbedPane(TAB_COUNT);
+            final int[] tabOffsets = new int[2];
+            onEdt(() -> {
+                tabbedPane[0].setSnapToTabBoundary(true);
+                tabOffsets[0] = scrollToLeadingTab(tabbedPane[0], 6);
+                tabOffsets[1] = scrollToLeadingTab(tabbedPane[0], 5);
+                final int tabWidth = tabOffsets[0] - tabOffsets[1];
+                dispatchWheelEvent(tabbedPane[0], (nearNextTab ? tabWidth * 3 / 4 : tabWidth / 4) / 16.0, 1);
+            });
+            waitForEdt(SNAP_WAIT_MILLIS);
+            onEdt(() -> {
+                assertEquals(nearNextTab ? tabOffsets[0] : tabOffsets[1], getTabViewport(tabbedPane[0]).getViewPosition().x);
+                assertEquals(nearNextTab ? 6 : 5, tabbedPane[0].getLeadingTabIndex());
+            });
+        }
+    }
+
+    @Test
+    void scrollingDoesNotSnapByDefault() throws Exception {
+        final JTabbedPaneExtended[] tabbedPane = createWheelTabbedPane(TAB_COUNT);
+        final int[] tabOffset = new int[1];
+        onEdt(() -> {
+            tabOffset[0] = scrollToLeadingTab(tabbedPane[0], 5);
+            dispatchWheelEvent(tabbedPane[0], 0.25, 1);
+        });
+        waitForEdt(SNAP_WAIT_MILLIS);
+        onEdt(() -> assertEquals(tabOffset[0] + 4, getTabViewport(tabbedPane[0]).getViewPosition().x));
+    }
+
+    @Test
+    void wheelEventsArePassedToTheParent() throws Exception {
+        onEdt(() -> {
+            // Wheel scrolling disabled.
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            tabbedPane.setWheelScrollingEnabled(false);
+            final List<MouseWheelEvent> parentEvents = addParentListener(tabbedPane);
+            dispatchWheelEvent(tabbedPane, 1, 3);
+            assertEquals(1, parentEvents.size());
+            assertEquals(tabbedPane.getParent(), parentEvents.get(0).getComponent());
+            assertEquals(3, parentEvents.get(0).getScrollAmount());
+
+            // All tabs visible.
+            final JTabbedPaneExtended fewTabsPane = createTabbedPane(3, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            final List<MouseWheelEvent> fewTabsParentEvents = addParentListener(fewTabsPane);
+            dispatchWheelEvent(fewTabsPane, 1, 3);
+            assertEquals(1, fewTabsParentEvents.size());
+        });
+        waitForEdt(FRAME_WAIT_MILLIS);
+        onEdt(() -> {
+            // A scrollable strip consumes the events.
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            final List<MouseWheelEvent> parentEvents = addParentListener(tabbedPane);
+            dispatchWheelEvent(tabbedPane, 1, 3);
+            assertTrue(parentEvents.isEmpty());
+        });
+    }
+
+    /**
+     * Creates a tabbed pane in scroll tab layout and waits until it has
+     * scrolled to its selected tab, which resets the view position.
+     *
+     * @return the tabbed pane as the single element of an array, to be set
+     * from the event dispatch thread.
+     */
+    private static JTabbedPaneExtended[] createWheelTabbedPane(final int tabCount) throws Exception {
+        final JTabbedPaneExtended[] tabbedPane = new JTabbedPaneExtended[1];
+        onEdt(() -> tabbedPane[0] = createTabbedPane(tabCount, JTabbedPane.SCROLL_TAB_LAYOUT, false));
+        waitForEdt(0);
+        onEdt(() -> assertEquals(0, getTabViewport(tabbedPane[0]).getViewPosition().x));
+        return tabbedPane;
+    }
+
+    /**
+     * Dispatches a unit wheel event to the tab viewport, which scrolls by
+     * {@code preciseRotation * scrollAmount * 16} pixels.
+     */
+    private static void dispatchWheelEvent(final JTabbedPaneExtended tabbedPane, final double preciseRotation,
+            final int scrollAmount) {
+        final JViewport tabViewport = getTabViewport(tabbedPane);
+        tabViewport.dispatchEvent(new MouseWheelEvent(tabViewport, MouseWheelEvent.MOUSE_WHEEL, System.currentTimeMillis(),
+                0, 10, 10, 10, 10, 0, false, MouseWheelEvent.WHEEL_UNIT_SCROLL, scrollAmount,
+                (int) Math.signum(preciseRotation), preciseRotation));
+    }
+
+    /**
+     * @return the view position of the given leading tab.
+     */
+    private static int scrollToLeadingTab(final JTabbedPaneExtended tabbedPane, final int leadingTabIndex) {
+        assertTrue(((MetalTabbedPaneUIDecorator) tabbedPane.getUI()).setLeadingTabIndex(leadingTabIndex));
+        return getTabViewport(tabbedPane).getViewPosition().x;
+    }
+
+    private static List<MouseWheelEvent> addParentListener(final JTabbedPaneExtended tabbedPane) {
+        final Container parent = tabbedPane.getParent();
+        final List<MouseWheelEvent> events = new ArrayList<>();
+        parent.addMouseWheelListener(events::add);
+        return events;
+    }
+}
@@ -0,0 +1,118 @@
+package javax.swing.plaf.metal.extended;
+
+import java.awt.Font;
+import javax.swing.JPanel;
+import javax.swing.JTabbedPane;
+import javax.swing.extended.JTabbedPaneExtended;
+import static javax.swing.extended.TabbedPaneTestSupport.HEIGHT;
+import static javax.swing.extended.TabbedPaneTestSupport.WIDTH;
+import static javax.swing.extended.TabbedPaneTestSupport.createTabbedPane;
+import static javax.swing.extended.TabbedPaneTestSupport.onEdt;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the decorator measures the titles of tabs once and keeps their
+ * widths by position, so a layout only measures changed tabs.
+ *
+ * @author Jörg Wille
+ */
+class TabWidthCacheTest {
+
+    private static final int TAB_COUNT = 200;
+
+    @Test
+    void resizeMeasuresNoTitle() throws Exception {
+        for (final int tabLayoutPolicy : new int[]{JTabbedPane.SCROLL_TAB_LAYOUT, JTabbedPane.WRAP_TAB_LAYOUT}) {
+            onEdt(() -> {
+                final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, tabLayoutPolicy, false);
+                final CountingTabbedPaneUI ui = install(tabbedPane);
+
+                tabbedPane.setSize(WIDTH / 2, HEIGHT);
+                tabbedPane.validate();
+                assertEquals(0, ui.takeMeasuredTitles());
+                tabbedPane.setSize(WIDTH, HEIGHT);
+                tabbedPane.validate();
+                assertEquals(0, ui.takeMeasuredTitles());
+                assertSameTabWidths(tabbedPane);
+            });
+        }
+    }
+
+    @Test
+    void retitleMeasuresTheRetitledTab() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            final CountingTabbedPaneUI ui = install(tabbedPane);
+
+            tabbedPane.setTitleAt(5, "A much longer title");
+            tabbedPane.validate();
+            assertEquals(1, ui.takeMeasuredTitles());
+            assertSameTabWidths(tabbedPane);
+
+            // The widths are kept by title, too.
+            tabbedPane.setTitleAt(6, "A much longer title");
+            tabbedPane.setTitleAt(5, "Test 5");
+            tabbedPane.validate();
+            assertEquals(0, ui.takeMeasuredTitles());
+            assertSameTabWidths(tabbedPane);
+        });
+    }
+
+    @Test
+    void insertAndRemoveShiftTheKeptWidths() throws Exception {
+        for (final int tabLayoutPolicy : new int[]{JTabbedPane.SCROLL_TAB_LAYOUT, JTabbedPane.WRAP_TAB_LAYOUT}) {
+            onEdt(() -> {
+                final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, tabLayoutPolicy, false);
+                final CountingTabbedPaneUI ui = install(tabbedPane);
+
+                tabbedPane.insertTab("An inserted tab", null, new JPanel(), null, 10);
+                tabbedPane.validate();
+                assertEquals(1, ui.takeMeasuredTitles());
+                assertSameTabWidths(tabbedPane);
+
+                tabbedPane.removeTabAt(3);
+                tabbedPane.removeTabAt(TAB_COUNT - 1);
+                tabbedPane.validate();
+                assertEquals(0, ui.takeMeasuredTitles());
+                assertSameTabWidths(tabbedPane);
+            });
+        }
+    }
+
+    @Test
+    void fontChangeMeasuresAllTabs() throws Exception {
+        onEdt(() -> {
+            final JTabbedPaneExtended tabbedPane = createTabbedPane(TAB_COUNT, JTabbedPane.SCROLL_TAB_LAYOUT, false);
+            final CountingTabbedPaneUI ui = install(tabbedPane);
+
+            tabbedPane.setFont(tabbedPane.getFont().deriveFont(Font.PLAIN, 20f));
+            tabbedPane.validate();
+            assertEquals(TAB_COUNT, ui.takeMeasuredTitles());
+            assertSameTabWidths(tabbedPane);
+        });
+    }
+
+    private static CountingTabbedPaneUI install(final JTabbedPaneExtended tabbedPane) {
+        final CountingTabbedPaneUI ui = new CountingTabbedPaneUI();
+        tabbedPane.setUI(ui);
+        tabbedPane.validate();
+        ui.takeMeasuredTitles();
+        return ui;
+    }
+
+    /**
+     * Asserts that the tabs have the widths of the same tabs laid out anew.
+     */
+    private static void assertSameTabWidths(final JTabbedPaneExtended tabbedPane) {
+        final JTabbedPaneExtended expected = createTabbedPane(0, tabbedPane.getTabLayoutPolicy(), false);
+        expected.setFont(tabbedPane.getFont());
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            expected.addTab(tabbedPane.getTitleAt(i), new JPanel());
+        }
+        expected.validate();
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            assertEquals(expected.getBoundsAt(i).width, tabbedPane.getBoundsAt(i).width, "Width of tab " + i);
+        }
+    }
+}